@@ -0,0 +1,69 @@
+package cau.capstone.backend.page.service;
+
+import cau.capstone.backend.page.model.Category;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//후보 1만 개 개인화 점수 계산, 기본형 배열 + 크기 n 힙과 후보 객체 정렬 방식 비교
+//./gradlew jmh 로 실행, 결과는 build/results/jmh 에 남는다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonalFeedScorerBenchmark {
+
+    private static final int CANDIDATES = 10_000;
+    private static final int TOP = 100;
+
+    private double[] popularity;
+    private int[] categories;
+    private double[] weights;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        int categoryCount = Category.values().length;
+
+        popularity = new double[CANDIDATES];
+        categories = new int[CANDIDATES];
+        for (int i = 0; i < CANDIDATES; i++) {
+            popularity[i] = Math.log1p(random.nextInt(5_000));
+            categories[i] = random.nextInt(categoryCount);
+        }
+
+        int[] userScores = new int[categoryCount];
+        userScores[Category.COOKING.ordinal()] = 300;
+        userScores[Category.TRIP.ordinal()] = 120;
+        userScores[Category.MUSIC.ordinal()] = 40;
+        weights = PersonalFeedScorer.weights(userScores);
+    }
+
+    @Benchmark
+    public int[] heapTopN() {
+        return PersonalFeedScorer.topN(popularity, categories, weights, TOP);
+    }
+
+    //비교 대상: 후보마다 객체를 만들어 전체 정렬
+    @Benchmark
+    public int[] sortAll() {
+        List<double[]> scored = new ArrayList<>(CANDIDATES);
+        for (int i = 0; i < CANDIDATES; i++) {
+            scored.add(new double[]{popularity[i] * weights[categories[i]], i});
+        }
+        scored.sort(Comparator.<double[]>comparingDouble(candidate -> -candidate[0])
+                .thenComparingDouble(candidate -> candidate[1]));
+
+        int[] top = new int[TOP];
+        for (int i = 0; i < TOP; i++) {
+            top[i] = (int) scored.get(i)[1];
+        }
+        return top;
+    }
+}
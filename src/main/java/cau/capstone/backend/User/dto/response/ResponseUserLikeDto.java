@@ -20,6 +20,7 @@ public class ResponseUserLikeDto {
     private String name;
     private String nickName;
     private int totalLikes;
+    private long rank; // 1부터 시작하는 좋아요 순위
 
     public ResponseUserLikeDto(User user, int totalLikes) {
         this.userId = user.getId();
@@ -29,6 +30,11 @@ public class ResponseUserLikeDto {
         this.totalLikes = totalLikes;
     }
 
+    public ResponseUserLikeDto(User user, int totalLikes, long rank) {
+        this(user, totalLikes);
+        this.rank = rank;
+    }
+
 //    public static ResponseUserLikeDto from(User user, int totalLikes) {
 //        return ResponseUserLikeDto.builder()
 //                .user(user)
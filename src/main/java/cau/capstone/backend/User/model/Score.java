@@ -14,6 +14,13 @@ import java.util.Map;
 @Setter
 @Getter
 public class Score {
+
+    //Category.ordinal() 순서의 점수 컬럼, ScoreService 가 점수를 int[] 로 다룰 때 사용
+    public static final String[] CATEGORY_COLUMNS = {
+            "trip_score", "itnscience_score", "moviedrama_score", "humor_score", "music_score",
+            "marriage_score", "romance_score", "cooking_score", "health_score", "studying_score",
+            "art_score", "animal_score", "humanity_score", "literature_score", "finance_score"};
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
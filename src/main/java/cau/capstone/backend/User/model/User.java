@@ -20,7 +20,7 @@ import java.util.stream.Collectors;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
-@Table(name = "user")
+@Table(name = "user", indexes = @Index(name = "idx_user_email", columnList = "user_email")) //로그인, 이전 토큰 조회용
 public class User extends BaseEntity implements UserDetails {
 
     @Id
@@ -56,6 +56,11 @@ public class User extends BaseEntity implements UserDetails {
     @ColumnDefault("false")
     private boolean voiceUsePermissionFlag = false; //음성 사용 권한
 
+    @Setter
+    @Column(name = "total_like_count", updatable = false)
+    @ColumnDefault("0")
+    private int totalLikeCount = 0; //소유한 북과 페이지가 받은 좋아요 합
+
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
     private List<Page> pages = new ArrayList<>();
 
@@ -4,6 +4,7 @@ import cau.capstone.backend.User.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -18,7 +19,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByName(String name); //유저 이름 중복 확인
 
     Optional<User> findByEmail(String email); //이메일로 유저 검색
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email); //uid 가 없는 이전 토큰용 id 조회
     Optional<User> findByNickname(String nickname); //닉네임으로 유저 검색
+    @Query("SELECT u.id FROM User u WHERE u.id > :lastId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("lastId") Long lastId, Pageable pageable); //검색 색인 재구성용 id 순 조회
+
+    @Modifying
+    @Query("UPDATE User u SET u.totalLikeCount = u.totalLikeCount + :delta WHERE u.id = :userId")
+    int addTotalLikeCount(@Param("userId") Long userId, @Param("delta") int delta); //좋아요 합계 원자적 증감
 
 
     @Query("SELECT u FROM User u WHERE LOWER(u.email) LIKE LOWER(concat('%', :keyword, '%')) OR LOWER(u.name) LIKE LOWER(concat('%', :keyword, '%')) OR LOWER(u.nickname) LIKE LOWER(concat('%', :keyword, '%'))")
@@ -0,0 +1,244 @@
+package cau.capstone.backend.User.service;
+
+import cau.capstone.backend.User.model.Score;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+//유저별 카테고리 점수 증가분(Category.ordinal() 위치의 int[])을 모아두는 버퍼, userId 로 나눈 stripe 마다 잠금을 따로 둔다
+//ScoreService 가 주기적으로 drain 해서 batch UPDATE 로 반영하고, 종료 시 반영하지 못한 증가분은 파일로 내려 다음 기동 때 다시 적재
+@Slf4j
+@Component
+public class ScoreBuffer {
+
+    private static final int CATEGORY_COUNT = Score.CATEGORY_COLUMNS.length;
+
+    private final Stripe[] stripes;
+    private final Path spillPath;
+
+    //drain 이후 DB 반영이 끝나기 전의 증가분, 그 사이의 조회에도 합산한다
+    private volatile Map<Long, int[]> inFlight = Collections.emptyMap();
+
+    public ScoreBuffer(@Value("${score.buffer.stripes:16}") int stripeCount,
+                       @Value("${score.buffer.spill-path:score-buffer.spill}") String spillPath) {
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.spillPath = Paths.get(spillPath);
+    }
+
+
+    public void add(Long userId, int[] deltas) {
+        Stripe stripe = stripeOf(userId);
+        stripe.lock.lock();
+        try {
+            int[] pending = stripe.deltas.computeIfAbsent(userId, k -> new int[CATEGORY_COUNT]);
+            for (int i = 0; i < CATEGORY_COUNT; i++) {
+                pending[i] += deltas[i];
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    //아직 DB 에 반영되지 않은 증가분, 없으면 0 배열
+    public int[] pending(Long userId) {
+        int[] result = new int[CATEGORY_COUNT];
+        Stripe stripe = stripeOf(userId);
+        stripe.lock.lock();
+        try {
+            //drain 은 같은 잠금 안에서 stripe 의 증가분을 inFlight 로 옮기므로 둘을 함께 읽으면 빠지거나 겹치지 않는다
+            int[] flushing = inFlight.get(userId);
+            if (flushing != null) {
+                addTo(result, flushing);
+            }
+            int[] buffered = stripe.deltas.get(userId);
+            if (buffered != null) {
+                addTo(result, buffered);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        return result;
+    }
+
+    //한 번에 하나의 호출자만 drain 하고, 반영 후 complete(또는 completeOnCommit) 나 restore 를 호출해야 한다
+    public Map<Long, int[]> drain() {
+        Map<Long, int[]> drained = new ConcurrentHashMap<>();
+        inFlight = drained;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                //stripe 를 비우기 전에 옮겨 두어 조회에서 빠지는 순간이 없도록
+                drained.putAll(stripe.deltas);
+                stripe.deltas = new HashMap<>();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return drained;
+    }
+
+    public void complete() {
+        inFlight = Collections.emptyMap();
+    }
+
+    //flush 트랜잭션 안에서 호출, 커밋하는 동안 모든 stripe 를 잠가 두고 커밋되면 잠금 안에서 inFlight 를 비운다
+    //커밋된 증가분이 DB 와 inFlight 양쪽에서 읽혀 두 번 더해지는 순간이 없도록
+    public void completeOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                lockAll();
+                locked = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!locked) {
+                    return;
+                }
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        complete();
+                    }
+                } finally {
+                    unlockAll();
+                }
+            }
+        });
+    }
+
+    //반영에 실패한 증가분을 되돌려 다음 flush 때 다시 시도
+    //유저마다 같은 잠금 안에서 stripe 에 되돌리고 inFlight 에서 빼서 조회에 두 번 더해지지 않도록
+    public void restore(Map<Long, int[]> deltas) {
+        Map<Long, int[]> flushing = inFlight;
+        deltas.forEach((userId, userDeltas) -> {
+            Stripe stripe = stripeOf(userId);
+            stripe.lock.lock();
+            try {
+                addTo(stripe.deltas.computeIfAbsent(userId, k -> new int[CATEGORY_COUNT]), userDeltas);
+                flushing.remove(userId);
+            } finally {
+                stripe.lock.unlock();
+            }
+        });
+        inFlight = Collections.emptyMap();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.deltas.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+
+    //"userId d0 d1 ... d14" 한 줄씩 기록
+    public void spill() {
+        Map<Long, int[]> deltas = drain();
+        if (deltas.isEmpty()) {
+            complete();
+            return;
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(spillPath, StandardCharsets.UTF_8)) {
+            for (Map.Entry<Long, int[]> entry : deltas.entrySet()) {
+                StringBuilder line = new StringBuilder().append(entry.getKey());
+                for (int delta : entry.getValue()) {
+                    line.append(' ').append(delta);
+                }
+                writer.write(line.toString());
+                writer.newLine();
+            }
+            complete();
+            log.info("반영하지 못한 점수 증가분을 파일로 저장 - {}, {}", deltas.size(), spillPath);
+        } catch (IOException e) {
+            restore(deltas);
+            log.error("점수 증가분 저장 실패, 유실된 유저 수: {}", deltas.size(), e);
+        }
+    }
+
+    @PostConstruct
+    public void loadSpill() {
+        if (!Files.exists(spillPath)) {
+            return;
+        }
+
+        try {
+            Map<Long, int[]> spilled = new HashMap<>();
+            for (String line : Files.readAllLines(spillPath, StandardCharsets.UTF_8)) {
+                String[] fields = line.trim().split(" ");
+                if (fields.length != CATEGORY_COUNT + 1) {
+                    log.warn("잘못된 점수 증가분 기록 - {}", line);
+                    continue;
+                }
+                int[] deltas = new int[CATEGORY_COUNT];
+                for (int i = 0; i < CATEGORY_COUNT; i++) {
+                    deltas[i] = Integer.parseInt(fields[i + 1]);
+                }
+                spilled.put(Long.valueOf(fields[0]), deltas);
+            }
+            //모두 읽은 뒤에 적재하고 지워서 다음 기동 때 두 번 더해지지 않도록
+            spilled.forEach(this::add);
+            Files.delete(spillPath);
+            log.info("저장된 점수 증가분 적재 - {}", spilled.size());
+        } catch (IOException | NumberFormatException e) {
+            log.error("점수 증가분 적재 실패 - {}", spillPath, e);
+        }
+    }
+
+    private void lockAll() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripeOf(Long userId) {
+        return stripes[(int) Math.floorMod(userId, (long) stripes.length)];
+    }
+
+    private static void addTo(int[] target, int[] deltas) {
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            target[i] += deltas[i];
+        }
+    }
+
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private Map<Long, int[]> deltas = new HashMap<>();
+    }
+}
@@ -1,231 +1,141 @@
 package cau.capstone.backend.User.service;
 
 import cau.capstone.backend.User.dto.response.ResponseScoreDto;
-import cau.capstone.backend.User.model.User;
-import cau.capstone.backend.User.model.repository.UserRepository;
-import cau.capstone.backend.global.security.Entity.JwtTokenProvider;
-import cau.capstone.backend.page.model.Book;
+import cau.capstone.backend.global.security.CurrentUser;
 import cau.capstone.backend.page.model.Category;
 import cau.capstone.backend.User.model.Score;
-import cau.capstone.backend.User.model.repository.ScoreRepository;
 import cau.capstone.backend.page.model.Page;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
-@RequiredArgsConstructor
 @Service
 public class ScoreService {
 
-    private final ScoreRepository scoreRepository;
-    private final UserRepository userRepository;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final CurrentUser currentUser;
+    private final JdbcTemplate jdbcTemplate;
+    private final ScoreBuffer scoreBuffer;
+    private final TransactionTemplate transactionTemplate;
+
+    public ScoreService(CurrentUser currentUser,
+                        JdbcTemplate jdbcTemplate,
+                        ScoreBuffer scoreBuffer,
+                        PlatformTransactionManager transactionManager) {
+        this.currentUser = currentUser;
+        this.jdbcTemplate = jdbcTemplate;
+        this.scoreBuffer = scoreBuffer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
 
     private final int upperLimit = 1000;
 
+    private static final int CATEGORY_COUNT = Score.CATEGORY_COLUMNS.length;
 
-    //페이지에 좋아요를 누를 때 카테고리 정보를 받아 유저의 해당 카테고리 점수를 업데이트
-    public void plusLikeScore(Long userId, Page page){
-        Book book = page.getBook();
-        Category category = book.getCategory();
-
-        Score score = scoreRepository.findByUserId(userId);
-
-        checkUpper(score, userId);
-
-//category_code = {TRIP, ITNSCI, MVD, HUMR, MUS, MRG, ROM, COK, HLTH, STD, ART, ANML, HUMN, LIT, FIN}
-        switch (category.getCode()){
-            case "TRIP" :
-                score.setTripScore(score.getTripScore() + 10);
-                break;
-
-            case "ITNSCI" :
-                score.setItnscienceScore(score.getItnscienceScore() + 10);
-                break;
-
-            case "MVD" :
-                score.setMoviedramaScore(score.getMoviedramaScore() + 10);
-                break;
-
-            case "HUMR" :
-                score.setHumorScore(score.getHumorScore() + 10);
-                break;
-
-            case "MUS" :
-                score.setMusicScore(score.getMusicScore() + 10);
-                break;
-
-            case "MRG" :
-                score.setMarriageScore(score.getMarriageScore() + 10);
-                break;
-
-            case "ROM" :
-                score.setRomanceScore(score.getRomanceScore() + 10);
-                break;
-
-            case "COK" :
-                score.setCookingScore(score.getCookingScore() + 10);
-                break;
-
-            case "HLTH" :
-                score.setHealthScore(score.getHealthScore() + 10);
-                break;
+    //갱신 전 합계가 상한 이상이면 모든 점수를 1/2 로 나누고(나머지 버림) 증가분을 더하는 한 번의 UPDATE
+    //합계는 집계 파생 테이블로 먼저 구해지므로 같은 행을 갱신하는 중에도 바뀌지 않는다
+    private static final String ADD_SCORES = "UPDATE score s JOIN (SELECT user_id, SUM("
+            + String.join(" + ", Score.CATEGORY_COLUMNS) + ") AS total FROM score WHERE user_id = ? GROUP BY user_id) t"
+            + " ON t.user_id = s.user_id SET "
+            + Arrays.stream(Score.CATEGORY_COLUMNS)
+                    .map(column -> "s." + column + " = IF(t.total >= ?, s." + column + " DIV 2, s." + column + ") + ?")
+                    .collect(Collectors.joining(", "));
 
-            case "STD" :
-                score.setStudyingScore(score.getStudyingScore() + 10);
-                break;
+    private static final String SELECT_SCORES = "SELECT " + String.join(", ", Score.CATEGORY_COLUMNS)
+            + " FROM score WHERE user_id = ?";
 
-            case "ART" :
-                score.setArtScore(score.getArtScore() + 10);
-                break;
-
-            case "ANML" :
-                score.setAnimalScore(score.getAnimalScore() + 10);
-                break;
-
-            case "HUMN" :
-                score.setHumanityScore(score.getHumanityScore() + 10);
-                break;
-
-            case "LIT" :
-                score.setLiteratureScore(score.getLiteratureScore() + 10);
-                break;
-
-            case "FIN" :
-                score.setFinanceScore(score.getFinanceScore() + 10);
-                break;
-
-            default:
-                break;
-        }
-        scoreRepository.save(score);
 
+    //페이지에 좋아요를 누를 때 카테고리 정보를 받아 유저의 해당 카테고리 점수를 업데이트
+    public void plusLikeScore(Long userId, Page page){
+        int[] deltas = new int[CATEGORY_COUNT];
+        deltas[page.getBook().getCategory().ordinal()] = 10;
+        addScores(userId, deltas);
     }
 
     public void plusViewScore(Long userId, Page page){
+        plusViewScore(userId, page.getBook().getCategory(), 1);
+    }
 
-        Category category = page.getBook().getCategory();
-
-        Score score = scoreRepository.findByUserId(userId);
-
-        checkUpper(score, userId);
-//category_code = {TRIP, ITNSCI, MVD, HUMR, MUS, MRG, ROM, COK, HLTH, STD, ART, ANML, HUMN, LIT, FIN}
-        switch (category.getCode()){
-            case "TRIP" :
-                score.setTripScore(score.getTripScore() + 1);
-                System.out.println("trip");
-                break;
-            case "ITNSCI" :
-                score.setItnscienceScore(score.getItnscienceScore() + 1);
-                System.out.println("itnsci");
-                break;
-
-            case "MVD" :
-                score.setMoviedramaScore(score.getMoviedramaScore() + 1);
-                System.out.println("mvd");
-                break;
-
-            case "HUMR" :
-                score.setHumorScore(score.getHumorScore() + 1);
-                System.out.println("humr");
-                break;
-
-            case "MUS" :
-                score.setMusicScore(score.getMusicScore() + 1);
-                System.out.println("mus");
-                break;
-
-            case "MRG" :
-                score.setMarriageScore(score.getMarriageScore() + 1);
-                System.out.println("mrg");
-                break;
-
-            case "ROM" :
-                score.setRomanceScore(score.getRomanceScore() + 1);
-                System.out.println("rom");
-                break;
-
-            case "COK" :
-                score.setCookingScore(score.getCookingScore() + 1);
-                System.out.println("cok");
-                break;
-
-            case "HLTH" :
-                score.setHealthScore(score.getHealthScore() + 1);
-                System.out.println("hlth");
-                break;
-
-            case "STD" :
-                score.setStudyingScore(score.getStudyingScore() + 1);
-                System.out.println("std");
-                break;
-
-            case "ART" :
-                score.setArtScore(score.getArtScore() + 1);
-                System.out.println("art");
-                break;
-
-            case "ANML" :
-                score.setAnimalScore(score.getAnimalScore() + 1);
-                System.out.println("anml");
-                break;
-
-            case "HUMN" :
-                score.setHumanityScore(score.getHumanityScore() + 1);
-                System.out.println("humn");
-                break;
-
-            case "LIT" :
-                score.setLiteratureScore(score.getLiteratureScore() + 1);
-                System.out.println("lit");
-                break;
+    //조회수 버퍼에서 합산된 조회 횟수만큼 한 번에 점수를 반영
+    public void plusViewScore(Long userId, Category category, int viewCount){
+        int[] deltas = new int[CATEGORY_COUNT];
+        deltas[category.ordinal()] = viewCount;
+        addScores(userId, deltas);
+    }
 
-            case "FIN" :
-                score.setFinanceScore(score.getFinanceScore() + 1);
-                System.out.println("fin");
-                break;
+    //Category.ordinal() 위치의 증가분을 버퍼에 모으고, flush 때 유저마다 한 번의 UPDATE 로 반영
+    //트랜잭션 안이면 커밋 이후에 적재한다
+    public void addScores(Long userId, int[] deltas) {
+        if (Arrays.stream(deltas).allMatch(delta -> delta == 0)) {
+            return;
+        }
 
-            default:
-                break;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    scoreBuffer.add(userId, deltas);
+                }
+            });
+            return;
         }
-        scoreRepository.save(score);
 
+        scoreBuffer.add(userId, deltas);
     }
 
+    //유저 개인의 점수 총합이 상한(1000점)에 도달해 있으면 먼저 전부 1/2 로 나눈 뒤 증가분을 더한다
+    //batch 는 한 트랜잭션으로 묶어 일부 행만 반영되는 일이 없도록 하고, 실패하면 증가분 전체를 버퍼로 되돌려 다음 주기에 다시 시도
+    //반영 대기 중인 증가분(inFlight)은 커밋과 함께 비워 조회에서 DB 값과 겹치지 않도록 한다
+    @Scheduled(fixedDelayString = "${score.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<Long, int[]> deltas = scoreBuffer.drain();
+        if (deltas.isEmpty()) {
+            scoreBuffer.complete();
+            return;
+        }
 
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        deltas.forEach((userId, userDeltas) -> {
+            Object[] args = new Object[1 + CATEGORY_COUNT * 2];
+            args[0] = userId;
+            for (int i = 0; i < CATEGORY_COUNT; i++) {
+                args[1 + i * 2] = upperLimit;
+                args[2 + i * 2] = userDeltas[i];
+            }
+            batchArgs.add(args);
+        });
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(ADD_SCORES, batchArgs);
+                scoreBuffer.completeOnCommit();
+            });
+        } catch (RuntimeException e) {
+            scoreBuffer.restore(deltas);
+            log.error("점수 반영 실패, 대기 중인 유저 수: {}", deltas.size(), e);
+        }
+    }
 
-    //유저 개인의 점수 총합이 상한에 도달하면 전부 1/2로 나누기, 나머지 버림 (상한 = 1000점)
-    public void checkUpper(Score score, Long userId) {
-        int totalScore = scoreRepository.getTotalScoreByUserId(userId);
-
-        if(totalScore >= upperLimit){
-
-            score.setTripScore(score.getTripScore() / 2);
-            score.setItnscienceScore(score.getItnscienceScore() / 2);
-            score.setMoviedramaScore(score.getMoviedramaScore() / 2);
-            score.setHumorScore(score.getHumorScore() / 2);
-            score.setMusicScore(score.getMusicScore() / 2);
-            score.setMarriageScore(score.getMarriageScore() / 2);
-            score.setRomanceScore(score.getRomanceScore() / 2);
-            score.setCookingScore(score.getCookingScore() / 2);
-            score.setHealthScore(score.getHealthScore() / 2);
-            score.setStudyingScore(score.getStudyingScore() / 2);
-            score.setArtScore(score.getArtScore() / 2);
-            score.setAnimalScore(score.getAnimalScore() / 2);
-            score.setHumanityScore(score.getHumanityScore() / 2);
-            score.setLiteratureScore(score.getLiteratureScore() / 2);
-            score.setFinanceScore(score.getFinanceScore() / 2);
-
-            scoreRepository.save(score);
-
+    //종료 전 마지막으로 반영하고, 그래도 남은 증가분은 파일로 내려 다음 기동 때 적재
+    @PreDestroy
+    public void drainBuffer() {
+        flush();
+        if (scoreBuffer.size() > 0) {
+            scoreBuffer.spill();
         }
     }
 
@@ -268,39 +178,51 @@ public class ScoreService {
 
 
     public List<ResponseScoreDto> getSortedScoresByUserId(String accessToken) {
-        User user = userRepository.findByEmail(jwtTokenProvider.getUserEmail(accessToken))
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        Long userId = user.getId();
-
-        List<Map<String, Object>> scores = scoreRepository.findScoresByUserId(userId);
-
-        if (scores.isEmpty()) {
+        int[] scores = getScores(currentUser.getId(accessToken));
+        if (scores == null) {
             return Collections.emptyList();
         }
+        return sortScores(scores);
+    }
 
-        Map<String, Integer> scoreMap = new HashMap<>();
-        Map<String, Object> score = scores.get(0);
+    //Category.ordinal() 위치의 점수, 점수 행이 없으면 null
+    //아직 반영되지 않은 증가분을 더해 방금 본 페이지도 점수에 보이도록
+    public int[] getScores(Long userId) {
+        List<int[]> rows = jdbcTemplate.query(SELECT_SCORES, (rs, rowNum) -> {
+            int[] scores = new int[CATEGORY_COUNT];
+            for (int i = 0; i < CATEGORY_COUNT; i++) {
+                scores[i] = rs.getInt(i + 1);
+            }
+            return scores;
+        }, userId);
+
+        if (rows.isEmpty()) {
+            return null;
+        }
 
-        scoreMap.put("TRIP", (Integer) score.get("tripScore"));
-        scoreMap.put("ITNSCIENCE", (Integer) score.get("itnscienceScore"));
-        scoreMap.put("MOVIEDRAMA", (Integer) score.get("moviedramaScore"));
-        scoreMap.put("HUMOR", (Integer) score.get("humorScore"));
-        scoreMap.put("MUSIC", (Integer) score.get("musicScore"));
-        scoreMap.put("MARRIAGE", (Integer) score.get("marriageScore"));
-        scoreMap.put("ROMANCE", (Integer) score.get("romanceScore"));
-        scoreMap.put("COOKING", (Integer) score.get("cookingScore"));
-        scoreMap.put("HEALTH", (Integer) score.get("healthScore"));
-        scoreMap.put("STUDYING", (Integer) score.get("studyingScore"));
-        scoreMap.put("ART", (Integer) score.get("artScore"));
-        scoreMap.put("ANIMAL", (Integer) score.get("animalScore"));
-        scoreMap.put("HUMANITY", (Integer) score.get("humanityScore"));
-        scoreMap.put("LITERATURE", (Integer) score.get("literatureScore"));
-        scoreMap.put("FINANCE", (Integer) score.get("financeScore"));
+        int[] scores = rows.get(0);
+        int[] pending = scoreBuffer.pending(userId);
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            scores[i] += pending[i];
+        }
+        return scores;
+    }
 
-        return scoreMap.entrySet().stream()
-                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
-                .map(entry -> new ResponseScoreDto(entry.getKey(), entry.getValue()))
-                .collect(Collectors.toList());
+    //점수 내림차순, 같은 점수는 카테고리 순서대로
+    //(점수, 카테고리)를 long 하나로 묶어 기본형 배열 정렬만 사용한다
+    private static List<ResponseScoreDto> sortScores(int[] scores) {
+        long[] packed = new long[scores.length];
+        for (int i = 0; i < scores.length; i++) {
+            packed[i] = ((long) scores[i] << 32) | (scores.length - 1 - i);
+        }
+        Arrays.sort(packed);
+
+        Category[] categories = Category.values();
+        List<ResponseScoreDto> result = new ArrayList<>(scores.length);
+        for (int i = packed.length - 1; i >= 0; i--) {
+            int ordinal = scores.length - 1 - (int) (packed[i] & 0xFFFFFFFFL);
+            result.add(new ResponseScoreDto(categories[ordinal].name(), (int) (packed[i] >> 32)));
+        }
+        return result;
     }
-}
\ No newline at end of file
+}
@@ -6,8 +6,13 @@ import cau.capstone.backend.User.dto.response.ResponseUserLikeDto;
 import cau.capstone.backend.User.model.User;
 import cau.capstone.backend.User.dto.response.ResponseSearchUserDto;
 import cau.capstone.backend.User.model.repository.UserRepository;
+import cau.capstone.backend.global.redis.UserLikeRankingService;
+import cau.capstone.backend.global.search.SearchDocumentType;
+import cau.capstone.backend.global.search.SearchEngine;
+import cau.capstone.backend.global.search.SearchHits;
+import cau.capstone.backend.global.search.SearchIndexEvent;
+import cau.capstone.backend.global.security.CurrentUser;
 import cau.capstone.backend.global.security.Entity.JwtTokenProvider;
-import cau.capstone.backend.global.security.SecurityUtil;
 import cau.capstone.backend.global.security.dto.CreateUserDto;
 import cau.capstone.backend.global.security.dto.ResponseUserDto;
 import cau.capstone.backend.global.util.api.ResponseCode;
@@ -15,14 +20,15 @@ import cau.capstone.backend.global.util.exception.UserException;
 import cau.capstone.backend.page.service.LikeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
 
 import java.util.stream.Collectors;
 
@@ -33,8 +39,12 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
+    private final CurrentUser currentUser;
     private final PasswordEncoder passwordEncoder;
     private final LikeService likeService;
+    private final UserLikeRankingService userLikeRankingService;
+    private final Optional<SearchEngine> searchEngine;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Transactional
@@ -58,12 +68,15 @@ public class UserService {
         System.out.println("encodedPassword: " + encodedPassword);
         User user = User.createUser(createUserDto.getEmail(), encodedPassword, createUserDto.getName(), createUserDto.getNickname());
 
-        return userRepository.save(user).getId();
+        Long userId = userRepository.save(user).getId();
+        userLikeRankingService.incrementUserLike(userId, 0);
+        eventPublisher.publishEvent(SearchIndexEvent.upsert(SearchDocumentType.USER, userId));
+        return userId;
     }
 
     // 현재 SecurityContext 에 있는 유저 정보 가져와 유저 정보 반환
     public ResponseUserDto getMyInfo() {
-        User user = userRepository.findByEmail(SecurityUtil.getCurrentMemberEmail())
+        User user = userRepository.findById(currentUser.getId())
                 .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND));
 
         ResponseUserDto responseUserDto = getUserDto(user);
@@ -99,7 +112,7 @@ public class UserService {
 //        Long userId = jwtTokenProvider.getUserPk(accessToken);
 
         String email = jwtTokenProvider.getUserEmail(accessToken);
-        User user = userRepository.findByEmail(email)
+        User user = userRepository.findById(currentUser.getId(accessToken))
                 .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND));
 
 //        User user = getUserById(userId);
@@ -107,6 +120,8 @@ public class UserService {
 
         user.updateUser(updateUserDto.getName(), updateUserDto.getImage(), updateUserDto.getName(), updateUserDto.getNickname() );
         userRepository.save(user);
+        currentUser.evict(email);
+        eventPublisher.publishEvent(SearchIndexEvent.upsert(SearchDocumentType.USER, user.getId()));
         log.info("{} 회원정보 수정 완료: ", user.getName());
 
         ResponseUserDto responseUserDto = ResponseUserDto.of(user);
@@ -140,13 +155,13 @@ public class UserService {
     public long deleteUser(String accessToken) {
 //        Long userId = jwtTokenProvider.getUserPk(accessToken);
 
-        String email = jwtTokenProvider.getUserEmail(accessToken);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND));
-        Long userId = user.getId();
+        Long userId = currentUser.getId(accessToken);
 
 //        validateUser(userId);
         userRepository.deleteById(userId);
+        currentUser.evict(jwtTokenProvider.getUserEmail(accessToken));
+        userLikeRankingService.removeUser(userId);
+        eventPublisher.publishEvent(SearchIndexEvent.delete(SearchDocumentType.USER, userId));
         log.info("PK {} 회원 탈퇴 완료: ", userId);
 
         return userId;
@@ -154,6 +169,18 @@ public class UserService {
 
 
     public org.springframework.data.domain.Page<ResponseSearchUserDto> searchUsersWithKeywordAndPaging(String keyword, Pageable pageable) {
+        //검색 엔진이 있으면 관련도 순 id 만 받아 한 번에 조회
+        if (searchEngine.isPresent()) {
+            SearchHits hits = searchEngine.get().search(SearchDocumentType.USER, keyword, (int) pageable.getOffset(), pageable.getPageSize());
+            Map<Long, User> usersById = userRepository.findAllById(hits.getIds()).stream()
+                    .collect(Collectors.toMap(User::getId, user -> user));
+            List<ResponseSearchUserDto> responseUserDtoList = hits.getIds().stream()
+                    .filter(usersById::containsKey)
+                    .map(userId -> ResponseSearchUserDto.of(usersById.get(userId)))
+                    .collect(Collectors.toList());
+            return new PageImpl<>(responseUserDtoList, pageable, hits.getTotalHits());
+        }
+
         org.springframework.data.domain.Page<User> users = userRepository.findByKeywordWithPaging(keyword, pageable);
 
         List<ResponseSearchUserDto> responseUserDtoList = users.stream()
@@ -165,24 +192,47 @@ public class UserService {
 
 
     public List<ResponseUserLikeDto> findTop10UsersByLikes() {
-        // 유저 리스트를 가져옵니다.
-        List<User> users = userRepository.findAll();
-
-        // 유저별로 총 좋아요 수를 계산합니다.
-        List<ResponseUserLikeDto> userLikes = users.stream().map(user -> {
-            int totalLikes = user.getBooks().stream()
-                    .mapToInt(book -> likeService.countTotalLikesForBook(book.getId()))
-                    .sum();
-            return new ResponseUserLikeDto(user, totalLikes);
-        }).collect(Collectors.toList());
-
-        // 총 좋아요 수를 기준으로 내림차순 정렬하고 상위 10명을 선택합니다.
-        List<ResponseUserLikeDto> top10UsersByLikes = userLikes.stream()
-                .sorted(Comparator.comparingInt(ResponseUserLikeDto::getTotalLikes).reversed())
-                .limit(10)
+        return findTopUsersByLikes(10);
+    }
+
+    // 리더보드에서 좋아요 수 상위 N명을 가져옵니다.
+    public List<ResponseUserLikeDto> findTopUsersByLikes(int limit) {
+        return toUserLikeDtos(userLikeRankingService.getTopUsers(limit), 0);
+    }
+
+    // 해당 유저 순위 앞뒤로 radius 명씩 가져옵니다.
+    public List<ResponseUserLikeDto> findUsersAroundByLikes(Long userId, int radius) {
+        Long rank = userLikeRankingService.getUserRank(userId);
+        if (rank == null) {
+            throw new UserException(ResponseCode.USER_NOT_FOUND);
+        }
+
+        long start = Math.max(0, rank - radius);
+        return toUserLikeDtos(userLikeRankingService.getUsersInRange(start, rank + radius), start);
+    }
+
+    // 리더보드 순서를 유지하며 유저 정보는 한 번의 IN 쿼리로 조회합니다.
+    private List<ResponseUserLikeDto> toUserLikeDtos(Set<ZSetOperations.TypedTuple<String>> rankedUsers, long startRank) {
+        List<Long> userIds = rankedUsers.stream()
+                .map(tuple -> Long.valueOf(tuple.getValue()))
                 .collect(Collectors.toList());
 
-        return top10UsersByLikes;
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+
+        List<ResponseUserLikeDto> userLikes = new ArrayList<>(userIds.size());
+        long rank = startRank;
+        for (ZSetOperations.TypedTuple<String> rankedUser : rankedUsers) {
+            rank++;
+            User user = users.get(Long.valueOf(rankedUser.getValue()));
+            if (user == null) {
+                continue;
+            }
+            int totalLikes = rankedUser.getScore() == null ? 0 : rankedUser.getScore().intValue();
+            userLikes.add(new ResponseUserLikeDto(user, totalLikes, rank));
+        }
+
+        return userLikes;
     }
 
 
@@ -190,7 +240,7 @@ public class UserService {
 
         ResponseUserDto responseUserDto = ResponseUserDto.of(user);
         responseUserDto.setBookCount(user.getBooks().size());
-        responseUserDto.setTotalLikeCount(likeService.countTotalLikesForUser(user.getId()));
+        responseUserDto.setTotalLikeCount(user.getTotalLikeCount());
         responseUserDto.setPageCount(user.getBooks().stream()
                 .mapToInt(book -> book.getPages().size())
                 .sum());
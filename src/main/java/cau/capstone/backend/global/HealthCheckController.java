@@ -1,33 +1,64 @@
 package cau.capstone.backend.global;
 
+import cau.capstone.backend.page.service.ViewCountService;
+import cau.capstone.backend.voice.aiserver.AiServerBulkhead;
 import cau.capstone.backend.voice.aiserver.EmotionDto;
 import cau.capstone.backend.voice.aiserver.FastAPIService;
+import cau.capstone.backend.voice.service.SpeechCache;
+import cau.capstone.backend.voice.service.SpeechPresynthesizer;
+import cau.capstone.backend.voice.service.SpeechService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/health")
 public class HealthCheckController {
 
     private final FastAPIService fastAPIService;
+    private final ViewCountService viewCountService;
+    private final AiServerBulkhead aiServerBulkhead;
+    private final SpeechCache speechCache;
+    private final SpeechService speechService;
+    private final Optional<SpeechPresynthesizer> speechPresynthesizer;
 
     @GetMapping("/health")
     public String healthCheck() {
         return "OK";
     }
 
+    @GetMapping("/viewcount")
+    public Map<String, Long> viewCountMetrics() {
+        return viewCountService.getMetrics();
+    }
+
+    @GetMapping("/aiserver")
+    public Map<String, Object> aiServerMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("bulkhead", aiServerBulkhead.getMetrics());
+        metrics.put("singleFlight", fastAPIService.getSingleFlightMetrics());
+        return metrics;
+    }
+
+    @GetMapping("/speech-cache")
+    public Map<String, Map<String, Long>> speechCacheMetrics() {
+        Map<String, Map<String, Long>> metrics = new LinkedHashMap<>();
+        metrics.put("cache", speechCache.getMetrics());
+        metrics.put("fill", speechService.getFillMetrics());
+        speechPresynthesizer.ifPresent(presynthesizer -> metrics.put("presynthesis", presynthesizer.getMetrics()));
+        return metrics;
+    }
+
     @GetMapping("/test/emotion")
-    public String testEmotion() {
+    public Mono<String> testEmotion() {
         Mono<EmotionDto> dto = fastAPIService.getEmotionData("아 너무 슬프다. 이럴 수가 ");
 
-        String emotion = dto.block().getEmotion();
-        System.out.println(emotion);
-        double value = dto.block().getValue();
-        System.out.println(value);
-
-        return emotion + " " + value;
+        return dto.map(res -> res.getEmotion() + " " + (double) res.getValue());
     }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package cau.capstone.backend.global.cofing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+//Mono 를 반환하는 컨트롤러는 비동기로 처리되어 응답을 기다리는 동안 요청 스레드를 반납한다
+//음성 합성은 오래 걸릴 수 있어 기본(30초)보다 넉넉하게, 시간이 지나면 구독이 취소되어 AI 서버 자리도 반납
+@Configuration
+public class AsyncWebConfig implements WebMvcConfigurer {
+
+    @Value("${web.async.timeout-ms:120000}")
+    private long timeoutMillis;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(timeoutMillis);
+    }
+}
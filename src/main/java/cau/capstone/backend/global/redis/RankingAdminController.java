@@ -0,0 +1,25 @@
+package cau.capstone.backend.global.redis;
+
+import cau.capstone.backend.global.util.api.ApiResponse;
+import io.swagger.annotations.Api;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Api(tags = "6. Ranking")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/admin/ranking")
+public class RankingAdminController {
+
+    private final UserLikeRankingService userLikeRankingService;
+
+
+    @Operation(summary = "유저 좋아요 리더보드를 like 테이블 기준으로 재구성")
+    @PostMapping("/user/rebuild")
+    public ApiResponse<Integer> rebuildUserLikeRanking() {
+        return ApiResponse.success(userLikeRankingService.rebuild(), "Rebuilt user like ranking");
+    }
+}
@@ -1,8 +1,12 @@
 package cau.capstone.backend.global.redis;
 
+import cau.capstone.backend.User.dto.response.ResponseUserLikeDto;
+import cau.capstone.backend.User.service.UserService;
 import cau.capstone.backend.global.util.api.ApiResponse;
+import cau.capstone.backend.global.util.api.ResponseCode;
+import cau.capstone.backend.global.util.exception.UserException;
 import cau.capstone.backend.page.dto.response.ResponseBookDto;
-import cau.capstone.backend.page.dto.response.ResponsePageDto;
+import cau.capstone.backend.page.dto.response.ResponsePageSummaryDto;
 import cau.capstone.backend.page.model.Category;
 import cau.capstone.backend.page.model.EmotionType;
 import cau.capstone.backend.page.service.BookService;
@@ -13,6 +17,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 
@@ -22,16 +27,21 @@ import java.util.Set;
 @RequestMapping("/api/ranking")
 public class RankingController {
 
+    //유저 리더보드 한 번에 조회할 수 있는 최대 인원
+    private static final int MAX_TOP_USERS = 100;
+    private static final int MAX_RADIUS = 50;
+
     private final RankingService rankingService;
 
     private final PageService pageService;
     private final BookService bookService;
+    private final UserService userService;
 
 
     @Operation(summary = "좋아요 수 상위 N개 페이지 반환, 감정 기준으로 분류")
     @GetMapping("/page/emotion/topliked")
-    public ApiResponse<Set<ResponsePageDto>> getTopLikedPages(@RequestParam("emotion") String emotionCode, @RequestParam("top") int topN) {
-        Set<ResponsePageDto> responsePageDtos = pageService.parseTopRankedPages(rankingService.getTopRankedPages(EmotionType.getByCode(emotionCode.toUpperCase(Locale.ROOT)), topN));
+    public ApiResponse<Set<ResponsePageSummaryDto>> getTopLikedPages(@RequestParam("emotion") String emotionCode, @RequestParam("top") int topN) {
+        Set<ResponsePageSummaryDto> responsePageDtos = pageService.parseTopRankedPages(rankingService.getTopRankedPages(EmotionType.getByCode(emotionCode.toUpperCase(Locale.ROOT)), topN));
         return ApiResponse.success(responsePageDtos, "Top " + topN + " liked pages" + " with emotion " + emotionCode);
     }
 
@@ -45,8 +55,8 @@ public class RankingController {
 
     @Operation(summary = "조회수 상위 N개 페이지 반환, 감정 기준으로 분류")
     @GetMapping("/page/emotion/topviewed")
-    public ApiResponse<Set<ResponsePageDto>> getTopViewedPages(@RequestParam("emotion") String emotionCode, @RequestParam("top") int topN) {
-        Set<ResponsePageDto> responsePageDtos = pageService.parseTopRankedPages(rankingService.getTopViewedPages(EmotionType.getByCode(emotionCode.toUpperCase(Locale.ROOT)), topN));
+    public ApiResponse<Set<ResponsePageSummaryDto>> getTopViewedPages(@RequestParam("emotion") String emotionCode, @RequestParam("top") int topN) {
+        Set<ResponsePageSummaryDto> responsePageDtos = pageService.parseTopRankedPages(rankingService.getTopViewedPages(EmotionType.getByCode(emotionCode.toUpperCase(Locale.ROOT)), topN));
         return ApiResponse.success(responsePageDtos, "Top " + topN + " viewed pages" + " with emotion " + emotionCode);
     }
 
@@ -59,19 +69,71 @@ public class RankingController {
 
     @Operation(summary = "태그에 따라서 페이지를 추천")
     @GetMapping("/page/tag/topliked")
-    public ApiResponse<Set<ResponsePageDto>> getTopLikedPagesTag(@RequestParam("tag") String tag, @RequestParam("top") int topN){
-        Set<ResponsePageDto> responsePageDtos = pageService.parseTopRankedPages(rankingService.getTopRankedPagesByTag(tag, topN));
+    public ApiResponse<Set<ResponsePageSummaryDto>> getTopLikedPagesTag(@RequestParam("tag") String tag, @RequestParam("top") int topN){
+        Set<ResponsePageSummaryDto> responsePageDtos = pageService.parseTopRankedPages(rankingService.getTopRankedPagesByTag(tag, topN));
         return ApiResponse.success(responsePageDtos, "Top " + topN + " liked pages" + " with tag " + tag);
     }
 
     @Operation(summary = "태그에 따라서 페이지를 추천(뷰 기반)")
     @GetMapping("/page/tag/topviewed")
-    public ApiResponse<Set<ResponsePageDto>> getTopViewedPagesTag(@RequestParam("tag") String tag, @RequestParam("top") int topN){
-        Set<ResponsePageDto> responsePageDtos = pageService.parseTopRankedPages(rankingService.getTopViewedPagesByTag(tag, topN));
+    public ApiResponse<Set<ResponsePageSummaryDto>> getTopViewedPagesTag(@RequestParam("tag") String tag, @RequestParam("top") int topN){
+        Set<ResponsePageSummaryDto> responsePageDtos = pageService.parseTopRankedPages(rankingService.getTopViewedPagesByTag(tag, topN));
         return ApiResponse.success(responsePageDtos, "Top " + topN + " viewed pages" + " with tag " + tag);
 
     }
 
+    @Operation(summary = "받은 좋아요 수 상위 N명의 유저 반환")
+    @GetMapping("/user/topliked")
+    public ApiResponse<List<ResponseUserLikeDto>> getTopLikedUsers(@RequestParam("top") int topN) {
+        //0 이하는 ZREVRANGE 0 -1 로 리더보드 전체가 되므로 거절하고, 너무 크면 상한으로 자른다
+        if (topN < 1) {
+            throw new UserException(ResponseCode.INVALID_RANKING_RANGE);
+        }
+        topN = Math.min(topN, MAX_TOP_USERS);
+        return ApiResponse.success(userService.findTopUsersByLikes(topN), "Top " + topN + " users by likes");
+    }
+
+    @Operation(summary = "해당 유저의 좋아요 순위 앞뒤로 radius 명씩 반환")
+    @GetMapping("/user/{userId}/around")
+    public ApiResponse<List<ResponseUserLikeDto>> getUsersAroundByLikes(@PathVariable Long userId,
+                                                                        @RequestParam(value = "radius", defaultValue = "5") int radius) {
+        if (radius < 0) {
+            throw new UserException(ResponseCode.INVALID_RANKING_RANGE);
+        }
+        radius = Math.min(radius, MAX_RADIUS);
+        return ApiResponse.success(userService.findUsersAroundByLikes(userId, radius), "Users around user " + userId + " by likes");
+    }
+
+    @Operation(summary = "최근 급상승 페이지 반환, 감정 기준으로 분류 (type: like, view)")
+    @GetMapping("/page/emotion/trending")
+    public ApiResponse<Set<ResponsePageSummaryDto>> getTrendingPages(@RequestParam("emotion") String emotionCode, @RequestParam("top") int topN,
+                                                              @RequestParam(value = "type", defaultValue = "like") String type) {
+        EmotionType emotion = EmotionType.getByCode(emotionCode.toUpperCase(Locale.ROOT));
+        Set<String> pageIds = isViewType(type) ? rankingService.getTrendingViewedPages(emotion, topN) : rankingService.getTrendingPages(emotion, topN);
+        return ApiResponse.success(pageService.parseTopRankedPages(pageIds), "Top " + topN + " trending pages" + " with emotion " + emotionCode);
+    }
+
+    @Operation(summary = "최근 급상승 책 반환, 카테고리 기준으로 분류 (type: like, view)")
+    @GetMapping("/book/category/trending")
+    public ApiResponse<Set<ResponseBookDto>> getTrendingBooks(@RequestParam("category") String categoryCode, @RequestParam("top") int topN,
+                                                              @RequestParam(value = "type", defaultValue = "like") String type) {
+        Category category = Category.getByCode(categoryCode.toUpperCase(Locale.ROOT));
+        Set<String> bookIds = isViewType(type) ? rankingService.getTrendingViewedBooks(category, topN) : rankingService.getTrendingBooks(category, topN);
+        return ApiResponse.success(bookService.parseTopRankedBooks(bookIds), "Top " + topN + " trending books" + " with category " + categoryCode);
+    }
+
+    @Operation(summary = "최근 급상승 페이지 반환, 태그 기준으로 분류 (type: like, view)")
+    @GetMapping("/page/tag/trending")
+    public ApiResponse<Set<ResponsePageSummaryDto>> getTrendingPagesTag(@RequestParam("tag") String tag, @RequestParam("top") int topN,
+                                                                 @RequestParam(value = "type", defaultValue = "like") String type) {
+        Set<String> pageIds = isViewType(type) ? rankingService.getTrendingViewedPagesByTag(tag, topN) : rankingService.getTrendingPagesByTag(tag, topN);
+        return ApiResponse.success(pageService.parseTopRankedPages(pageIds), "Top " + topN + " trending pages" + " with tag " + tag);
+    }
+
+    private boolean isViewType(String type) {
+        return "view".equalsIgnoreCase(type);
+    }
+
 //    @GetMapping("/{pageId}/rank")
 //    public Long getPostRank(@PathVariable Long pageId, @RequestParam String categoryCode) {
 //        return rankingService.getPageRank(pageId, categoryCode);
@@ -81,4 +143,4 @@ public class RankingController {
 //    public Double getPostScore(@PathVariable Long postId, @RequestParam String categoryCode) {
 //        return rankingService.getPageScore(postId, categoryCode);
 //    }
-}
\ No newline at end of file
+}
\ No newline at end of file
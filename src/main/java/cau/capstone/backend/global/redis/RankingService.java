@@ -4,65 +4,86 @@ import cau.capstone.backend.page.model.Category;
 import cau.capstone.backend.page.model.Emotion;
 import cau.capstone.backend.page.model.EmotionType;
 import io.swagger.annotations.Api;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Api(tags = "5. Ranking")
 @Service
 public class RankingService {
 
+    private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+
     @Autowired
     private RedisTemplate<String, String> redisTemplate;
 
+    //트렌딩 랭킹에 합산할 최근 시간 버킷 수
+    @Value("${ranking.trending.window-hours:24}")
+    private int trendingWindowHours = 24;
+
+    //버킷이 한 시간 오래될 때마다 곱해지는 가중치
+    @Value("${ranking.trending.decay:0.9}")
+    private double trendingDecay = 0.9;
+
+    //합산 결과 캐시 시간
+    @Value("${ranking.trending.cache-seconds:60}")
+    private long trendingCacheSeconds = 60;
+
 
     //페이지를 이모션 기반으로 랭킹
-    private String getLikeKey(EmotionType emotion) {
+    static String getLikeKey(EmotionType emotion) {
         return "page:like:" + emotion.getCode().toLowerCase();
     }
 
-    private String getViewCountKey(EmotionType emotion) {
+    static String getViewCountKey(EmotionType emotion) {
         return "page:viewcount:" + emotion.getCode().toLowerCase();
     }
 
 
     //페이지를 태그 기반으로 랭킹
-    private String getLikeKeyPageTag(String tag) {return "page:like:" + tag;}
-    private String getViewCountKeyTag(String tag) {return "page:viewcount:" + tag;}
+    static String getLikeKeyPageTag(String tag) {return "page:like:" + tag;}
+    static String getViewCountKeyTag(String tag) {return "page:viewcount:" + tag;}
 
 
     //북을 카테고리 기반으로 랭킹
-    private String getLikeKeyBook(Category category) {
+    static String getLikeKeyBook(Category category) {
         return "book:like:" + category.name().toLowerCase();
     }
 
-    private String getViewCountKeyBook(Category category) {
+    static String getViewCountKeyBook(Category category) {
         return "book:viewcount:" + category.name().toLowerCase();
     }
 
 
-    public void likePage(Long pageId, EmotionType emotion){
-        ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
-        zSetOps.incrementScore(getLikeKey(emotion), pageId.toString(), 1);
+    //누적 랭킹 키의 시간 버킷, 예) trending:page:like:happiness:483921
+    private static String getTrendingBucketKey(String key, long hour) {
+        return "trending:" + key + ":" + hour;
     }
 
-    public void likePageTag(Long pageId, String tag){
-        ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
-        zSetOps.incrementScore(getLikeKeyPageTag(tag), pageId.toString(), 1);
+    private static String getTrendingMergedKey(String key) {
+        return "trending:" + key + ":merged";
     }
 
-
-    public void unlikePage(Long pageId, EmotionType emotion){
-        ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
-        zSetOps.incrementScore(getLikeKey(emotion), pageId.toString(), -1);
+    private static long currentHour() {
+        return System.currentTimeMillis() / HOUR_MILLIS;
     }
 
-    public void unlikePageTag(Long pageId, String tag){
-        ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
-        zSetOps.incrementScore(getLikeKeyPageTag(tag), pageId.toString(), -1);    }
 
     public Set<String> getTopRankedPages(EmotionType emotion, int limit) {
         ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
@@ -76,42 +97,109 @@ public class RankingService {
 
 
 
-    // Function to like a book
-    public void likeBook(Long bookId, Category category){
+    // Function to get top ranked books
+    public Set<String> getTopRankedBooks(Category category, int limit) {
         ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
-        zSetOps.incrementScore(getLikeKeyBook(category), bookId.toString(), 1);
+        return zSetOps.reverseRange(getLikeKeyBook(category), 0, limit - 1);
     }
 
-    // Function to unlike a book
-    public void unlikeBook(Long bookId, Category category){
-        ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
-        zSetOps.incrementScore(getLikeKeyBook(category), bookId.toString(), -1);
+
+
+    // 모아둔 증감을 한 번의 파이프라인으로 반영, 트랜잭션 안이면 커밋 이후에 보낸다
+    public void apply(RankingUpdate update) {
+        if (update.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        execute(update);
+                    } catch (RuntimeException e) {
+                        log.error("랭킹 반영 실패, 명령 수: {}", update.size(), e);
+                    }
+                }
+            });
+            return;
+        }
+
+        execute(update);
     }
 
-    // Function to get top ranked books
-    public Set<String> getTopRankedBooks(Category category, int limit) {
-        ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
-        return zSetOps.reverseRange(getLikeKeyBook(category), 0, limit - 1);
+    //누적 랭킹과 현재 시간 버킷에 함께 반영, 버킷은 윈도우가 지나면 만료된다
+    private void execute(RankingUpdate update) {
+        long hour = currentHour();
+        long bucketTtlSeconds = TimeUnit.HOURS.toSeconds(trendingWindowHours + 1L);
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            RedisZSetCommands zSetCommands = connection.zSetCommands();
+            update.getIncrements().forEach((key, deltas) -> {
+                byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+                byte[] rawBucketKey = getTrendingBucketKey(key, hour).getBytes(StandardCharsets.UTF_8);
+                deltas.forEach((member, delta) -> {
+                    if (delta != 0) {
+                        byte[] rawMember = member.getBytes(StandardCharsets.UTF_8);
+                        zSetCommands.zIncrBy(rawKey, delta, rawMember);
+                        zSetCommands.zIncrBy(rawBucketKey, delta, rawMember);
+                    }
+                });
+                connection.keyCommands().expire(rawBucketKey, bucketTtlSeconds);
+            });
+            return null;
+        });
     }
 
 
+    public Set<String> getTrendingPages(EmotionType emotion, int limit) {
+        return getTrending(getLikeKey(emotion), limit);
+    }
 
-    // Function to increment view count for a page
-    public void incrementViewCountPage(Long pageId, EmotionType emotion){
-        ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
-        zSetOps.incrementScore(getViewCountKey(emotion), pageId.toString(), 1);
+    public Set<String> getTrendingViewedPages(EmotionType emotion, int limit) {
+        return getTrending(getViewCountKey(emotion), limit);
     }
 
-    public void incrementViewCountPageTag(Long pageId, String tag){
-        ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
-        zSetOps.incrementScore(getViewCountKeyTag(tag), pageId.toString(), 1);
+    public Set<String> getTrendingPagesByTag(String tag, int limit) {
+        return getTrending(getLikeKeyPageTag(tag), limit);
+    }
+
+    public Set<String> getTrendingViewedPagesByTag(String tag, int limit) {
+        return getTrending(getViewCountKeyTag(tag), limit);
     }
 
+    public Set<String> getTrendingBooks(Category category, int limit) {
+        return getTrending(getLikeKeyBook(category), limit);
+    }
 
-    // Function to increment view count for a book
-    public void incrementViewCountBook(Long bookId, Category category){
+    public Set<String> getTrendingViewedBooks(Category category, int limit) {
+        return getTrending(getViewCountKeyBook(category), limit);
+    }
+
+    //최근 윈도우의 시간 버킷을 감쇠 가중치로 ZUNIONSTORE 한 결과, 짧은 시간 동안 캐시
+    private Set<String> getTrending(String key, int limit) {
         ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
-        zSetOps.incrementScore(getViewCountKeyBook(category), bookId.toString(), 1);
+        String mergedKey = getTrendingMergedKey(key);
+
+        Set<String> trending = zSetOps.reverseRange(mergedKey, 0, limit - 1);
+        if (trending != null && !trending.isEmpty()) {
+            return trending;
+        }
+
+        long hour = currentHour();
+        int windowHours = Math.max(1, trendingWindowHours);
+        List<String> bucketKeys = new ArrayList<>(windowHours);
+        double[] weights = new double[windowHours];
+        for (int age = 0; age < windowHours; age++) {
+            bucketKeys.add(getTrendingBucketKey(key, hour - age));
+            weights[age] = Math.pow(trendingDecay, age);
+        }
+
+        zSetOps.unionAndStore(bucketKeys.get(0), bucketKeys.subList(1, windowHours), mergedKey,
+                RedisZSetCommands.Aggregate.SUM, RedisZSetCommands.Weights.of(weights));
+        redisTemplate.expire(mergedKey, trendingCacheSeconds, TimeUnit.SECONDS);
+
+        return zSetOps.reverseRange(mergedKey, 0, limit - 1);
     }
 
     // Function to get top viewed pages
@@ -125,6 +213,57 @@ public class RankingService {
         return zSetOps.reverseRange(getViewCountKeyTag(tag), 0, limit - 1);
     }
 
+    //감정별 좋아요, 조회 랭킹 상위 perSet 개씩을 한 번의 파이프라인으로 읽어 페이지별 인기 점수로 합산
+    //조회 점수에는 viewWeight 를 곱한다
+    public Map<Long, Double> getPageCandidates(int perSet, double viewWeight) {
+        List<Object> ranges = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            RedisZSetCommands zSetCommands = connection.zSetCommands();
+            for (EmotionType emotion : EmotionType.values()) {
+                zSetCommands.zRevRangeWithScores(getLikeKey(emotion).getBytes(StandardCharsets.UTF_8), 0, perSet - 1);
+                zSetCommands.zRevRangeWithScores(getViewCountKey(emotion).getBytes(StandardCharsets.UTF_8), 0, perSet - 1);
+            }
+            return null;
+        });
+
+        Map<Long, Double> candidates = new HashMap<>();
+        for (int i = 0; i < ranges.size(); i++) {
+            double weight = i % 2 == 0 ? 1.0 : viewWeight;
+            if (!(ranges.get(i) instanceof Set)) {
+                continue;
+            }
+            for (Object tuple : (Set<?>) ranges.get(i)) {
+                ZSetOperations.TypedTuple<?> typed = (ZSetOperations.TypedTuple<?>) tuple;
+                if (typed.getValue() == null || typed.getScore() == null || typed.getScore() <= 0) {
+                    continue;
+                }
+                candidates.merge(Long.valueOf(typed.getValue().toString()), typed.getScore() * weight, Double::sum);
+            }
+        }
+        return candidates;
+    }
+
+    //태그별로 좋아요, 조회 랭킹에 오른 페이지 수의 합, 한 번의 파이프라인으로 조회
+    public List<Long> getTagUsage(List<String> tags) {
+        List<Object> counts = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            RedisZSetCommands zSetCommands = connection.zSetCommands();
+            for (String tag : tags) {
+                zSetCommands.zCard(getLikeKeyPageTag(tag).getBytes(StandardCharsets.UTF_8));
+                zSetCommands.zCard(getViewCountKeyTag(tag).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+
+        List<Long> usage = new ArrayList<>(tags.size());
+        for (int i = 0; i < tags.size(); i++) {
+            usage.add(toLong(counts.get(2 * i)) + toLong(counts.get(2 * i + 1)));
+        }
+        return usage;
+    }
+
+    private static long toLong(Object count) {
+        return count instanceof Number ? ((Number) count).longValue() : 0L;
+    }
+
 
 
     // Function to get top viewed books
@@ -0,0 +1,66 @@
+package cau.capstone.backend.global.redis;
+
+import cau.capstone.backend.page.model.Category;
+import cau.capstone.backend.page.model.EmotionType;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//하나의 이벤트에서 발생하는 랭킹 점수 증감을 모아두는 빌더, RankingService.apply 로 한 번에 전송
+//같은 키와 멤버에 대한 증감은 하나의 ZINCRBY 로 합쳐진다
+public class RankingUpdate {
+
+    private final Map<String, Map<String, Double>> increments = new LinkedHashMap<>();
+
+
+    public RankingUpdate likePage(Long pageId, EmotionType emotion, int delta) {
+        return increment(RankingService.getLikeKey(emotion), pageId, delta);
+    }
+
+    public RankingUpdate likePageTags(Long pageId, Collection<String> tags, int delta) {
+        for (String tag : tags) {
+            increment(RankingService.getLikeKeyPageTag(tag), pageId, delta);
+        }
+        return this;
+    }
+
+    public RankingUpdate likeBook(Long bookId, Category category, int delta) {
+        return increment(RankingService.getLikeKeyBook(category), bookId, delta);
+    }
+
+    public RankingUpdate viewPage(Long pageId, EmotionType emotion, int delta) {
+        return increment(RankingService.getViewCountKey(emotion), pageId, delta);
+    }
+
+    public RankingUpdate viewPageTags(Long pageId, Collection<String> tags, int delta) {
+        for (String tag : tags) {
+            increment(RankingService.getViewCountKeyTag(tag), pageId, delta);
+        }
+        return this;
+    }
+
+    public RankingUpdate viewBook(Long bookId, Category category, int delta) {
+        return increment(RankingService.getViewCountKeyBook(category), bookId, delta);
+    }
+
+
+    public boolean isEmpty() {
+        return increments.isEmpty();
+    }
+
+    //전송될 ZINCRBY 명령 수
+    public int size() {
+        return increments.values().stream().mapToInt(Map::size).sum();
+    }
+
+    Map<String, Map<String, Double>> getIncrements() {
+        return increments;
+    }
+
+    private RankingUpdate increment(String key, Long id, double delta) {
+        increments.computeIfAbsent(key, k -> new LinkedHashMap<>())
+                .merge(id.toString(), delta, Double::sum);
+        return this;
+    }
+}
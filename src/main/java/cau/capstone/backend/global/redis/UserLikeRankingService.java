@@ -0,0 +1,153 @@
+package cau.capstone.backend.global.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.DefaultTuple;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+//유저가 받은 좋아요 합계 리더보드, 좋아요/좋아요 취소 시 함께 갱신된다
+//트랜잭션 안에서의 갱신은 커밋 후에 반영해 롤백된 좋아요가 순위에 남지 않도록 한다
+@Slf4j
+@Service
+public class UserLikeRankingService {
+
+    private static final String USER_LIKE_KEY = "user:like";
+    private static final String USER_LIKE_REBUILD_KEY = "user:like:rebuild";
+
+    //북 좋아요 + 북에 속한 페이지 좋아요를 북 주인 기준으로 합산, LikeCountReconciler 와 같은 기준
+    private static final String USER_LIKE_CHUNK_QUERY =
+            "SELECT u.user_id, " +
+            "(SELECT COUNT(*) FROM `like` l JOIN book b ON l.like_type = 'BOOK' AND l.target_id = b.book_id " +
+            "WHERE b.user_id = u.user_id) + " +
+            "(SELECT COUNT(*) FROM `like` l JOIN page p ON l.like_type = 'PAGE' AND l.target_id = p.page_id " +
+            "JOIN book b ON p.book_id = b.book_id WHERE b.user_id = u.user_id) AS total_like " +
+            "FROM `user` u WHERE u.user_id BETWEEN ? AND ?";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+
+    public UserLikeRankingService(RedisTemplate<String, String> redisTemplate,
+                                  JdbcTemplate jdbcTemplate,
+                                  @Value("${user.ranking.rebuild.chunk-size:1000}") int chunkSize) {
+        this.redisTemplate = redisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+
+    public void incrementUserLike(Long userId, int delta) {
+        afterCommit(() -> redisTemplate.opsForZSet().incrementScore(USER_LIKE_KEY, userId.toString(), delta));
+    }
+
+    public void removeUser(Long userId) {
+        afterCommit(() -> redisTemplate.opsForZSet().remove(USER_LIKE_KEY, userId.toString()));
+    }
+
+    //좋아요 수 상위 N명, 점수 내림차순
+    public Set<ZSetOperations.TypedTuple<String>> getTopUsers(int limit) {
+        //limit 0 은 ZREVRANGE 0 -1 이라 전체가 된다
+        if (limit < 1) {
+            return Collections.emptySet();
+        }
+        return getUsersInRange(0, limit - 1);
+    }
+
+    //0부터 시작하는 순위, 리더보드에 없으면 null
+    public Long getUserRank(Long userId) {
+        return redisTemplate.opsForZSet().reverseRank(USER_LIKE_KEY, userId.toString());
+    }
+
+    public Set<ZSetOperations.TypedTuple<String>> getUsersInRange(long start, long end) {
+        Set<ZSetOperations.TypedTuple<String>> users =
+                redisTemplate.opsForZSet().reverseRangeWithScores(USER_LIKE_KEY, start, end);
+        return users == null ? Collections.emptySet() : users;
+    }
+
+
+    //최초 기동 시 리더보드가 비어 있으면 DB 에서 채운다
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfAbsent() {
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(USER_LIKE_KEY))) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            //기동은 막지 않고 관리자 API 의 재구성으로 다시 채운다
+            log.warn("유저 좋아요 리더보드 기동 시 재구성 실패", e);
+        }
+    }
+
+    //like 테이블에서 유저 id 범위 단위로 합계를 다시 계산해 임시 키에 적재한 뒤 RENAME 으로 교체
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(user_id) FROM `user`", Long.class);
+        redisTemplate.delete(USER_LIKE_REBUILD_KEY);
+        if (maxId == null) {
+            redisTemplate.delete(USER_LIKE_KEY);
+            return 0;
+        }
+
+        int users = 0;
+        for (long from = 1; from <= maxId; from += chunkSize) {
+            Map<Long, Long> chunk = new HashMap<>();
+            jdbcTemplate.query(USER_LIKE_CHUNK_QUERY,
+                    rs -> { chunk.put(rs.getLong(1), rs.getLong(2)); },
+                    from, from + chunkSize - 1);
+            addChunk(chunk);
+            users += chunk.size();
+        }
+
+        if (users == 0) {
+            redisTemplate.delete(USER_LIKE_KEY);
+        } else {
+            redisTemplate.rename(USER_LIKE_REBUILD_KEY, USER_LIKE_KEY);
+        }
+
+        log.info("유저 좋아요 리더보드 재구성 완료 - users: {}, {}ms", users, System.currentTimeMillis() - start);
+        return users;
+    }
+
+    private void afterCommit(Runnable command) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            command.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    command.run();
+                } catch (RuntimeException e) {
+                    log.error("유저 좋아요 리더보드 반영 실패", e);
+                }
+            }
+        });
+    }
+
+    private void addChunk(Map<Long, Long> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        byte[] rawKey = USER_LIKE_REBUILD_KEY.getBytes(StandardCharsets.UTF_8);
+        Set<RedisZSetCommands.Tuple> tuples = new HashSet<>();
+        chunk.forEach((userId, totalLike) -> tuples.add(
+                new DefaultTuple(userId.toString().getBytes(StandardCharsets.UTF_8), totalLike.doubleValue())));
+
+        redisTemplate.execute((RedisCallback<Long>) connection -> connection.zSetCommands().zAdd(rawKey, tuples));
+    }
+}
@@ -0,0 +1,237 @@
+package cau.capstone.backend.global.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.ngram.NGramTokenFilter;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.search.similarities.BM25Similarity;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+//로컬 디렉터리에 색인을 두는 Lucene 검색 엔진
+//한국어는 형태소 분석 없이 1~2-gram 으로 색인하고, 검색어의 2-gram 이 모두 포함된 문서를 BM25 점수 순으로 반환
+//문서마다 색인한 세대를 두어, 재구성은 기존 문서를 그대로 둔 채 덮어쓰고 끝난 뒤 이전 세대만 지운다
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "search.engine", havingValue = "lucene", matchIfMissing = true)
+public class LuceneSearchEngine implements SearchEngine {
+
+    private static final String FIELD_KEY = "_key";
+    private static final String FIELD_TYPE = "_type";
+    private static final String FIELD_ID = "_id";
+    private static final String FIELD_GENERATION = "_gen";
+
+    //검색어에서 만들 수 있는 최대 gram 수, BooleanQuery 절 수 제한을 넘지 않도록
+    private static final int MAX_QUERY_GRAMS = 64;
+
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+    //재기동 후에도 이전 세대보다 커지도록 시각에서 시작
+    private final AtomicLong generation = new AtomicLong(System.currentTimeMillis());
+
+    public LuceneSearchEngine(@Value("${search.index.path:./search-index}") String indexPath) throws IOException {
+        IndexWriterConfig config = new IndexWriterConfig(new NGramAnalyzer())
+                .setSimilarity(new BM25Similarity())
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+
+        this.indexWriter = new IndexWriter(FSDirectory.open(Paths.get(indexPath)), config);
+        this.searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+
+    @Override
+    public void index(SearchDocument searchDocument) {
+        String key = key(searchDocument.getType(), searchDocument.getId());
+
+        Document document = new Document();
+        document.add(new StringField(FIELD_KEY, key, Field.Store.NO));
+        document.add(new StringField(FIELD_TYPE, searchDocument.getType().name(), Field.Store.NO));
+        document.add(new StoredField(FIELD_ID, searchDocument.getId()));
+        document.add(new LongPoint(FIELD_GENERATION, generation.get()));
+        searchDocument.getFields().forEach((name, value) -> document.add(new TextField(name, value, Field.Store.NO)));
+
+        try {
+            indexWriter.updateDocument(new Term(FIELD_KEY, key), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void delete(SearchDocumentType type, Long id) {
+        try {
+            indexWriter.deleteDocuments(new Term(FIELD_KEY, key(type, id)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public long startGeneration() {
+        return generation.updateAndGet(current -> Math.max(current + 1, System.currentTimeMillis()));
+    }
+
+    //세대 필드가 없는 (세대 도입 전에 색인된) 문서도 함께 지운다
+    @Override
+    public void deleteOlderThan(SearchDocumentType type, long generation) {
+        Query stale = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(FIELD_TYPE, type.name())), BooleanClause.Occur.FILTER)
+                .add(LongPoint.newRangeQuery(FIELD_GENERATION, generation, Long.MAX_VALUE), BooleanClause.Occur.MUST_NOT)
+                .build();
+        try {
+            indexWriter.deleteDocuments(stale);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public long count(SearchDocumentType type) {
+        try {
+            refresh();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return searcher.count(new TermQuery(new Term(FIELD_TYPE, type.name())));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public SearchHits search(SearchDocumentType type, String keyword, int offset, int limit) {
+        Query query = buildQuery(type, keyword);
+        if (query == null || limit <= 0) {
+            return SearchHits.empty();
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopScoreDocCollector collector = TopScoreDocCollector.create(offset + limit, Integer.MAX_VALUE);
+                searcher.search(query, collector);
+                TopDocs topDocs = collector.topDocs(offset, limit);
+
+                List<Long> ids = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    ids.add(searcher.doc(scoreDoc.doc).getField(FIELD_ID).numericValue().longValue());
+                }
+                return new SearchHits(ids, collector.getTotalHits());
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //필드별로 검색어 gram 이 모두 포함되어야 하고(LIKE '%kw%' 와 비슷한 재현율), 필드 중 하나만 맞으면 된다
+    private Query buildQuery(SearchDocumentType type, String keyword) {
+        List<String> grams = queryGrams(keyword);
+        if (grams.isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder fieldsQuery = new BooleanQuery.Builder().setMinimumNumberShouldMatch(1);
+        type.getFieldBoosts().forEach((field, boost) -> {
+            BooleanQuery.Builder fieldQuery = new BooleanQuery.Builder();
+            for (String gram : grams) {
+                fieldQuery.add(new TermQuery(new Term(field, gram)), BooleanClause.Occur.MUST);
+            }
+            fieldsQuery.add(new BoostQuery(fieldQuery.build(), boost), BooleanClause.Occur.SHOULD);
+        });
+
+        return new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(FIELD_TYPE, type.name())), BooleanClause.Occur.FILTER)
+                .add(fieldsQuery.build(), BooleanClause.Occur.MUST)
+                .build();
+    }
+
+    //색인과 같은 방식으로 공백 분리, 소문자화 후 한 글자 단어는 그대로, 나머지는 2-gram
+    static List<String> queryGrams(String keyword) {
+        if (keyword == null) {
+            return Collections.emptyList();
+        }
+
+        Set<String> grams = new LinkedHashSet<>();
+        for (String token : keyword.toLowerCase(Locale.ROOT).trim().split("\\s+")) {
+            int[] codePoints = token.codePoints().toArray();
+            if (codePoints.length == 1) {
+                grams.add(token);
+            }
+            for (int i = 0; i + 1 < codePoints.length; i++) {
+                grams.add(new String(codePoints, i, 2));
+            }
+        }
+
+        grams.remove("");
+        List<String> result = new ArrayList<>(grams);
+        return result.size() > MAX_QUERY_GRAMS ? result.subList(0, MAX_QUERY_GRAMS) : result;
+    }
+
+    private static String key(SearchDocumentType type, Long id) {
+        return type.name() + ":" + id;
+    }
+
+
+    @Scheduled(fixedDelayString = "${search.index.refresh-interval-ms:1000}")
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${search.index.commit-interval-ms:30000}")
+    public void commit() {
+        try {
+            if (indexWriter.hasUncommittedChanges()) {
+                indexWriter.commit();
+            }
+        } catch (IOException e) {
+            log.error("검색 색인 커밋 실패", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        commit();
+        searcherManager.close();
+        indexWriter.close();
+    }
+
+
+    //공백 분리 -> 소문자 -> 1~2-gram
+    static final class NGramAnalyzer extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new WhitespaceTokenizer();
+            TokenStream tokenStream = new LowerCaseFilter(tokenizer);
+            tokenStream = new NGramTokenFilter(tokenStream, 1, 2, false);
+            return new TokenStreamComponents(tokenizer, tokenStream);
+        }
+    }
+}
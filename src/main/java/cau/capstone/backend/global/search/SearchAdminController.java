@@ -0,0 +1,28 @@
+package cau.capstone.backend.global.search;
+
+import cau.capstone.backend.global.util.api.ApiResponse;
+import io.swagger.annotations.Api;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Api(tags = "5. Searching")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/admin/search")
+@ConditionalOnProperty(name = "search.engine", havingValue = "lucene", matchIfMissing = true)
+public class SearchAdminController {
+
+    private final SearchIndexer searchIndexer;
+
+
+    @Operation(summary = "페이지, 북, 유저 검색 색인을 DB 기준으로 재구성")
+    @PostMapping("/rebuild")
+    public ApiResponse<String> rebuildSearchIndex() {
+        searchIndexer.rebuild();
+        return ApiResponse.success("OK", "Rebuilt search index");
+    }
+}
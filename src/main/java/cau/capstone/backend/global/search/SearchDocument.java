@@ -0,0 +1,51 @@
+package cau.capstone.backend.global.search;
+
+import cau.capstone.backend.User.model.User;
+import cau.capstone.backend.page.model.Book;
+import cau.capstone.backend.page.model.Page;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+//검색 색인에 들어가는 문서, 필드 이름은 SearchDocumentType 의 필드와 같다
+@Getter
+public class SearchDocument {
+
+    private final SearchDocumentType type;
+    private final Long id;
+    private final Map<String, String> fields = new HashMap<>();
+
+    private SearchDocument(SearchDocumentType type, Long id) {
+        this.type = type;
+        this.id = id;
+    }
+
+
+    public static SearchDocument of(Page page) {
+        return new SearchDocument(SearchDocumentType.PAGE, page.getId())
+                .field("title", page.getTitle())
+                .field("content", page.getContent())
+                .field("hashtags", String.join(" ", page.getHashtagsTag()));
+    }
+
+    public static SearchDocument of(Book book) {
+        return new SearchDocument(SearchDocumentType.BOOK, book.getId())
+                .field("bookName", book.getBookName())
+                .field("hashtags", String.join(" ", book.getHashtagsString()));
+    }
+
+    public static SearchDocument of(User user) {
+        return new SearchDocument(SearchDocumentType.USER, user.getId())
+                .field("nickname", user.getNickname())
+                .field("name", user.getName())
+                .field("email", user.getEmail());
+    }
+
+    private SearchDocument field(String name, String value) {
+        if (value != null && !value.isEmpty()) {
+            fields.put(name, value);
+        }
+        return this;
+    }
+}
@@ -0,0 +1,29 @@
+package cau.capstone.backend.global.search;
+
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//검색 대상 종류와 종류별 검색 필드, 필드 가중치
+@Getter
+public enum SearchDocumentType {
+
+    PAGE(fields("title", 3f, "hashtags", 2f, "content", 1f)),
+    BOOK(fields("bookName", 3f, "hashtags", 2f)),
+    USER(fields("nickname", 3f, "name", 2f, "email", 1f));
+
+    private final Map<String, Float> fieldBoosts;
+
+    SearchDocumentType(Map<String, Float> fieldBoosts) {
+        this.fieldBoosts = fieldBoosts;
+    }
+
+    private static Map<String, Float> fields(Object... nameAndBoosts) {
+        Map<String, Float> fieldBoosts = new LinkedHashMap<>();
+        for (int i = 0; i < nameAndBoosts.length; i += 2) {
+            fieldBoosts.put((String) nameAndBoosts[i], (Float) nameAndBoosts[i + 1]);
+        }
+        return fieldBoosts;
+    }
+}
@@ -0,0 +1,23 @@
+package cau.capstone.backend.global.search;
+
+//검색 엔진 추상화, search.engine 설정으로 구현을 선택한다
+//구현이 등록되지 않으면 서비스는 기존 LIKE 쿼리로 검색한다
+public interface SearchEngine {
+
+    void index(SearchDocument document);
+
+    void delete(SearchDocumentType type, Long id);
+
+    //재구성 시작, 이후 색인되는 문서는 반환한 세대 이상으로 표시된다
+    long startGeneration();
+
+    //재구성 중 다시 색인되지 않은(세대가 generation 보다 오래된) 문서를 지운다
+    void deleteOlderThan(SearchDocumentType type, long generation);
+
+    long count(SearchDocumentType type);
+
+    SearchHits search(SearchDocumentType type, String keyword, int offset, int limit);
+
+    //색인 변경 사항을 저장소에 반영
+    void commit();
+}
@@ -0,0 +1,20 @@
+package cau.capstone.backend.global.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+//검색 결과, 점수 순으로 정렬된 id 와 전체 결과 수
+@Getter
+@AllArgsConstructor
+public class SearchHits {
+
+    private final List<Long> ids;
+    private final long totalHits;
+
+    public static SearchHits empty() {
+        return new SearchHits(Collections.emptyList(), 0);
+    }
+}
@@ -0,0 +1,24 @@
+package cau.capstone.backend.global.search;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//페이지, 북, 유저의 생성/수정/삭제 시 발행, 트랜잭션 커밋 이후 SearchIndexer 가 색인에 반영
+//페이지 이벤트는 RecentPageWindow 도 받아 최근 페이지 창을 갱신하고, SpeechCache 는 해당 페이지 음성을 지운다
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class SearchIndexEvent {
+
+    private final SearchDocumentType type;
+    private final Long id;
+    private final boolean deleted;
+
+    public static SearchIndexEvent upsert(SearchDocumentType type, Long id) {
+        return new SearchIndexEvent(type, id, false);
+    }
+
+    public static SearchIndexEvent delete(SearchDocumentType type, Long id) {
+        return new SearchIndexEvent(type, id, true);
+    }
+}
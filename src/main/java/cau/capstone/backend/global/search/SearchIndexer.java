@@ -0,0 +1,171 @@
+package cau.capstone.backend.global.search;
+
+import cau.capstone.backend.User.model.repository.UserRepository;
+import cau.capstone.backend.page.model.repository.BookRepository;
+import cau.capstone.backend.page.model.repository.PageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+//SearchIndexEvent 를 받아 검색 색인을 갱신하고, DB 에서 색인 전체를 다시 만든다
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "search.engine", havingValue = "lucene", matchIfMissing = true)
+public class SearchIndexer {
+
+    private final SearchEngine searchEngine;
+    private final PageRepository pageRepository;
+    private final BookRepository bookRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+
+    public SearchIndexer(SearchEngine searchEngine,
+                         PageRepository pageRepository,
+                         BookRepository bookRepository,
+                         UserRepository userRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${search.rebuild.chunk-size:500}") int chunkSize) {
+        this.searchEngine = searchEngine;
+        this.pageRepository = pageRepository;
+        this.bookRepository = bookRepository;
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        //커밋 직후 리스너에서도 새 트랜잭션으로 읽도록
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+    }
+
+
+    //커밋된 변경만 색인, 트랜잭션 밖에서 발행된 이벤트는 즉시 반영
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIndexEvent(SearchIndexEvent event) {
+        try {
+            if (event.isDeleted()) {
+                searchEngine.delete(event.getType(), event.getId());
+                return;
+            }
+
+            SearchDocument document = readOnlyTransaction.execute(status -> load(event.getType(), event.getId()));
+            if (document == null) {
+                searchEngine.delete(event.getType(), event.getId());
+            } else {
+                searchEngine.index(document);
+            }
+        } catch (RuntimeException e) {
+            log.error("검색 색인 반영 실패 - {} {}", event.getType(), event.getId(), e);
+        }
+    }
+
+    private SearchDocument load(SearchDocumentType type, Long id) {
+        List<Long> ids = Collections.singletonList(id);
+        switch (type) {
+            case PAGE:
+                return pageRepository.findAllWithDetailsByIdIn(ids).stream().findFirst().map(SearchDocument::of).orElse(null);
+            case BOOK:
+                return bookRepository.findAllWithDetailsByIdIn(ids).stream().findFirst().map(SearchDocument::of).orElse(null);
+            case USER:
+                return userRepository.findById(id).map(SearchDocument::of).orElse(null);
+            default:
+                return null;
+        }
+    }
+
+
+    //최초 기동 시 색인이 비어 있으면 DB 에서 만든다, 실패해도 기동은 막지 않고 관리자 API 로 다시 만든다
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        for (SearchDocumentType type : SearchDocumentType.values()) {
+            try {
+                if (searchEngine.count(type) == 0) {
+                    rebuild(type);
+                }
+            } catch (RuntimeException e) {
+                log.error("검색 색인 재구성 실패 - {}", type, e);
+            }
+        }
+    }
+
+    public void rebuild() {
+        for (SearchDocumentType type : SearchDocumentType.values()) {
+            rebuild(type);
+        }
+    }
+
+    //id 순으로 chunkSize 씩 읽어 색인, 청크마다 별도의 읽기 트랜잭션을 써서 영속성 컨텍스트가 커지지 않게 한다
+    //OFFSET 대신 마지막 id 다음부터 읽어, 재구성 중에 행이 지워져도 건너뛰는 문서가 없다
+    //기존 문서는 덮어쓰기만 하고 모두 다시 색인한 뒤 남은 이전 세대(DB 에서 사라진 문서)를 지우므로 재구성 중에도 검색 결과가 비지 않는다
+    public long rebuild(SearchDocumentType type) {
+        long start = System.currentTimeMillis();
+        long generation = searchEngine.startGeneration();
+
+        long indexed = 0;
+        long lastId = 0;
+        while (true) {
+            long after = lastId;
+            List<Long> ids = readOnlyTransaction.execute(status -> findIdsAfter(type, after));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            Integer count = readOnlyTransaction.execute(status -> indexChunk(type, ids));
+            indexed += count == null ? 0 : count;
+            if (ids.size() < chunkSize) {
+                break;
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+
+        searchEngine.deleteOlderThan(type, generation);
+        searchEngine.commit();
+        log.info("검색 색인 재구성 완료 - {}: {}, {}ms", type, indexed, System.currentTimeMillis() - start);
+        return indexed;
+    }
+
+    private List<Long> findIdsAfter(SearchDocumentType type, long lastId) {
+        PageRequest limit = PageRequest.of(0, chunkSize);
+        switch (type) {
+            case PAGE:
+                return pageRepository.findIdsAfter(lastId, limit);
+            case BOOK:
+                return bookRepository.findIdsAfter(lastId, limit);
+            case USER:
+                return userRepository.findIdsAfter(lastId, limit);
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    //그 사이 지워진 행은 결과에서 빠지고, 재구성이 끝나면 이전 세대로 남아 색인에서도 지워진다
+    private int indexChunk(SearchDocumentType type, List<Long> ids) {
+        switch (type) {
+            case PAGE:
+                return indexAll(pageRepository.findAllWithDetailsByIdIn(ids), SearchDocument::of);
+            case BOOK:
+                return indexAll(bookRepository.findAllWithDetailsByIdIn(ids), SearchDocument::of);
+            case USER:
+                return indexAll(userRepository.findAllById(ids), SearchDocument::of);
+            default:
+                return 0;
+        }
+    }
+
+    private <T> int indexAll(List<T> entities, Function<T, SearchDocument> toDocument) {
+        for (T entity : entities) {
+            searchEngine.index(toDocument.apply(entity));
+        }
+        return entities.size();
+    }
+}
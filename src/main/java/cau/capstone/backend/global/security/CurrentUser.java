@@ -0,0 +1,79 @@
+package cau.capstone.backend.global.security;
+
+import cau.capstone.backend.User.model.User;
+import cau.capstone.backend.User.model.repository.UserRepository;
+import cau.capstone.backend.global.security.Entity.JwtTokenProvider;
+import cau.capstone.backend.global.util.TtlCache;
+import cau.capstone.backend.global.util.api.ResponseCode;
+import cau.capstone.backend.global.util.exception.UserException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+//요청한 유저의 id, 토큰의 uid claim 에서 바로 꺼내 DB 조회가 없다
+//uid 가 없는 이전 토큰만 이메일로 id 를 찾고, 결과는 잠깐 캐시
+@Component
+public class CurrentUser {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final UserRepository userRepository;
+    private final TtlCache<String, Long> idsByEmail;
+
+    public CurrentUser(JwtTokenProvider jwtTokenProvider,
+                       UserRepository userRepository,
+                       @Value("${user.id-cache.ttl-ms:600000}") long ttlMillis,
+                       @Value("${user.id-cache.max-size:10000}") int maxSize) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.userRepository = userRepository;
+        this.idsByEmail = new TtlCache<>(ttlMillis, maxSize);
+    }
+
+
+    //헤더로 받은 access token 의 유저 id
+    public Long getId(String accessToken) {
+        Long userId = jwtTokenProvider.getUserId(accessToken);
+        return userId != null ? userId : getIdByEmail(jwtTokenProvider.getUserEmail(accessToken));
+    }
+
+    //JwtAuthFilter 가 SecurityContext 에 저장한 유저 id
+    public Long getId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication.getName() == null) {
+            throw new UserException(ResponseCode.USER_NOT_FOUND);
+        }
+        if (authentication.getPrincipal() instanceof LoginUser) {
+            Long userId = ((LoginUser) authentication.getPrincipal()).getId();
+            if (userId != null) {
+                return userId;
+            }
+        }
+        return getIdByEmail(authentication.getName());
+    }
+
+    public Long getIdByEmail(String email) {
+        Long userId = idsByEmail.get(email, key -> userRepository.findIdByEmail(key).orElse(null));
+        if (userId == null) {
+            throw new UserException(ResponseCode.USER_NOT_FOUND);
+        }
+        return userId;
+    }
+
+    //토큰의 id 만 믿고 저장하면 삭제된 유저는 FK 오류가 나므로 먼저 확인
+    public void checkExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserException(ResponseCode.USER_NOT_FOUND);
+        }
+    }
+
+    //삭제된 유저의 토큰이면 FK 오류 대신 USER_NOT_FOUND, 엔티티는 읽지 않는다
+    public User getReference(Long userId) {
+        checkExists(userId);
+        return userRepository.getReferenceById(userId);
+    }
+
+    //유저 삭제나 이메일 변경 시 호출
+    public void evict(String email) {
+        idsByEmail.invalidate(email);
+    }
+}
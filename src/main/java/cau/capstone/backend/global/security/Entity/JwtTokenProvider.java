@@ -2,7 +2,9 @@ package cau.capstone.backend.global.security.Entity;
 
 
 
+import cau.capstone.backend.global.security.LoginUser;
 import cau.capstone.backend.global.security.dto.TokenDto;
+import cau.capstone.backend.global.util.TtlCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -14,14 +16,18 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -35,9 +41,18 @@ public class JwtTokenProvider {
     @Value("${jwt.secret.key}")
     private String secretKey;
 
+    //서명 검증에 쓰는 파서, 생성 후에는 상태가 바뀌지 않아 여러 스레드가 함께 사용
+    private JwtParser parser;
+
+    //검증을 마친 토큰, 토큰의 SHA-256 해시를 키로 만료 시각까지 보관해 요청마다 서명 검증은 최대 한 번
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private int claimsCacheMaxSize = 10000;
+    private TtlCache<String, VerifiedToken> verifiedTokens;
+
 
     // 만료시간 : 1Hour
     private static final String AUTHORITIES_KEY = "auth";
+    private static final String USER_ID_KEY = "uid";
     private static final String BEARER_TYPE = "bearer";
     private static final long ACCESS_TOKEN_EXPIRE_TIME = 1000 * 60 * 60 ;
 
@@ -48,6 +63,8 @@ public class JwtTokenProvider {
     protected void init() {
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = new TtlCache<>(REFRESH_TOKEN_EXPIRE_TIME, claimsCacheMaxSize);
     }
 
 
@@ -64,6 +81,11 @@ public class JwtTokenProvider {
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.joining(","));
 
+        // 유저 id, 요청마다 이메일로 유저를 다시 찾지 않도록 토큰에 함께 넣는다
+        Long userId = authentication.getPrincipal() instanceof LoginUser
+                ? ((LoginUser) authentication.getPrincipal()).getId()
+                : null;
+
         long now = (new Date()).getTime();
 
         // Access Token 생성
@@ -71,6 +93,7 @@ public class JwtTokenProvider {
         String accessToken = Jwts.builder()
                 .setSubject(authentication.getName())       // payload "sub": "name"
                 .claim(AUTHORITIES_KEY, authorities)        // payload "auth": "ROLE_USER"
+                .claim(USER_ID_KEY, userId)                 // payload "uid": 1, null 이면 생략
                 .setExpiration(accessTokenExpiresIn)        // payload "exp": 1516239022 (예시)
                 .signWith(key, SignatureAlgorithm.HS512)    // header "alg": "HS512"
                 .compact();
@@ -78,6 +101,7 @@ public class JwtTokenProvider {
         // Refresh Token 생성
         String refreshToken = Jwts.builder()
                 .setSubject(authentication.getName())       // 여기에 유저 이름을 포함시킴
+                .claim(USER_ID_KEY, userId)
                 .setExpiration(new Date(now + REFRESH_TOKEN_EXPIRE_TIME))
                 .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
@@ -93,21 +117,14 @@ public class JwtTokenProvider {
 
     // 토큰에서 Authentication 객체 가져오기
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
-        Collection<? extends GrantedAuthority> authorities =
-                Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
-
-        User principal = new User(claims.getSubject(), "", authorities);
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        return verify(token).getAuthentication(token);
     }
 
 
     // 토큰 검증
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            verify(token);
             return true;
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("잘못된 JWT 서명입니다.");
@@ -123,12 +140,41 @@ public class JwtTokenProvider {
 
     private Claims parseClaims(String accessToken) {
         try {
-            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(accessToken).getBody();
+            return verify(accessToken).claims;
         } catch (ExpiredJwtException e) {
             return e.getClaims();
         }
     }
 
+    //캐시에 없으면 서명과 만료를 검증하고, 통과한 토큰만 만료 시각까지 캐시
+    //검증에 실패하면 jjwt 예외를 그대로 던진다
+    private VerifiedToken verify(String token) {
+        String hash = hash(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(hash);
+        if (verified != null) {
+            return verified;
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        verified = new VerifiedToken(claims);
+        long ttlMillis = claims.getExpiration() == null
+                ? ACCESS_TOKEN_EXPIRE_TIME
+                : claims.getExpiration().getTime() - System.currentTimeMillis();
+        if (ttlMillis > 0) {
+            verifiedTokens.put(hash, verified, ttlMillis);
+        }
+        return verified;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
 
 //
 //
@@ -139,12 +185,16 @@ public class JwtTokenProvider {
 //    }
 
     public String getUserEmail(String token) {
-        return Jwts.parser().setSigningKey(key).parseClaimsJws(token).getBody().getSubject();
+        return verify(token).claims.getSubject();
+    }
+
+    //uid claim 이 없는 이전 토큰이면 null
+    public Long getUserId(String token) {
+        return verify(token).userId;
     }
 
     public String getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
-        return claims.getSubject();
+        return verify(token).claims.getSubject();
     }
 
     public String getUserEmail() {
@@ -170,4 +220,28 @@ public class JwtTokenProvider {
 //        return Long.parseLong(Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody().getSubject());
 //    }
 
+
+    //검증된 토큰의 claims 와 유저 id, 권한, 토큰마다 한 번만 파싱
+    private static final class VerifiedToken {
+        private final Claims claims;
+        private final Long userId;
+        private final Collection<? extends GrantedAuthority> authorities;
+
+        private VerifiedToken(Claims claims) {
+            this.claims = claims;
+            Object uid = claims.get(USER_ID_KEY);
+            this.userId = uid instanceof Number ? Long.valueOf(((Number) uid).longValue()) : null;
+            Object auth = claims.get(AUTHORITIES_KEY);
+            this.authorities = auth == null ? Collections.emptyList() : Arrays.stream(auth.toString().split(","))
+                    .filter(authority -> !authority.isEmpty())
+                    .map(SimpleGrantedAuthority::new)
+                    .collect(Collectors.toList());
+        }
+
+        //credentials 에는 요청에 사용된 토큰을 그대로 둔다
+        private Authentication getAuthentication(String token) {
+            LoginUser principal = new LoginUser(userId, claims.getSubject(), "", authorities);
+            return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        }
+    }
 }
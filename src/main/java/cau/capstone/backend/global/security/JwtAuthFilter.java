@@ -42,6 +42,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         // 2. validateToken 으로 토큰 유효성 검사
         // 정상 토큰이면 해당 토큰으로 Authentication 을 가져와서 SecurityContext 에 저장
+        // 검증 결과는 JwtTokenProvider 에 캐시되므로 getAuthentication 과 이후의 getUserEmail 은 서명을 다시 검증하지 않음
         if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
             Authentication authentication = jwtTokenProvider.getAuthentication(jwt);
             SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -0,0 +1,24 @@
+package cau.capstone.backend.global.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+//SecurityContext 의 principal, 토큰의 uid claim 으로 만든 유저 id 를 함께 들고 있다
+//uid 가 없는 이전 토큰이면 id 는 null
+public class LoginUser extends User {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    public LoginUser(Long id, String username, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -1,5 +1,6 @@
 package cau.capstone.backend.global.security.controller;
 
+import cau.capstone.backend.global.security.CurrentUser;
 import cau.capstone.backend.global.security.Entity.JwtTokenProvider;
 import cau.capstone.backend.global.security.dto.*;
 import cau.capstone.backend.global.security.service.AuthService;
@@ -23,6 +24,7 @@ public class AuthController {
     private final UserService userService;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthService authService;
+    private final CurrentUser currentUser;
 
 
     @PostMapping("/signup")
@@ -53,14 +55,12 @@ public class AuthController {
 
     @PatchMapping("/voice_permission")
     public ApiResponse<String> voicePermission(@RequestParam("permit") boolean permit) {
-        var email = jwtTokenProvider.getUserEmail();
-        authService.updateVoicePermission(email, permit);
+        authService.updateVoicePermission(currentUser.getId(), permit);
         return ApiResponse.success("success", ResponseCode.VOICE_PERMISSION_UPDATE_SUCCESS.getMessage());
     }
 
     @GetMapping("/voice_permission")
     public ApiResponse<Boolean> getVoicePermission() {
-        var email = jwtTokenProvider.getUserEmail();
-        return ApiResponse.success(authService.getVoicePermission(email), ResponseCode.VOICE_PERMISSION_GET_SUCCESS.getMessage());
+        return ApiResponse.success(authService.getVoicePermission(currentUser.getId()), ResponseCode.VOICE_PERMISSION_GET_SUCCESS.getMessage());
     }
 }
\ No newline at end of file
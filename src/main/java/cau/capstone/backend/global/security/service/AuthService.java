@@ -6,11 +6,14 @@ import cau.capstone.backend.User.model.User;
 import cau.capstone.backend.User.model.repository.UserRepository;
 import cau.capstone.backend.global.security.Entity.JwtTokenProvider;
 import cau.capstone.backend.global.security.Entity.RefreshToken;
+import cau.capstone.backend.global.search.SearchDocumentType;
+import cau.capstone.backend.global.search.SearchIndexEvent;
 import cau.capstone.backend.global.security.dto.*;
 import cau.capstone.backend.global.security.repository.RefreshTokenRepository;
 import cau.capstone.backend.global.util.api.ResponseCode;
 import cau.capstone.backend.global.util.exception.UserException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.core.Authentication;
@@ -30,6 +33,7 @@ public class AuthService {
     private final RefreshTokenRepository refreshTokenRepository;
 
     private final CustomUserDetailsService customUserDetailsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ResponseUserDto signUp (CreateUserDto createUserDto) {
@@ -38,7 +42,10 @@ public class AuthService {
         }
         User user = createUserDto.toUser(passwordEncoder);
 
-        return ResponseUserDto.of(userRepository.save(user));
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(SearchIndexEvent.upsert(SearchDocumentType.USER, savedUser.getId()));
+
+        return ResponseUserDto.of(savedUser);
 
     }
 
@@ -104,15 +111,15 @@ public class AuthService {
     }
 
     @Transactional
-    public void updateVoicePermission(String email, boolean permit){
-        User user = userRepository.findByEmail(email)
+    public void updateVoicePermission(Long userId, boolean permit){
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND));
         user.setVoiceUsePermissionFlag(permit);
         userRepository.save(user);
     }
 
-    public Boolean getVoicePermission(String email) {
-        User user = userRepository.findByEmail(email)
+    public Boolean getVoicePermission(Long userId) {
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND));
         return user.getVoiceUsePermissionFlag();
     }
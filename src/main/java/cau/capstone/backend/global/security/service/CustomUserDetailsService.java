@@ -3,6 +3,7 @@ package cau.capstone.backend.global.security.service;
 import cau.capstone.backend.User.model.User;
 import cau.capstone.backend.User.model.repository.UserRepository;
 import cau.capstone.backend.global.Authority;
+import cau.capstone.backend.global.security.LoginUser;
 import cau.capstone.backend.global.util.api.ResponseCode;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
@@ -44,7 +45,9 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .map(authority -> new SimpleGrantedAuthority(authority.getAuthority()))
                 .collect(Collectors.toSet());
 
-        return new org.springframework.security.core.userdetails.User(
+        //토큰 발급 시 uid claim 으로 넣을 수 있도록 id 를 함께 전달
+        return new LoginUser(
+                user.getId(),
                 user.getUsername(), // ID 대신 사용자 이름을 사용하거나 적절한 필드 사용
                 user.getPassword(),
                 grantedAuthorities
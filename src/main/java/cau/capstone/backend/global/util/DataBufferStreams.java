@@ -0,0 +1,34 @@
+package cau.capstone.backend.global.util;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+//Flux<DataBuffer> 를 OutputStream 으로 복사, 한 번에 prefetch 개 조각만 메모리에 둔다
+//쓰기가 느리면 그만큼 덜 요청하고, 쓰기에 실패하면(클라이언트 종료 등) 구독을 취소
+public final class DataBufferStreams {
+
+    private DataBufferStreams() {
+    }
+
+
+    public static long copy(Flux<DataBuffer> body, OutputStream out, int prefetch) throws IOException {
+        long written = 0;
+        try (Stream<DataBuffer> buffers = body.toStream(prefetch)) {
+            Iterator<DataBuffer> iterator = buffers.iterator();
+            while (iterator.hasNext()) {
+                //읽고 나면 close 에서 버퍼를 반납
+                try (InputStream in = iterator.next().asInputStream(true)) {
+                    written += in.transferTo(out);
+                }
+            }
+        }
+        out.flush();
+        return written;
+    }
+}
@@ -0,0 +1,65 @@
+package cau.capstone.backend.global.util;
+
+import cau.capstone.backend.global.util.api.ResponseCode;
+import cau.capstone.backend.global.util.exception.PageException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+//(createdAt, id) 키셋 페이지네이션 커서, 클라이언트에는 불투명한 문자열로만 노출
+//createdAt 내림차순, 같은 시각이면 id 내림차순으로 커서보다 뒤의 행을 조회한다
+@Getter
+@RequiredArgsConstructor
+public class FeedCursor {
+
+    private static final int MAX_SIZE = 100;
+
+    //첫 페이지는 모든 행보다 앞선 커서로 조회, MySQL DATETIME 범위 안의 값
+    private static final FeedCursor FIRST = new FeedCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+
+    //커서 조회용 projection, 조회 결과의 마지막 행으로 다음 커서를 만든다
+    public interface Key {
+        Long getId();
+        LocalDateTime getCreatedAt();
+    }
+
+    public static FeedCursor first() {
+        return FIRST;
+    }
+
+    public static FeedCursor of(Key key) {
+        return new FeedCursor(key.getCreatedAt(), key.getId());
+    }
+
+    //한 번에 조회할 행 수, 1 ~ MAX_SIZE
+    public static int limit(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    //빈 값이면 첫 페이지
+    public static FeedCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return FIRST;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('_');
+            return new FeedCursor(LocalDateTime.parse(decoded.substring(0, separator)), Long.valueOf(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new PageException(ResponseCode.INVALID_CURSOR);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,63 @@
+package cau.capstone.backend.global.util;
+
+import java.util.Locale;
+
+//한글 음절을 호환 자모 나열로 풀어 쓰기, 입력 중인 글자도 접두어로 비교할 수 있게 한다
+//예) "닭" -> "ㄷㅏㄹㄱ" 이므로 "달", "다", "ㄷ" 모두 접두어가 된다
+//겹받침(ㄺ)과 겹모음(ㅘ)은 두 글자로 나누고, 쌍자음(ㄲ)과 ㅐ, ㅔ 는 자판에서 한 번에 입력하므로 그대로 둔다
+public final class HangulJamo {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+    private static final int JUNG_COUNT = 21;
+    private static final int JONG_COUNT = 28;
+
+    private static final String[] CHO = {
+            "ㄱ", "ㄲ", "ㄴ", "ㄷ", "ㄸ", "ㄹ", "ㅁ", "ㅂ", "ㅃ", "ㅅ",
+            "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+
+    private static final String[] JUNG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ",
+            "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ",
+            "ㅣ"};
+
+    private static final String[] JONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ",
+            "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ",
+            "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+
+    //단독으로 입력된 겹자모
+    private static final String COMPOUND_JAMO = "ㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄㅘㅙㅚㅝㅞㅟㅢ";
+    private static final String[] COMPOUND_SPLIT = {
+            "ㄱㅅ", "ㄴㅈ", "ㄴㅎ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅂㅅ",
+            "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅡㅣ"};
+
+    private HangulJamo() {
+    }
+
+
+    //한글이 아닌 문자는 소문자로만 바꿔 그대로 둔다
+    public static String decompose(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder builder = new StringBuilder(lower.length() * 3);
+
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                int index = c - SYLLABLE_BASE;
+                builder.append(CHO[index / (JUNG_COUNT * JONG_COUNT)])
+                        .append(JUNG[index % (JUNG_COUNT * JONG_COUNT) / JONG_COUNT])
+                        .append(JONG[index % JONG_COUNT]);
+                continue;
+            }
+
+            int compound = COMPOUND_JAMO.indexOf(c);
+            if (compound >= 0) {
+                builder.append(COMPOUND_SPLIT[compound]);
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+}
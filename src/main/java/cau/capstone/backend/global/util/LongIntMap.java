@@ -0,0 +1,131 @@
+package cau.capstone.backend.global.util;
+
+import java.util.Arrays;
+
+//long -> int 오픈 어드레싱 해시맵, 키와 값을 박싱 없이 배열에 저장
+//삭제는 지원하지 않고 값을 0 이하로 내린 뒤 compact 로 정리한다, Long.MIN_VALUE 는 빈 칸 표시라 키로 쓸 수 없음
+//동기화하지 않으므로 호출하는 쪽에서 잠금을 관리
+public class LongIntMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 4;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+
+    @FunctionalInterface
+    public interface Consumer {
+        void accept(long key, int value);
+    }
+
+    public LongIntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongIntMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public int get(long key) {
+        int slot = find(key);
+        return keys[slot] == EMPTY ? 0 : values[slot];
+    }
+
+    //키가 없으면 0 에서 시작, 갱신된 값을 반환
+    public int addTo(long key, int delta) {
+        int slot = find(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            values[slot] = delta;
+            if (++size * 2 > keys.length) {
+                rehash(keys.length * 2);
+            }
+            return delta;
+        }
+        return values[slot] += delta;
+    }
+
+    //0 이하 값을 포함한 저장된 항목 수
+    public int size() {
+        return size;
+    }
+
+    public void forEach(Consumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    //값이 양수인 항목만 남기고 배열을 남은 항목 수에 맞게 줄인다
+    public void compact() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+
+        int live = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY && oldValues[i] > 0) {
+                live++;
+            }
+        }
+
+        allocate(capacityFor(live));
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY && oldValues[i] > 0) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void insert(long key, int value) {
+        int slot = find(key);
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    //키가 있는 칸 또는 키가 들어갈 빈 칸, 적재율을 1/2 이하로 유지하므로 빈 칸이 항상 있다
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new int[capacity];
+        size = 0;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
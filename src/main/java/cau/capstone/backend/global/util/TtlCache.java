@@ -0,0 +1,125 @@
+package cau.capstone.backend.global.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+
+//만료 시간이 있는 간단한 메모리 캐시
+//최대 크기에 도달하면 만료된 항목을 먼저 정리하고, 그래도 가득 차 있으면 가장 오래 쓰이지 않은 항목부터 뺀다
+public class TtlCache<K, V> {
+
+    //접근 순서로 정렬, entries 로 동기화
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long ttlMillis;
+    private final int maxSize;
+
+    //이 시각 전에는 만료될 항목이 없으므로 정리를 건너뛴다, entries 로 동기화
+    private long nextExpiryAt = Long.MAX_VALUE;
+
+    public TtlCache(long ttlMillis, int maxSize) {
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+
+    //캐시에 없거나 만료되었으면 loader 로 불러와 저장, loader 결과가 null 이면 저장하지 않는다
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+
+        value = loader.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    public V getIfPresent(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired(System.currentTimeMillis())) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    public void put(K key, V value) {
+        put(key, value, ttlMillis);
+    }
+
+    //항목마다 만료 시간이 다를 때 사용, 캐시의 ttl 보다 길게 두지는 않는다
+    public void put(K key, V value, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        Entry<V> entry = new Entry<>(value, now + Math.min(ttlMillis, this.ttlMillis));
+        synchronized (entries) {
+            if (entries.size() >= maxSize && !entries.containsKey(key)) {
+                evict(now);
+            }
+            entries.put(key, entry);
+            nextExpiryAt = Math.min(nextExpiryAt, entry.expiresAt);
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            nextExpiryAt = Long.MAX_VALUE;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    //만료된 항목을 모두 정리하고, 그래도 가득 차 있으면 접근 순서상 가장 앞의 항목을 뺀다
+    private void evict(long now) {
+        if (now >= nextExpiryAt) {
+            long earliest = Long.MAX_VALUE;
+            for (Iterator<Entry<V>> it = entries.values().iterator(); it.hasNext(); ) {
+                Entry<V> entry = it.next();
+                if (entry.isExpired(now)) {
+                    it.remove();
+                } else {
+                    earliest = Math.min(earliest, entry.expiresAt);
+                }
+            }
+            nextExpiryAt = earliest;
+        }
+
+        Iterator<K> eldest = entries.keySet().iterator();
+        while (entries.size() >= maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
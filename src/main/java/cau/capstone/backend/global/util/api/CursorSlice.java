@@ -0,0 +1,32 @@
+package cau.capstone.backend.global.util.api;
+
+import cau.capstone.backend.global.util.FeedCursor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//커서 기반 목록 응답, 전체 개수 대신 다음 페이지 커서를 제공
+//nextCursor 가 null 이면 마지막 페이지
+@Getter
+@AllArgsConstructor
+public class CursorSlice<T> {
+
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+
+
+    //limit + 1 개를 조회한 키 목록으로 다음 페이지 여부와 커서를 정하고, 앞의 limit 개 id 만 loader 로 채운다
+    public static <T> CursorSlice<T> of(List<? extends FeedCursor.Key> keys, int limit, Function<List<Long>, List<T>> loader) {
+        boolean hasNext = keys.size() > limit;
+        List<? extends FeedCursor.Key> pageKeys = hasNext ? keys.subList(0, limit) : keys;
+
+        List<Long> ids = pageKeys.stream().map(FeedCursor.Key::getId).collect(Collectors.toList());
+        String nextCursor = hasNext ? FeedCursor.of(pageKeys.get(pageKeys.size() - 1)).encode() : null;
+
+        return new CursorSlice<>(loader.apply(ids), nextCursor, hasNext);
+    }
+}
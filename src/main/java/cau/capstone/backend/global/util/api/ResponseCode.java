@@ -12,6 +12,8 @@ public enum ResponseCode {
 
     // 400 Bad Request
     BAD_REQUEST(HttpStatus.BAD_REQUEST, false, "잘못된 요청입니다."),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, false, "잘못된 커서입니다."),
+    INVALID_RANKING_RANGE(HttpStatus.BAD_REQUEST, false, "잘못된 순위 조회 범위입니다."),
 
     // 401 Unauthorized
     TOKEN_VALIDATION_FAILURE(HttpStatus.UNAUTHORIZED, false, "토큰 검증 실패"),
@@ -122,6 +124,7 @@ public enum ResponseCode {
     VOICE_PERMISSION_GET_SUCCESS(HttpStatus.OK, true, "음성 사용 권한 조회 성공"),
 
     VOICE_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, false, "음성 서버 오류"),
+    VOICE_SERVER_BUSY(HttpStatus.SERVICE_UNAVAILABLE, false, "음성 서버 요청이 많습니다. 잠시 후 다시 시도해주세요."),
     ;
 
     private final HttpStatus httpStatus;
@@ -4,6 +4,7 @@ import cau.capstone.backend.global.util.api.ApiResponse;
 import cau.capstone.backend.global.util.api.ResponseCode;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -28,6 +29,14 @@ public class GlobalExceptionHandler {
         return ApiResponse.fail(e.getResponseCode(), null);
     }
 
+    //음성 응답은 본문이 wav 라 실패는 HTTP 상태로도 알린다, VOICE_SERVER_BUSY 는 잠시 후 재시도할 수 있는 503
+    @ExceptionHandler(VoiceServerException.class)
+    public ResponseEntity<ApiResponse<Void>> handleVoiceServerException(VoiceServerException e) {
+        log.info("VoiceServerException: {}", e.getMessage());
+        return ResponseEntity.status(e.getResponseCode().getHttpStatus())
+                .body(ApiResponse.fail(e.getResponseCode(), null));
+    }
+
 
     @ExceptionHandler(MethodArgumentNotValidException.class) // 요청의 유효성 검사 실패 시
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -3,6 +3,7 @@ package cau.capstone.backend.page.controller;
 
 import cau.capstone.backend.global.security.Entity.JwtTokenProvider;
 import cau.capstone.backend.global.util.api.ApiResponse;
+import cau.capstone.backend.global.util.api.CursorSlice;
 import cau.capstone.backend.global.util.api.ResponseCode;
 import cau.capstone.backend.page.dto.request.AddPageToBookDto;
 import cau.capstone.backend.page.dto.request.CreateBookDto;
@@ -118,6 +119,23 @@ public class BookController {
         return ResponseEntity.ok(result);
     }
 
+    @Operation(summary = "전체 북의 리스트를 커서 기반으로 반환, 다음 요청에는 응답의 nextCursor 를 전달")
+    @GetMapping("/allbooks/cursor")
+    public ResponseEntity<CursorSlice<ResponseBookDto>> getAllBooksByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size) {
+        return ResponseEntity.ok(bookService.findBooksByCursor(cursor, size));
+    }
+
+    @Operation(summary = "카테고리별 북의 리스트를 커서 기반으로 반환")
+    @GetMapping("/allbooks/category/cursor")
+    public ResponseEntity<CursorSlice<ResponseBookDto>> getAllBooksByCategoryAndCursor(
+            @RequestParam(value = "category") String categoryCode,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size) {
+        return ResponseEntity.ok(bookService.findBooksByCategoryAndCursor(Category.getByCode(categoryCode.toUpperCase(Locale.ROOT)), cursor, size));
+    }
+
 
     @Operation(summary = "북의 카테고리 리스트 반환")
     @GetMapping("/categories")
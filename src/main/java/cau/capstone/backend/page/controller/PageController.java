@@ -1,14 +1,15 @@
 package cau.capstone.backend.page.controller;
 
 
-import cau.capstone.backend.User.model.repository.UserRepository;
-import cau.capstone.backend.global.security.Entity.JwtTokenProvider;
-import cau.capstone.backend.global.util.exception.UserException;
+import cau.capstone.backend.global.security.CurrentUser;
+import cau.capstone.backend.global.util.api.CursorSlice;
 import cau.capstone.backend.page.dto.request.*;
 import cau.capstone.backend.page.dto.response.ResponsePageDto;
+import cau.capstone.backend.page.dto.response.ResponsePageSummaryDto;
 import cau.capstone.backend.page.model.EmotionType;
 import cau.capstone.backend.page.model.Page;
 import cau.capstone.backend.page.service.PageService;
+import cau.capstone.backend.page.service.PersonalFeedService;
 import cau.capstone.backend.global.util.api.ApiResponse;
 import cau.capstone.backend.global.util.api.ResponseCode;
 import com.fasterxml.jackson.annotation.JsonFormat;
@@ -36,8 +37,9 @@ public class PageController {
 
     private final PageService pageService;
 
-    private final UserRepository userRepository;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final PersonalFeedService personalFeedService;
+
+    private final CurrentUser currentUser;
 
     //페이지 관련 기본 동작: 읽기 ,저장, 유저의 페이지 정보 반환, 수정, 삭제
 
@@ -51,25 +53,50 @@ public class PageController {
 
     @Operation(summary = "페이지 전체를 페이저블하게 반환")
     @GetMapping("/allpages")
-    public ResponseEntity<org.springframework.data.domain.Page<ResponsePageDto>> getAllPages(
+    public ResponseEntity<org.springframework.data.domain.Page<ResponsePageSummaryDto>> getAllPages(
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "10") int size) {
         Pageable pageable = PageRequest.of(page, size);
-        org.springframework.data.domain.Page<ResponsePageDto> result = pageService.findAllPages(pageable);
+        org.springframework.data.domain.Page<ResponsePageSummaryDto> result = pageService.findAllPages(pageable);
         return ResponseEntity.ok(result);
     }
 
     @Operation(summary = "페이지 전체를 감정으로 분류해 페이저블하게 반환")
     @GetMapping("/allpages/emotion")
-    public ResponseEntity<org.springframework.data.domain.Page<ResponsePageDto>> getAllPagesByEmotion(
+    public ResponseEntity<org.springframework.data.domain.Page<ResponsePageSummaryDto>> getAllPagesByEmotion(
             @RequestParam("emotion") String emotionType,
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "10") int size) {
         Pageable pageable = PageRequest.of(page, size);
-        org.springframework.data.domain.Page<ResponsePageDto> result = pageService.findPagesByEmotionType(EmotionType.getByCode(emotionType), pageable);
+        org.springframework.data.domain.Page<ResponsePageSummaryDto> result = pageService.findPagesByEmotionType(EmotionType.getByCode(emotionType), pageable);
         return ResponseEntity.ok(result);
     }
 
+    @Operation(summary = "페이지 전체를 커서 기반으로 반환, 다음 요청에는 응답의 nextCursor 를 전달")
+    @GetMapping("/allpages/cursor")
+    public ResponseEntity<CursorSlice<ResponsePageSummaryDto>> getAllPagesByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size) {
+        return ResponseEntity.ok(pageService.findPagesByCursor(cursor, size));
+    }
+
+    @Operation(summary = "페이지 전체를 감정으로 분류해 커서 기반으로 반환")
+    @GetMapping("/allpages/emotion/cursor")
+    public ResponseEntity<CursorSlice<ResponsePageSummaryDto>> getAllPagesByEmotionAndCursor(
+            @RequestParam("emotion") String emotionType,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size) {
+        return ResponseEntity.ok(pageService.findPagesByEmotionTypeAndCursor(EmotionType.getByCode(emotionType), cursor, size));
+    }
+
+    @Operation(summary = "개인화 피드, 인기 페이지를 유저의 카테고리 점수로 다시 정렬해 반환 (최대 100개)")
+    @GetMapping("/feed/personal")
+    public ApiResponse<List<ResponsePageSummaryDto>> getPersonalFeed(
+            @RequestHeader String accessToken,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ApiResponse.success(personalFeedService.getPersonalFeed(accessToken, size), "Personal feed");
+    }
+
 
     //페이지 정보 저장
     @Operation(summary = "페이지 정보 저장")
@@ -82,8 +109,7 @@ public class PageController {
     @Operation(summary = "유저가 작성한 페이지 정보 반환")
     @GetMapping("/list")
     public ApiResponse<List<ResponsePageDto>> getPageList(@RequestHeader String accessToken){
-        Long userId = userRepository.findByEmail(jwtTokenProvider.getUserEmail(accessToken))
-                .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND)).getId();
+        Long userId = currentUser.getId(accessToken);
 
         List<ResponsePageDto> responsePageDtoList = pageService.getPageList(userId);
 
@@ -110,8 +136,7 @@ public class PageController {
     @Operation(summary = "페이지 삭제")
     @DeleteMapping("/delete/{pageId}")
     public ApiResponse<ResponsePageDto> deletePage(@PathVariable Long pageId, @RequestHeader String accessToken){
-        Long userId = userRepository.findByEmail(jwtTokenProvider.getUserEmail(accessToken))
-                .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND)).getId();
+        Long userId = currentUser.getId(accessToken);
 
 
         return ApiResponse.success(pageService.deletePage(pageId, userId), ResponseCode.PAGE_DELETE_SUCCESS.getMessage());
@@ -6,9 +6,12 @@ import cau.capstone.backend.User.dto.response.ResponseUserLikeDto;
 import cau.capstone.backend.User.service.UserService;
 import cau.capstone.backend.global.util.api.ApiResponse;
 import cau.capstone.backend.page.dto.response.ResponseBookDto;
-import cau.capstone.backend.page.dto.response.ResponsePageDto;
+import cau.capstone.backend.page.dto.response.ResponseHashtagDto;
+import cau.capstone.backend.page.dto.response.ResponsePageSummaryDto;
 import cau.capstone.backend.page.model.Page;
 import cau.capstone.backend.page.service.BookService;
+import cau.capstone.backend.page.service.HashtagCooccurrence;
+import cau.capstone.backend.page.service.HashtagSuggestIndex;
 import cau.capstone.backend.page.service.PageService;
 import io.swagger.annotations.Api;
 import io.swagger.v3.oas.annotations.Operation;
@@ -37,30 +40,50 @@ public class SearchingController {
 
     private final UserService userService;
 
+    private final HashtagCooccurrence hashtagCooccurrence;
+
+    private final HashtagSuggestIndex hashtagSuggestIndex;
+
 
     @Operation(summary = "페이지 검색, 키워드로 타이틀, 콘텐트, 해시태그 검색")
     @GetMapping("/page")
-    public ApiResponse<org.springframework.data.domain.Page<ResponsePageDto>> searchPages(
+    public ApiResponse<org.springframework.data.domain.Page<ResponsePageSummaryDto>> searchPages(
             @RequestParam("keyword") String keyword,
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "10") int size) {
         Pageable pageable = PageRequest.of(page, size);
-        org.springframework.data.domain.Page<ResponsePageDto> result = pageService.searchPagesWithKeywordAndPaging(keyword, pageable);
+        org.springframework.data.domain.Page<ResponsePageSummaryDto> result = pageService.searchPagesWithKeywordAndPaging(keyword, pageable);
         return ApiResponse.success(result, "Search pages by keyword");
     }
 
     //해시태그로만 페이지 검색
     @Operation(summary = "해시태그로 페이지 검색")
     @GetMapping("/pages/hashtag")
-    public ApiResponse<org.springframework.data.domain.Page<ResponsePageDto>> getPagesByHashtag(
+    public ApiResponse<org.springframework.data.domain.Page<ResponsePageSummaryDto>> getPagesByHashtag(
             @RequestParam("hashtag") String hashtag,
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "10") int size) {
         Pageable pageable = PageRequest.of(page, size);
-        org.springframework.data.domain.Page<ResponsePageDto> result = pageService.getPagesByHashtag(hashtag, pageable);
+        org.springframework.data.domain.Page<ResponsePageSummaryDto> result = pageService.getPagesByHashtag(hashtag, pageable);
         return ApiResponse.success(result, "Search pages by hashtag");
     }
 
+    @Operation(summary = "연관 해시태그, 같은 페이지에 함께 쓰인 횟수가 많은 순")
+    @GetMapping("/hashtag/related")
+    public ApiResponse<List<ResponseHashtagDto>> getRelatedHashtags(
+            @RequestParam("tag") String tag,
+            @RequestParam(value = "top", defaultValue = "10") int top) {
+        return ApiResponse.success(hashtagCooccurrence.related(tag, top), "Related hashtags");
+    }
+
+    @Operation(summary = "해시태그 자동완성, 입력 중인 글자(자모)도 접두어로 검색하며 좋아요/조회가 많은 태그 순")
+    @GetMapping("/hashtag/suggest")
+    public ApiResponse<List<ResponseHashtagDto>> suggestHashtags(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(value = "top", defaultValue = "10") int top) {
+        return ApiResponse.success(hashtagSuggestIndex.suggest(prefix, top), "Suggest hashtags");
+    }
+
 //    @Operation(summary = "최근 24시간 이내에 생성된 페이지 반환")
 //    @GetMapping("/page/recent")
 //    public ResponseEntity<org.springframework.data.domain.Page<ResponsePageDto>> getPagesCreatedWithinLast24Hours(
@@ -73,18 +96,18 @@ public class SearchingController {
 
     @Operation(summary = "최근 24시간 내에 생성된 페이지를 감정, 해시태그 입력 값에 따라 조건부 반환")
     @GetMapping("/page/recent")
-    public ApiResponse<org.springframework.data.domain.Page<ResponsePageDto>> getPagesCreatedWithinLast24HoursByEmotionAndHashtag(
+    public ApiResponse<org.springframework.data.domain.Page<ResponsePageSummaryDto>> getPagesCreatedWithinLast24HoursByEmotionAndHashtag(
             @Nullable @RequestParam("emotion") String emotionType,
             @Nullable @RequestParam("hashtag") String hashtag,
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "10") int size) {
         Pageable pageable = PageRequest.of(page, size);
         if (emotionType == null || emotionType.isEmpty()) {
-            org.springframework.data.domain.Page<ResponsePageDto> result = pageService.getPagesCreatedWithinLast24HoursByEmotionAndHashtag(emotionType, hashtag, pageable);
+            org.springframework.data.domain.Page<ResponsePageSummaryDto> result = pageService.getPagesCreatedWithinLast24HoursByEmotionAndHashtag(emotionType, hashtag, pageable);
             return ApiResponse.success(result, "Search pages created within last 24 hours by emotion and hashtag");
 
         } else {
-            org.springframework.data.domain.Page<ResponsePageDto> result = pageService.getPagesCreatedWithinLast24HoursByEmotionAndHashtag(emotionType.toUpperCase(Locale.ROOT), hashtag, pageable);
+            org.springframework.data.domain.Page<ResponsePageSummaryDto> result = pageService.getPagesCreatedWithinLast24HoursByEmotionAndHashtag(emotionType.toUpperCase(Locale.ROOT), hashtag, pageable);
             return ApiResponse.success(result, "Search pages created within last 24 hours by emotion and hashtag");
         }
     }
@@ -41,15 +41,21 @@ public class ResponseBookDto {
 //    }
 
     public static ResponseBookDto from(Book book) {
+        return from(book, book.getPageIds());
+    }
+
+    // 페이지 id 를 미리 조회해둔 경우, 북의 페이지 컬렉션을 초기화하지 않는다
+    public static ResponseBookDto from(Book book, List<Long> pageIds) {
         return ResponseBookDto.builder()
                 .bookId(book.getId())
                 .userId(book.getUser().getId())
                 .userNickname(book.getUser().getNickname())
                 .bookName(book.getBookName())
                 .categoryCode(book.getCategory().getCode())
+                .totalLikeCount(book.getTotalLikeCount())
                 .totalViewCount(book.getBookViewCount())
-                .totalPageCount(book.getPages().size())
-                .pageIds(book.getPageIds())
+                .totalPageCount(pageIds.size())
+                .pageIds(pageIds)
                 .hashtags(book.getHashtagsString())
                 .build();
     }
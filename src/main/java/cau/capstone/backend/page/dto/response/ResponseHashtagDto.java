@@ -0,0 +1,13 @@
+package cau.capstone.backend.page.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//해시태그와 점수, 연관 태그는 함께 쓰인 페이지 수이고 자동완성은 좋아요/조회 랭킹 크기
+@Getter
+@AllArgsConstructor
+public class ResponseHashtagDto {
+
+    private String tag;
+    private long score;
+}
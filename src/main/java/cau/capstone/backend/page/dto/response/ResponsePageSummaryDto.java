@@ -0,0 +1,69 @@
+package cau.capstone.backend.page.dto.response;
+
+
+import cau.capstone.backend.page.model.EmotionIntensity;
+import cau.capstone.backend.page.model.EmotionType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import reactor.util.annotation.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Set;
+
+
+//피드 카드용 페이지 요약, 본문 대신 작성 시 저장해둔 발췌문만 제공
+//전체 본문은 페이지 읽기(getPage)에서만 조회
+@Getter
+@NoArgsConstructor
+public class ResponsePageSummaryDto {
+
+    private Long pageId;
+    private Long userId;
+    private String title;
+    private String excerpt;
+    private LocalDateTime createdAt;
+    private int likeCount;
+    private int viewCount;
+
+    @Nullable
+    private String emotionType;
+    private int emotionIntensity;
+
+    private Set<String> hashtags = Collections.emptySet();
+
+
+    //JPQL 생성자 표현식용, PageRepository.findSummariesByIdIn 참고
+    public ResponsePageSummaryDto(Long pageId, Long userId, String title, String excerpt, LocalDateTime createdAt,
+                                  int likeCount, int viewCount, EmotionType emotionType, EmotionIntensity emotionIntensity) {
+        this.pageId = pageId;
+        this.userId = userId;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.createdAt = createdAt;
+        this.likeCount = likeCount;
+        this.viewCount = viewCount;
+        this.emotionType = emotionType == null ? null : emotionType.getDescription();
+        this.emotionIntensity = emotionIntensity == null ? 0 : emotionIntensity.getIntensity();
+    }
+
+    public void setHashtags(Set<String> hashtags) {
+        this.hashtags = hashtags;
+    }
+
+    //카운터만 바꾼 복사본, 캐시에 둔 요약은 그대로 두고 응답에만 최신 값을 싣는다
+    public ResponsePageSummaryDto withCounts(int likeCount, int viewCount) {
+        ResponsePageSummaryDto copy = new ResponsePageSummaryDto();
+        copy.pageId = pageId;
+        copy.userId = userId;
+        copy.title = title;
+        copy.excerpt = excerpt;
+        copy.createdAt = createdAt;
+        copy.likeCount = likeCount;
+        copy.viewCount = viewCount;
+        copy.emotionType = emotionType;
+        copy.emotionIntensity = emotionIntensity;
+        copy.hashtags = hashtags;
+        return copy;
+    }
+}
@@ -7,6 +7,8 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -19,7 +21,10 @@ import java.util.Set;
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
-@Table(name = "book")
+@Table(name = "book", indexes = { //커서 피드용
+        @Index(name = "idx_book_created_at_id", columnList = "created_at, book_id"),
+        @Index(name = "idx_book_category_created_at_id", columnList = "category, created_at, book_id")
+})
 public class Book extends BaseEntity {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,6 +45,7 @@ public class Book extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private Category category;
 
+    @BatchSize(size = 100) //목록 조회 시 여러 북의 해시태그를 IN 쿼리 한 번으로 초기화
     @ManyToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     @JoinTable(name = "book_hashtags",
             joinColumns = @JoinColumn(name = "book_id"),
@@ -48,9 +54,14 @@ public class Book extends BaseEntity {
 
 
     // 조회수 = totalPageViewCount == bookViewCount
-    @Column(name = "book_view_count")
+    @Column(name = "book_view_count", updatable = false)
     private int bookViewCount = 0;
 
+    // 북 자체의 좋아요 + 소속 페이지들의 좋아요 합, LikeService 의 원자적 UPDATE 로만 변경
+    @ColumnDefault("0")
+    @Column(name = "total_like_count", updatable = false)
+    private int totalLikeCount = 0;
+
 
     public Set<String> getHashtagsString() {
         Set<String> hashtagSet = new HashSet<>();
@@ -1,12 +1,15 @@
 package cau.capstone.backend.page.model;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_hashtag_tag", columnNames = "tag"))
+@BatchSize(size = 100) //HashtagDictionary 가 돌려준 참조를 한 번에 초기화
 @RequiredArgsConstructor
 public class Hashtag {
 
@@ -26,6 +29,10 @@ public class Hashtag {
         this.tag = tag;
     }
 
+    public Long getId() {
+        return id;
+    }
+
     public String getTag() {
         return tag;
     }
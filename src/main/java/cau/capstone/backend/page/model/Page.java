@@ -7,6 +7,8 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -19,9 +21,12 @@ import java.util.Set;
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
-@Table(name = "page")
+@Table(name = "page", indexes = @Index(name = "idx_page_created_at_id", columnList = "created_at, page_id")) //커서 피드용
 public class Page extends BaseEntity {
 
+    //피드 카드에 노출할 발췌문 길이(code point 기준)
+    public static final int EXCERPT_LENGTH = 100;
+
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "page_id")
     private Long id;
@@ -33,6 +38,10 @@ public class Page extends BaseEntity {
     @Column(name = "page_content")
     private String content;
 
+    //작성/수정 시 content 앞부분을 잘라 저장, 목록 조회는 @Lob 본문 대신 이 값을 사용
+    @Column(name = "page_excerpt", length = EXCERPT_LENGTH)
+    private String excerpt;
+
     @Column(name = "modified")
     private boolean modified = false;
 
@@ -53,14 +62,21 @@ public class Page extends BaseEntity {
     private Book book;
 
 
-    @Column(name = "view_count")
+    //조회수는 ViewCountService 의 일괄 UPDATE 로만 증가, 엔티티 저장 시 덮어쓰지 않도록 updatable = false
+    @Column(name = "view_count", updatable = false)
     private int viewCount = 0;
 
+    //좋아요 수는 LikeService 의 원자적 UPDATE 로만 변경
+    @ColumnDefault("0")
+    @Column(name = "like_count", updatable = false)
+    private int likeCount = 0;
+
 //    @Column(name = "emotion")
     @OneToOne(cascade = CascadeType.ALL)
     @JoinColumn(name = "emotion_id", referencedColumnName = "id")
     private Emotion emotion;
 
+    @BatchSize(size = 100) //목록 조회 시 여러 페이지의 해시태그를 IN 쿼리 한 번으로 초기화
     @ManyToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     @JoinTable(name = "page_hashtags",
             joinColumns = @JoinColumn(name = "page_id"),
@@ -76,6 +92,7 @@ public class Page extends BaseEntity {
         page.user = user;
         page.title = title;
         page.content = content;
+        page.excerpt = excerptOf(content);
         page.book = book;
 
         page.emotion = new Emotion();
@@ -86,6 +103,7 @@ public class Page extends BaseEntity {
     public void updatePage(String title, String content){
         this.title = title;
         this.content = content;
+        this.excerpt = excerptOf(content);
 
         this.modified = true;
     }
@@ -95,6 +113,7 @@ public class Page extends BaseEntity {
         page.user = user;
         page.title = this.title;
         page.content = this.content;
+        page.excerpt = this.excerpt;
         page.book = book;
 
         return page;
@@ -109,6 +128,13 @@ public class Page extends BaseEntity {
         hashtags.clear();
     }
 
+    public static String excerptOf(String content) {
+        if (content == null || content.codePointCount(0, content.length()) <= EXCERPT_LENGTH) {
+            return content;
+        }
+        return content.substring(0, content.offsetByCodePoints(0, EXCERPT_LENGTH));
+    }
+
     public void setRootId(Page page) { this.rootId = page.getId();}
     public void setRootId(long rootId) { this.rootId = rootId;}
 
@@ -1,35 +1,72 @@
 package cau.capstone.backend.page.model.repository;
 
 
+import cau.capstone.backend.global.util.FeedCursor;
 import cau.capstone.backend.page.model.Book;
 import cau.capstone.backend.page.model.Category;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
 
 
+    // 목록 조회용, user 는 함께 조회하고 hashtags 는 @BatchSize, 페이지 id 는 PageRepository.findPageIdsByBookIdIn 으로 조회
+    @EntityGraph(attributePaths = "user")
+    Page<Book> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
     List<Book> findAllByUserId(Long userId); // 해당 유저의 모든 페이지 조회
 
+    @EntityGraph(attributePaths = {"user", "hashtags"})
+    Optional<Book> findWithDetailsById(Long bookId); // 북 상세 조회
+
     boolean existsByIdAndUserId(Long bookId, Long userId); // 해당 유저의 페이지가 존재하는지 확인
 
+    // 검색 색인 재구성용, lastId 다음부터 id 순으로 (OFFSET 없이) 끊어 읽는다
+    @Query("SELECT b.id FROM Book b WHERE b.id > :lastId ORDER BY b.id")
+    List<Long> findIdsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 랭킹 결과 하이드레이션용, DTO 변환에 필요한 연관 엔티티를 한 번에 조회
+    @Query("SELECT DISTINCT b FROM Book b JOIN FETCH b.user LEFT JOIN FETCH b.hashtags WHERE b.id IN :bookIds")
+    List<Book> findAllWithDetailsByIdIn(@Param("bookIds") Collection<Long> bookIds);
+
+    @Modifying
+    @Query("UPDATE Book b SET b.totalLikeCount = b.totalLikeCount + :delta WHERE b.id = :bookId")
+    int addTotalLikeCount(@Param("bookId") Long bookId, @Param("delta") int delta); // 좋아요 합계 원자적 증감
+
     List<Book> findByCategory(Category category);
 
 //    @Query("SELECT b FROM Book b LEFT JOIN b.hashtags h WHERE b.bookName LIKE %:name% OR h.tag IN :hashtags")
 //    org.springframework.data.domain.Page<Book> findByBookNameContainingOrHashtagsIn(@Param("name") String name, @Param("hashtags") Set<String> hashtags, Pageable pageable);
 
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT DISTINCT b FROM Book b LEFT JOIN b.hashtags h WHERE LOWER(b.bookName) LIKE LOWER(concat('%', :keyword, '%')) OR LOWER(h.tag) LIKE LOWER(concat('%', :keyword, '%'))")
     org.springframework.data.domain.Page<Book> findByKeywordWithPaging(@Param("keyword") String keyword, Pageable pageable);
 
+    @EntityGraph(attributePaths = "user")
     org.springframework.data.domain.Page<Book> findByCategory(Category category, Pageable pageable);
 
+    // 커서 피드, (created_at, book_id) 인덱스 순서로 커서 뒤의 행만 읽고 전체 개수는 세지 않는다
+    @Query("SELECT b.id AS id, b.createdAt AS createdAt FROM Book b " +
+            "WHERE b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id) ORDER BY b.createdAt DESC, b.id DESC")
+    List<FeedCursor.Key> findKeysBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT b.id AS id, b.createdAt AS createdAt FROM Book b WHERE b.category = :category " +
+            "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) ORDER BY b.createdAt DESC, b.id DESC")
+    List<FeedCursor.Key> findKeysByCategoryBefore(@Param("category") Category category, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
     int countAllByCategory(Category category);
 }
@@ -4,11 +4,16 @@ import cau.capstone.backend.page.model.Book;
 import cau.capstone.backend.page.model.Hashtag;
 import cau.capstone.backend.page.model.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +21,10 @@ import java.util.Optional;
 public interface HashtagRepository extends JpaRepository<Hashtag, Long> {
     Optional<Hashtag> findByTag(String tag);
 
+    //잠금 읽기라 REPEATABLE READ 에서도 다른 트랜잭션이 방금 커밋한 태그까지 보인다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Hashtag> findAllByTagIn(Collection<String> tags);
+
 
 
     @Query("SELECT p FROM Page p JOIN p.hashtags h WHERE h.tag = :tag")
@@ -24,6 +33,7 @@ public interface HashtagRepository extends JpaRepository<Hashtag, Long> {
     @Query("SELECT b FROM Book b JOIN b.hashtags h WHERE h.tag = :tag")
     List<Book> findBooksByHashtag(@Param("tag") String tag);
 
+    @EntityGraph(attributePaths = {"user", "emotion"})
     @Query("SELECT p FROM Page p JOIN p.hashtags h WHERE h.tag = :tag")
     org.springframework.data.domain.Page<Page> findPagesByHashtag(@Param("tag") String tag, Pageable pageable);
 
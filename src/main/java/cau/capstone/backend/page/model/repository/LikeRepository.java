@@ -3,8 +3,11 @@ package cau.capstone.backend.page.model.repository;
 import cau.capstone.backend.page.model.Like;
 import cau.capstone.backend.page.model.LikeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +25,13 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     int countByLikeTypeAndTargetId(LikeType likeType, Long targetId);
 
     void deleteAllByLikeTypeAndTargetId(LikeType likeType, Long targetId);
+
+    // 여러 대상의 좋아요 수를 한 번의 GROUP BY 쿼리로 조회
+    @Query("SELECT l.targetId AS targetId, COUNT(l) AS likeCount FROM Like l WHERE l.likeType = :likeType AND l.targetId IN :targetIds GROUP BY l.targetId")
+    List<TargetLikeCount> countByLikeTypeAndTargetIdIn(@Param("likeType") LikeType likeType, @Param("targetIds") Collection<Long> targetIds);
+
+    interface TargetLikeCount {
+        Long getTargetId();
+        Long getLikeCount();
+    }
 }
@@ -1,18 +1,23 @@
 package cau.capstone.backend.page.model.repository;
 
+import cau.capstone.backend.global.util.FeedCursor;
+import cau.capstone.backend.page.dto.response.ResponsePageSummaryDto;
 import cau.capstone.backend.page.model.EmotionType;
 import cau.capstone.backend.page.model.Page;
 
 import org.springframework.data.domain.Pageable;
 
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,37 +27,111 @@ public interface PageRepository extends JpaRepository<Page, Long> {
 
     boolean existsByIdAndUserId(Long id, Long userId); // 해당 유저의 게시물인지 확인
 
+    // 목록 조회용, user 와 emotion 은 함께 조회하고 hashtags 는 @BatchSize 로 묶어서 조회
+    @EntityGraph(attributePaths = {"user", "emotion"})
+    org.springframework.data.domain.Page<Page> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "emotion"})
     List<Page> findAllByUserId(Long userId); // 해당 유저의 모든 게시물 조회
 
+    @EntityGraph(attributePaths = {"user", "emotion"})
+    List<Page> findAllByBookIdOrderByIdAsc(Long bookId); // 해당 북의 모든 게시물 조회
+
     List<Page> findAllByUserIdAndCreatedAt(Long userId, LocalDate createdAt); // 해당 유저의 특정 시간 게시물 조회
 
     boolean existsByIdAndBookId(Long id, Long bookId); // 해당 북의 게시물인지 확인
 
     Optional<Page> findPageById(Long pageId); // 해당 게시물 조회
 
+    // 단건 조회용, 조회수/점수 적재에 필요한 book 까지 함께 조회
+    @EntityGraph(attributePaths = {"user", "emotion", "book"})
+    Optional<Page> findWithBookById(Long id);
+
+    // 검색 색인 재구성용, lastId 다음부터 id 순으로 (OFFSET 없이) 끊어 읽는다
+    @Query("SELECT p.id FROM Page p WHERE p.id > :lastId ORDER BY p.id")
+    List<Long> findIdsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 랭킹 결과 하이드레이션용, DTO 변환에 필요한 연관 엔티티를 한 번에 조회
+    @Query("SELECT DISTINCT p FROM Page p JOIN FETCH p.user LEFT JOIN FETCH p.emotion LEFT JOIN FETCH p.hashtags LEFT JOIN FETCH p.book WHERE p.id IN :pageIds")
+    List<Page> findAllWithDetailsByIdIn(@Param("pageIds") Collection<Long> pageIds);
+
+    // 북 목록에 속한 페이지 id 를 한 번에 조회, 결과는 [bookId, pageId]
+    @Query("SELECT p.book.id, p.id FROM Page p WHERE p.book.id IN :bookIds ORDER BY p.id")
+    List<Object[]> findPageIdsByBookIdIn(@Param("bookIds") Collection<Long> bookIds);
+
+    @Modifying
+    @Query("UPDATE Page p SET p.likeCount = p.likeCount + :delta WHERE p.id = :pageId")
+    int addLikeCount(@Param("pageId") Long pageId, @Param("delta") int delta); // 좋아요 수 원자적 증감
+
     // JPQL을 사용하여 title 또는 content에 키워드가 포함되거나, 해당 페이지의 해시태그 중 하나가 키워드를 포함하는 Page 검색
     @Query("SELECT p FROM Page p LEFT JOIN p.hashtags h WHERE LOWER(p.title) LIKE LOWER(concat('%', :keyword, '%')) OR LOWER(p.content) LIKE LOWER(concat('%', :keyword, '%')) OR LOWER(h.tag) LIKE LOWER(concat('%', :keyword, '%'))")
     List<Page> findByKeyword(@Param("keyword") String keyword);
 
-    @Query("SELECT p FROM Page p LEFT JOIN p.hashtags h WHERE LOWER(p.title) LIKE LOWER(concat('%', :keyword, '%')) OR LOWER(p.content) LIKE LOWER(concat('%', :keyword, '%')) OR LOWER(h.tag) LIKE LOWER(concat('%', :keyword, '%')) GROUP BY p")
-    org.springframework.data.domain.Page<Page> findByKeywordWithPaging(@Param("keyword") String keyword, Pageable pageable);
+    // 피드 목록은 id 만 페이징해서 조회하고, 카드 내용은 findSummariesByIdIn 으로 채운다
+    // 해시태그 조건은 행이 중복되지 않도록 서브쿼리로 건다
+    @Query("SELECT p.id FROM Page p WHERE LOWER(p.title) LIKE LOWER(concat('%', :keyword, '%')) OR LOWER(p.content) LIKE LOWER(concat('%', :keyword, '%')) " +
+            "OR p.id IN (SELECT hp.id FROM Page hp JOIN hp.hashtags h WHERE LOWER(h.tag) LIKE LOWER(concat('%', :keyword, '%')))")
+    org.springframework.data.domain.Page<Long> findIdsByKeyword(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query("SELECT p.id FROM Page p")
+    org.springframework.data.domain.Page<Long> findAllIds(Pageable pageable);
+
+    @Query("SELECT p.id FROM Page p WHERE p.emotion.type = :emotionType")
+    org.springframework.data.domain.Page<Long> findIdsByEmotionType(@Param("emotionType") EmotionType emotionType, Pageable pageable);
+
+    // 커서 피드, (created_at, page_id) 인덱스 순서로 커서 뒤의 행만 읽고 전체 개수는 세지 않는다
+    @Query("SELECT p.id AS id, p.createdAt AS createdAt FROM Page p " +
+            "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) ORDER BY p.createdAt DESC, p.id DESC")
+    List<FeedCursor.Key> findKeysBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.createdAt AS createdAt FROM Page p WHERE p.emotion.type = :emotionType " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) ORDER BY p.createdAt DESC, p.id DESC")
+    List<FeedCursor.Key> findKeysByEmotionTypeBefore(@Param("emotionType") EmotionType emotionType, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT p.id FROM Page p JOIN p.hashtags h WHERE h.tag = :tag")
+    org.springframework.data.domain.Page<Long> findIdsByHashtag(@Param("tag") String tag, Pageable pageable);
+
+    @Query("SELECT p.id FROM Page p WHERE p.createdAt >= :startTime")
+    org.springframework.data.domain.Page<Long> findIdsCreatedWithinLast24Hours(@Param("startTime") LocalDateTime startTime, Pageable pageable);
+
+    @Query("SELECT p.id FROM Page p WHERE p.createdAt >= :startTime AND p.emotion.type = :emotionType")
+    org.springframework.data.domain.Page<Long> findIdsByEmotionTypeCreatedWithinLast24Hours(@Param("startTime") LocalDateTime startTime, @Param("emotionType") EmotionType emotionType, Pageable pageable);
+
+    @Query("SELECT p.id FROM Page p WHERE p.createdAt >= :startTime " +
+            "AND p.id IN (SELECT hp.id FROM Page hp JOIN hp.hashtags h WHERE LOWER(h.tag) LIKE LOWER(concat('%', :hashTag, '%')))")
+    org.springframework.data.domain.Page<Long> findIdsByHashTagCreatedWithinLast24Hours(@Param("startTime") LocalDateTime startTime, @Param("hashTag") String hashTag, Pageable pageable);
 
-    @Query("SELECT p FROM Page p WHERE p.emotion.type = :emotionType")
-    org.springframework.data.domain.Page<Page> findByEmotionType(EmotionType emotionType, Pageable pageable);
+    @Query("SELECT p.id FROM Page p WHERE p.createdAt >= :startTime AND p.emotion.type = :emotionType " +
+            "AND p.id IN (SELECT hp.id FROM Page hp JOIN hp.hashtags h WHERE LOWER(h.tag) LIKE LOWER(concat('%', :hashTag, '%')))")
+    org.springframework.data.domain.Page<Long> findIdsByEmotionTypeAndHashTagCreatedWithinLast24Hours(@Param("startTime") LocalDateTime startTime, @Param("emotionType") EmotionType emotionType, @Param("hashTag") String hashTag, Pageable pageable);
 
+    // 최근 페이지 창 동기화용, 창 안에 남아 있는 페이지와 since 이후 수정된 페이지
+    @Query("SELECT p.id FROM Page p WHERE p.createdAt >= :startTime")
+    List<Long> findIdsCreatedSince(@Param("startTime") LocalDateTime startTime);
 
+    @Query("SELECT p.id FROM Page p WHERE p.createdAt >= :startTime AND p.updatedAt > :since")
+    List<Long> findIdsCreatedSinceAndUpdatedAfter(@Param("startTime") LocalDateTime startTime, @Param("since") LocalDateTime since);
 
-    @Query("SELECT p FROM Page p WHERE p.createdAt >= :startTime")
-    org.springframework.data.domain.Page<Page> findAllCreatedWithinLast24Hours(@Param("startTime") LocalDateTime startTime, Pageable pageable);
+    // 좋아요/조회 카운터 컬럼만
+    @Query("SELECT p.id, p.likeCount, p.viewCount FROM Page p WHERE p.id IN :pageIds")
+    List<Object[]> findCountsByIdIn(@Param("pageIds") Collection<Long> pageIds);
 
+    // 피드 카드용 요약 조회, @Lob 본문은 읽지 않는다
+    @Query("SELECT new cau.capstone.backend.page.dto.response.ResponsePageSummaryDto(p.id, u.id, p.title, p.excerpt, p.createdAt, p.likeCount, p.viewCount, e.type, e.intensity) " +
+            "FROM Page p JOIN p.user u LEFT JOIN p.emotion e WHERE p.id IN :pageIds")
+    List<ResponsePageSummaryDto> findSummariesByIdIn(@Param("pageIds") Collection<Long> pageIds);
 
-    @Query("SELECT p FROM Page p WHERE p.createdAt >= :startTime AND p.emotion.type = :emotionType")
-    org.springframework.data.domain.Page<Page> findAllByEmotionTypeCreatedWithinLast24Hours(@Param("startTime") LocalDateTime startTime, @Param("emotionType") EmotionType emotionType, Pageable pageable);
+    // 요약에 붙일 해시태그를 한 번에 조회, 결과는 [pageId, tag]
+    @Query("SELECT p.id, h.tag FROM Page p JOIN p.hashtags h WHERE p.id IN :pageIds")
+    List<Object[]> findHashtagsByPageIdIn(@Param("pageIds") Collection<Long> pageIds);
 
-    @Query("SELECT DISTINCT p FROM Page p LEFT JOIN p.hashtags h WHERE p.createdAt >= :startTime AND LOWER(h.tag) LIKE LOWER(concat('%', :hashTag, '%'))")
-    org.springframework.data.domain.Page<Page> findAllByHashTagCreatedWithinLast24Hours(@Param("startTime") LocalDateTime startTime, @Param("hashTag") String hashTag, Pageable pageable);
+    // 개인화 피드 후보의 북 카테고리를 한 번에 조회, 결과는 [pageId, category]
+    @Query("SELECT p.id, b.category FROM Page p JOIN p.book b WHERE p.id IN :pageIds")
+    List<Object[]> findCategoriesByPageIdIn(@Param("pageIds") Collection<Long> pageIds);
 
-    @Query("SELECT DISTINCT p FROM Page p LEFT JOIN p.hashtags h WHERE p.createdAt >= :startTime AND p.emotion.type = :emotionType AND LOWER(h.tag) LIKE LOWER(concat('%', :hashTag, '%'))")
-    org.springframework.data.domain.Page<Page> findAllByEmotionTypeAndHashTagCreatedWithinLast24Hours(@Param("startTime") LocalDateTime startTime, @Param("emotionType") EmotionType emotionType, @Param("hashTag") String hashTag, Pageable pageable);
+    // 발췌문 컬럼 추가 이전에 작성된 페이지 채우기
+    @Modifying
+    @Query("UPDATE Page p SET p.excerpt = SUBSTRING(p.content, 1, " + Page.EXCERPT_LENGTH + ") WHERE p.excerpt IS NULL AND p.content IS NOT NULL")
+    int fillMissingExcerpts();
 
 }
@@ -0,0 +1,56 @@
+package cau.capstone.backend.page.service;
+
+import cau.capstone.backend.page.dto.response.ResponseBookDto;
+import cau.capstone.backend.page.model.Book;
+import cau.capstone.backend.page.model.repository.PageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+//북 목록을 ResponseBookDto 로 변환, 페이지 수와 id 는 목록 전체에 대해 한 번만 조회
+//페이지 엔티티(@Lob 본문 포함)를 로딩하지 않도록 book.getPages() 는 사용하지 않는다
+@RequiredArgsConstructor
+@Component
+public class BookDtoAssembler {
+
+    private final PageRepository pageRepository;
+
+
+    public ResponseBookDto toDto(Book book) {
+        return toDtoList(Collections.singletonList(book)).get(0);
+    }
+
+    public List<ResponseBookDto> toDtoList(Iterable<Book> books) {
+        List<Book> bookList = new ArrayList<>();
+        books.forEach(bookList::add);
+
+        Map<Long, List<Long>> pageIdsByBook = findPageIdsByBook(
+                bookList.stream().map(Book::getId).collect(Collectors.toList()));
+
+        List<ResponseBookDto> responseBookDtoList = new ArrayList<>(bookList.size());
+        for (Book book : bookList) {
+            responseBookDtoList.add(ResponseBookDto.from(book, pageIdsByBook.getOrDefault(book.getId(), Collections.emptyList())));
+        }
+        return responseBookDtoList;
+    }
+
+    public org.springframework.data.domain.Page<ResponseBookDto> toDtoPage(org.springframework.data.domain.Page<Book> books, Pageable pageable) {
+        return new PageImpl<>(toDtoList(books.getContent()), pageable, books.getTotalElements());
+    }
+
+    private Map<Long, List<Long>> findPageIdsByBook(List<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Long, List<Long>> pageIdsByBook = new HashMap<>();
+        for (Object[] row : pageRepository.findPageIdsByBookIdIn(bookIds)) {
+            pageIdsByBook.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((Long) row[1]);
+        }
+        return pageIdsByBook;
+    }
+}
@@ -3,7 +3,15 @@ package cau.capstone.backend.page.service;
 import cau.capstone.backend.User.model.User;
 import cau.capstone.backend.User.model.repository.UserRepository;
 import cau.capstone.backend.global.redis.RankingService;
-import cau.capstone.backend.global.security.Entity.JwtTokenProvider;
+import cau.capstone.backend.global.redis.RankingUpdate;
+import cau.capstone.backend.global.search.SearchDocumentType;
+import cau.capstone.backend.global.search.SearchEngine;
+import cau.capstone.backend.global.search.SearchHits;
+import cau.capstone.backend.global.search.SearchIndexEvent;
+import cau.capstone.backend.global.security.CurrentUser;
+import cau.capstone.backend.global.util.FeedCursor;
+import cau.capstone.backend.global.util.TtlCache;
+import cau.capstone.backend.global.util.api.CursorSlice;
 import cau.capstone.backend.global.util.api.ResponseCode;
 import cau.capstone.backend.global.util.exception.BookException;
 import cau.capstone.backend.global.util.exception.PageException;
@@ -26,6 +34,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,22 +51,29 @@ public class BookService {
     private final BookRepository bookRepository;
     private final PageRepository pageRepository;
     private final HashtagRepository hashtagRepository;
+    private final HashtagDictionary hashtagDictionary;
     private final LikeRepository likeRepository;
 
     private final RankingService rankingService;
     private final LikeService likeService;
     private final PageService pageService;
+    private final PageDtoAssembler pageDtoAssembler;
+    private final BookDtoAssembler bookDtoAssembler;
 
-    private final JwtTokenProvider jwtTokenProvider;
+    private final CurrentUser currentUser;
+    private final Optional<SearchEngine> searchEngine;
+    private final ApplicationEventPublisher eventPublisher;
+
+    //랭킹 순서(id 목록)별 하이드레이션 결과, 순위가 바뀌면 키가 달라지므로 자연히 무효화된다
+    private final TtlCache<List<Long>, Set<ResponseBookDto>> rankedBookCache = new TtlCache<>(10_000, 256);
 
 
 
     @Transactional(readOnly = true)
     public ResponseBookDto getBook(Long bookId) {
-        Book book = getBookById(bookId);
-        ResponseBookDto responseBookDto = ResponseBookDto.from(book);
-        responseBookDto.setTotalLikeCount(likeService.countTotalLikesForBook(bookId));
-        return responseBookDto;
+        Book book = bookRepository.findWithDetailsById(bookId)
+                .orElseThrow(() -> new PageException(ResponseCode.BOOK_NOT_FOUND));
+        return bookDtoAssembler.toDto(book);
     }
 
 
@@ -65,9 +81,7 @@ public class BookService {
     @Transactional
     public long createBook(CreateBookDto createBookDto, String accessToken) {
 
-        String email = jwtTokenProvider.getUserEmail(accessToken);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND));
+        User user = currentUser.getReference(currentUser.getId(accessToken));
 
         if(Category.getByCode(createBookDto.getCategoryCode()) == null){
             throw new BookException(ResponseCode.CATEGORY_NOT_FOUND);
@@ -77,21 +91,15 @@ public class BookService {
 
         setHashtagsToBook(book, createBookDto.getHashtags());
 
-        return bookRepository.save(book).getId();
+        Long bookId = bookRepository.save(book).getId();
+        eventPublisher.publishEvent(SearchIndexEvent.upsert(SearchDocumentType.BOOK, bookId));
+        return bookId;
     }
 
 
     @Transactional
     public Book createBookWithHashtags(Book book, Set<String> hashtags) {
-        Set<Hashtag> hashtagEntities = new HashSet<>();
-
-        for (String tag : hashtags) {
-            Hashtag hashtag = hashtagRepository.findByTag(tag)
-                    .orElseGet(() -> hashtagRepository.save(new Hashtag(tag)));
-            hashtagEntities.add(hashtag);
-        }
-
-        book.setHashtags(hashtagEntities);
+        book.setHashtags(hashtagDictionary.resolve(hashtags));
         return bookRepository.save(book);
 
     }
@@ -99,12 +107,7 @@ public class BookService {
     @Transactional
     public void setHashtagsToBook(Book book, Set<String> hashtags) {
         Set<Hashtag> existingHashtags = book.getHashtags();
-
-        for (String tag : hashtags) {
-            Hashtag hashtag = hashtagRepository.findByTag(tag)
-                    .orElseGet(() -> hashtagRepository.save(new Hashtag(tag)));
-            existingHashtags.add(hashtag);
-        }
+        existingHashtags.addAll(hashtagDictionary.resolve(hashtags));
 
         book.setHashtags(existingHashtags);
 
@@ -114,58 +117,29 @@ public class BookService {
     @Transactional
     public List<ResponseBookDto> getBookList(String accessToken){
 
-        String email = jwtTokenProvider.getUserEmail(accessToken);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND));
-        Long userId = user.getId();
+        Long userId = currentUser.getId(accessToken);
 
         List<Book> bookList = bookRepository.findAllByUserId(userId);
 
-        List<ResponseBookDto> responseBookDtoList = new ArrayList<>();
-
-        for (Book book : bookList) {
-            ResponseBookDto responseBookDto = ResponseBookDto.from(book);
-            responseBookDto.setTotalLikeCount(likeService.countTotalLikesForBook(book.getId()));
-
-            System.out.println(responseBookDto.getBookName() + " " + responseBookDto.getTotalLikeCount());
-            responseBookDtoList.add(responseBookDto);
-        }
-
-
-        return responseBookDtoList;
+        return bookDtoAssembler.toDtoList(bookList);
     }
 
     @Transactional
     public List<ResponseBookDto> getBookListByEmail(String userEmail){
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND));
-        Long userId = user.getId();
+        Long userId = currentUser.getIdByEmail(userEmail);
 
         List<Book> bookList = bookRepository.findAllByUserId(userId);
 
-        List<ResponseBookDto> responseBookDtoList = new ArrayList<>();
-
-        for (Book book : bookList) {
-            ResponseBookDto responseBookDto = ResponseBookDto.from(book);
-            responseBookDto.setTotalLikeCount(likeService.countTotalLikesForBook(book.getId()));
-
-            System.out.println(responseBookDto.getBookName() + " " + responseBookDto.getTotalLikeCount());
-            responseBookDtoList.add(responseBookDto);
-        }
-
-
-        return responseBookDtoList;
+        return bookDtoAssembler.toDtoList(bookList);
     }
 
 
     @Transactional
     public ResponseBookDto likeBook(Long bookId, String accessToken){
-        String userEmail = jwtTokenProvider.getUserEmail(accessToken);
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND));
+        User user = currentUser.getReference(currentUser.getId(accessToken));
         Book book = getBookById(bookId);
 
-        rankingService.likeBook(bookId, book.getCategory());
+        rankingService.apply(new RankingUpdate().likeBook(bookId, book.getCategory(), 1));
 
         if(likeRepository.existsByLikeTypeAndTargetIdAndUserId(LikeType.BOOK, bookId, user.getId())){
             throw new BookException(ResponseCode.LIKE_ALREADY_EXIST);
@@ -176,21 +150,17 @@ public class BookService {
 
         likeRepository.save(like);
         userRepository.save(user);
+        likeService.addBookLikeCount(book, 1);
 
-        ResponseBookDto responseBookDto = ResponseBookDto.from(book);
-        responseBookDto.setTotalLikeCount(likeService.countTotalLikesForBook(bookId));
-
-        return responseBookDto;
+        return bookDtoAssembler.toDto(book);
     }
 
     @Transactional
     public ResponseBookDto unlikeBook(Long bookId, String accessToken) {
-        String userEmail = jwtTokenProvider.getUserEmail(accessToken);
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND));
+        User user = currentUser.getReference(currentUser.getId(accessToken));
         Book book = getBookById(bookId);
 
-        rankingService.unlikeBook(bookId, book.getCategory());
+        rankingService.apply(new RankingUpdate().likeBook(bookId, book.getCategory(), -1));
 
         Like like = likeRepository.findByLikeTypeAndTargetIdAndUserId(LikeType.BOOK, bookId, user.getId())
                 .orElseThrow(() -> new BookException(ResponseCode.LIKE_NOT_FOUND));
@@ -199,17 +169,16 @@ public class BookService {
 
         likeRepository.delete(like);
         userRepository.save(user);
+        likeService.addBookLikeCount(book, -1);
 
-        return ResponseBookDto.from(book);
+        return bookDtoAssembler.toDto(book);
     }
 
 
     @Transactional
     public long deleteBook(Long bookId, String accessToken){
-        String email = jwtTokenProvider.getUserEmail(accessToken);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND));
-        Long userId = user.getId();
+        Long userId = currentUser.getId(accessToken);
+        User user = currentUser.getReference(userId);
 
         validateBook(bookId, userId);
 
@@ -223,6 +192,7 @@ public class BookService {
         }
 
         bookRepository.delete(book);
+        eventPublisher.publishEvent(SearchIndexEvent.delete(SearchDocumentType.BOOK, bookId));
 //유저의 좋아요 리스트도 제거?
 
 
@@ -237,6 +207,7 @@ public class BookService {
         Page page = getPageById(addPageToBookDto.getPageId());
         Book book = getBookById(addPageToBookDto.getBookId());
 
+        likeService.movePageLikeCount(page, page.getBook(), book);
         page.setBook(book);
         book.addPage(page);
 
@@ -251,11 +222,12 @@ public class BookService {
         Long pageId = deletePageFromBookDto.getPageId();
         Long bookId = deletePageFromBookDto.getBookId();
 
-        validatePageInBook(pageId, bookId, jwtTokenProvider.getUserEmail(accessToken));
+        validatePageInBook(pageId, bookId, currentUser.getId(accessToken));
 
         Page page = getPageById(pageId);
         Book book = getBookById(bookId);
 
+        likeService.movePageLikeCount(page, book, null);
         page.setBook(null);
         book.removePage(page);
 
@@ -268,18 +240,22 @@ public class BookService {
 
     @Transactional
     public List<ResponsePageDto> getPageListFromBook(Long bookId){
-        Book book = getBookById(bookId);
-
-        List<ResponsePageDto> responsePageDtoList = book.getPages().stream()
-                .map(ResponsePageDto::from)
-                .collect(Collectors.toList());
+        if (!bookRepository.existsById(bookId)) {
+            throw new PageException(ResponseCode.BOOK_NOT_FOUND);
+        }
 
-        return responsePageDtoList;
+        return pageDtoAssembler.toDtoList(pageRepository.findAllByBookIdOrderByIdAsc(bookId));
     }
 
 
 
     public org.springframework.data.domain.Page<ResponseBookDto> searchBooksWithKeywordAndPaging(String keyword, Pageable pageable) {
+        //검색 엔진이 있으면 관련도 순 id 만 받아 한 번에 조회
+        if (searchEngine.isPresent()) {
+            SearchHits hits = searchEngine.get().search(SearchDocumentType.BOOK, keyword, (int) pageable.getOffset(), pageable.getPageSize());
+            return new PageImpl<>(findBookDtosInOrder(hits.getIds()), pageable, hits.getTotalHits());
+        }
+
         Pageable sortedByCreationDateDesc = PageRequest.of(
                 pageable.getPageNumber(),
                 pageable.getPageSize(),
@@ -288,15 +264,7 @@ public class BookService {
 
         org.springframework.data.domain.Page<Book> books = bookRepository.findByKeywordWithPaging(keyword, sortedByCreationDateDesc);
 
-        List<ResponseBookDto> responseBookDtoList = new ArrayList<>();
-
-        for (Book book : books) {
-            ResponseBookDto responseBookDto = ResponseBookDto.from(book);
-            responseBookDto.setTotalLikeCount(likeService.countTotalLikesForBook(book.getId()));
-            responseBookDtoList.add(responseBookDto);
-        }
-
-        return new PageImpl<>(responseBookDtoList, pageable, books.getTotalElements());
+        return bookDtoAssembler.toDtoPage(books, pageable);
     }
 
     public org.springframework.data.domain.Page<ResponseBookDto> findAllBooks(Pageable pageable) {
@@ -308,15 +276,24 @@ public class BookService {
 
         org.springframework.data.domain.Page<Book> books = bookRepository.findAll(sortedByCreationDateDesc);
 
-        List<ResponseBookDto> responseBookDtoList = new ArrayList<>();
+        return bookDtoAssembler.toDtoPage(books, pageable);
+    }
+
+    //커서 기반 전체 북 목록, 오프셋과 COUNT 쿼리 없이 커서 뒤의 size 개만 조회
+    public CursorSlice<ResponseBookDto> findBooksByCursor(String cursor, int size) {
+        FeedCursor feedCursor = FeedCursor.decode(cursor);
+        int limit = FeedCursor.limit(size);
 
-        for (Book book : books) {
-            ResponseBookDto responseBookDto = ResponseBookDto.from(book);
-            responseBookDto.setTotalLikeCount(likeService.countTotalLikesForBook(book.getId()));
-            responseBookDtoList.add(responseBookDto);
-        }
+        List<FeedCursor.Key> keys = bookRepository.findKeysBefore(feedCursor.getCreatedAt(), feedCursor.getId(), PageRequest.of(0, limit + 1));
+        return CursorSlice.of(keys, limit, this::findBookDtosInOrder);
+    }
 
-        return new PageImpl<>(responseBookDtoList, pageable, books.getTotalElements());
+    public CursorSlice<ResponseBookDto> findBooksByCategoryAndCursor(Category category, String cursor, int size) {
+        FeedCursor feedCursor = FeedCursor.decode(cursor);
+        int limit = FeedCursor.limit(size);
+
+        List<FeedCursor.Key> keys = bookRepository.findKeysByCategoryBefore(category, feedCursor.getCreatedAt(), feedCursor.getId(), PageRequest.of(0, limit + 1));
+        return CursorSlice.of(keys, limit, this::findBookDtosInOrder);
     }
 
     public org.springframework.data.domain.Page<ResponseBookDto> findAllBooksByCategory(Category category,Pageable pageable) {
@@ -328,15 +305,7 @@ public class BookService {
 
         org.springframework.data.domain.Page<Book> books = bookRepository.findByCategory(category, sortedByCreationDateDesc);
 
-        List<ResponseBookDto> responseBookDtoList = new ArrayList<>();
-
-        for (Book book : books) {
-            ResponseBookDto responseBookDto = ResponseBookDto.from(book);
-            responseBookDto.setTotalLikeCount(likeService.countTotalLikesForBook(book.getId()));
-            responseBookDtoList.add(responseBookDto);
-        }
-
-        return new PageImpl<>(responseBookDtoList, pageable, books.getTotalElements());
+        return bookDtoAssembler.toDtoPage(books, pageable);
     }
 
 
@@ -358,15 +327,32 @@ public class BookService {
     }
 
     public Set<ResponseBookDto> parseTopRankedBooks(Set<String> bookIds) {
-        Set<ResponseBookDto> topRankedBooks = new LinkedHashSet<>();
-        for (String bookId : bookIds) {
-            Book book = bookRepository.findById(Long.parseLong(bookId))
-                    .orElseThrow(() -> new BookException(ResponseCode.BOOK_NOT_FOUND));
-            ResponseBookDto responseBookDto = ResponseBookDto.from(book);
-            responseBookDto.setTotalLikeCount(likeService.countTotalLikesForBook(book.getId()));
-            topRankedBooks.add(responseBookDto);
+        List<Long> rankedIds = bookIds.stream()
+                .map(Long::valueOf)
+                .collect(Collectors.toList());
+        return rankedBookCache.get(rankedIds, this::hydrateRankedBooks);
+    }
+
+    //랭킹 id 전체를 한 번의 fetch join 으로 조회하고 랭킹 순서대로 정렬
+    //페이지 id 는 묶음 조회 한 번, 좋아요 합계는 비정규화된 카운터 사용
+    private Set<ResponseBookDto> hydrateRankedBooks(List<Long> rankedIds) {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(findBookDtosInOrder(rankedIds)));
+    }
+
+    //id 목록 순서를 유지하며 한 번의 fetch join 으로 조회, 없는 id 는 건너뛴다
+    private List<ResponseBookDto> findBookDtosInOrder(List<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return Collections.emptyList();
         }
-        return topRankedBooks;
+
+        Map<Long, Book> booksById = bookRepository.findAllWithDetailsByIdIn(bookIds).stream()
+                .collect(Collectors.toMap(Book::getId, book -> book));
+
+        List<Book> books = bookIds.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return bookDtoAssembler.toDtoList(books);
     }
 
 
@@ -404,10 +390,7 @@ public class BookService {
         }
     }
 
-    private void validatePageInBook(Long pageId, Long bookId, String userEmail){
-        Long userId = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND)).getId();
-
+    private void validatePageInBook(Long pageId, Long bookId, Long userId){
         validatePage(pageId, userId);
         validateBook(bookId, userId);
 
@@ -0,0 +1,251 @@
+package cau.capstone.backend.page.service;
+
+import cau.capstone.backend.global.util.LongIntMap;
+import cau.capstone.backend.page.dto.response.ResponseHashtagDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+//해시태그 동시 출현 행렬, 같은 페이지에 함께 달린 태그 쌍의 페이지 수를 메모리에 유지
+//태그마다 (상대 태그 번호 -> 횟수) 희소 행을 두어 연관 태그 top-K 를 DB 조회 없이 계산한다
+//페이지 생성/삭제 이벤트로 증감하고, 시작 시와 매일 page_hashtags 를 스트리밍으로 읽어 다시 만든다
+@Slf4j
+@Component
+public class HashtagCooccurrence {
+
+    private static final int MAX_TOP = 50;
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final int maxTagsPerPage;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Matrix matrix = new Matrix();
+    //재구성 중에 들어온 증감, 교체 직전에 새 행렬에 다시 반영한다 (재구성 중이 아니면 null)
+    private List<Consumer<Matrix>> pendingDeltas;
+
+    public HashtagCooccurrence(JdbcTemplate jdbcTemplate,
+                               @Value("${hashtag.related.max-tags-per-page:30}") int maxTagsPerPage) {
+        //MySQL 드라이버는 fetchSize 가 Integer.MIN_VALUE 일 때 결과를 한 행씩 스트리밍한다
+        this.streamingJdbcTemplate = new JdbcTemplate(Objects.requireNonNull(jdbcTemplate.getDataSource()));
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.maxTagsPerPage = maxTagsPerPage;
+    }
+
+
+    public List<ResponseHashtagDto> related(String tag, int top) {
+        if (tag == null || tag.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            return matrix.top(tag.trim(), Math.max(1, Math.min(top, MAX_TOP)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //페이지 생성/삭제 커밋 후 반영
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPageHashtags(PageHashtagEvent event) {
+        apply(event.getTags(), event.getDelta());
+    }
+
+    public void apply(Collection<String> tags, int delta) {
+        Set<String> distinct = normalize(tags);
+        if (distinct.size() < 2) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            matrix.add(distinct, delta);
+            if (pendingDeltas != null) {
+                pendingDeltas.add(target -> target.add(distinct, delta));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //삭제로 0 이하가 된 항목을 지우고 행 배열을 줄인다
+    @Scheduled(fixedDelayString = "${hashtag.related.compact-ms:3600000}")
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            matrix.compact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("해시태그 동시 출현 행렬 재구성 실패", e);
+        }
+    }
+
+    //page_hashtags 를 page_id 순으로 스트리밍해 페이지 단위로 새 행렬을 만든 뒤 교체
+    //스트리밍 중에 커밋된 이벤트는 기존 행렬과 함께 pendingDeltas 에 쌓아 두었다가 교체 직전에 새 행렬에 반영한다
+    @Scheduled(cron = "${hashtag.related.rebuild-cron:0 30 4 * * *}")
+    public synchronized void rebuild() {
+        LocalDateTime start = LocalDateTime.now();
+        Matrix rebuilt = new Matrix();
+        long[] currentPage = {-1L};
+        List<String> pageTags = new ArrayList<>();
+
+        lock.writeLock().lock();
+        try {
+            pendingDeltas = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            streamingJdbcTemplate.query(
+                    "SELECT ph.page_id, h.tag FROM page_hashtags ph JOIN hashtag h ON h.id = ph.hashtag_id ORDER BY ph.page_id",
+                    rs -> {
+                        long pageId = rs.getLong(1);
+                        if (pageId != currentPage[0]) {
+                            addPage(rebuilt, pageTags);
+                            pageTags.clear();
+                            currentPage[0] = pageId;
+                        }
+                        pageTags.add(rs.getString(2));
+                    });
+            addPage(rebuilt, pageTags);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDeltas = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            replayed = pendingDeltas.size();
+            for (Consumer<Matrix> delta : pendingDeltas) {
+                delta.accept(rebuilt);
+            }
+            pendingDeltas = null;
+            matrix = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("해시태그 동시 출현 행렬 재구성 완료 - 태그 {}, 재반영 {}, {}ms", rebuilt.tags.size(), replayed, Duration.between(start, LocalDateTime.now()).toMillis());
+    }
+
+    private void addPage(Matrix target, List<String> tags) {
+        Set<String> distinct = normalize(tags);
+        if (distinct.size() >= 2) {
+            target.add(distinct, 1);
+        }
+    }
+
+    //태그가 많은 페이지는 쌍이 제곱으로 늘어나므로 앞의 maxTagsPerPage 개만 센다
+    private Set<String> normalize(Collection<String> tags) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (tags == null) {
+            return normalized;
+        }
+        for (String tag : tags) {
+            if (normalized.size() >= maxTagsPerPage) {
+                break;
+            }
+            if (tag != null && !tag.trim().isEmpty()) {
+                normalized.add(tag.trim());
+            }
+        }
+        return normalized;
+    }
+
+
+    //태그 문자열마다 0 부터 번호를 붙이고, 번호로 행을 찾는다
+    static class Matrix {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> tags = new ArrayList<>();
+        private final List<LongIntMap> rows = new ArrayList<>();
+
+        void add(Set<String> distinct, int delta) {
+            int[] tagIds = new int[distinct.size()];
+            int i = 0;
+            for (String tag : distinct) {
+                tagIds[i++] = idOf(tag);
+            }
+
+            for (int a = 0; a < tagIds.length; a++) {
+                LongIntMap row = rows.get(tagIds[a]);
+                for (int b = 0; b < tagIds.length; b++) {
+                    if (a != b) {
+                        row.addTo(tagIds[b], delta);
+                    }
+                }
+            }
+        }
+
+        //횟수 내림차순, 같으면 먼저 등록된 태그 순
+        List<ResponseHashtagDto> top(String tag, int k) {
+            Integer id = ids.get(tag);
+            if (id == null) {
+                return Collections.emptyList();
+            }
+
+            //(횟수, 번호)를 long 하나로 묶은 최소 힙, 크기 k 를 넘으면 가장 작은 값을 버린다
+            PriorityQueue<Long> heap = new PriorityQueue<>(k + 1);
+            rows.get(id).forEach((other, count) -> {
+                if (count <= 0) {
+                    return;
+                }
+                heap.offer(((long) count << 32) | (Integer.MAX_VALUE - other));
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            });
+
+            ResponseHashtagDto[] result = new ResponseHashtagDto[heap.size()];
+            for (int i = result.length - 1; i >= 0; i--) {
+                long packed = heap.poll();
+                int other = Integer.MAX_VALUE - (int) (packed & 0xFFFFFFFFL);
+                result[i] = new ResponseHashtagDto(tags.get(other), packed >>> 32);
+            }
+            return Arrays.asList(result);
+        }
+
+        void compact() {
+            for (LongIntMap row : rows) {
+                row.compact();
+            }
+        }
+
+        private int idOf(String tag) {
+            Integer id = ids.get(tag);
+            if (id == null) {
+                id = tags.size();
+                ids.put(tag, id);
+                tags.add(tag);
+                rows.add(new LongIntMap());
+            }
+            return id;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package cau.capstone.backend.page.service;
+
+import cau.capstone.backend.global.util.TtlCache;
+import cau.capstone.backend.page.model.Hashtag;
+import cau.capstone.backend.page.model.repository.HashtagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+//해시태그 문자열 -> Hashtag 엔티티 변환
+//tag -> id 를 메모리에 캐시하고, 캐시에 없는 태그는 한 번의 INSERT ... ON DUPLICATE KEY 와 한 번의 IN 조회로 처리
+//태그 수와 관계없이 해시태그 쿼리는 최대 두 번, 동시에 같은 태그를 만들어도 hashtag.tag 유니크 키로 중복되지 않는다
+//캐시와 자동완성 색인은 커밋 후에 채워 롤백된 태그 id 가 남지 않도록 한다
+@Slf4j
+@Service
+public class HashtagDictionary {
+
+    static final String UNIQUE_KEY = "uk_hashtag_tag";
+
+    private final HashtagRepository hashtagRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final HashtagSuggestIndex hashtagSuggestIndex;
+
+    //id 는 바뀌지 않으므로 만료는 크기 제한용
+    private final TtlCache<String, Long> tagIds;
+
+    public HashtagDictionary(HashtagRepository hashtagRepository,
+                             JdbcTemplate jdbcTemplate,
+                             HashtagSuggestIndex hashtagSuggestIndex,
+                             @Value("${hashtag.cache.max-size:10000}") int maxSize) {
+        this.hashtagRepository = hashtagRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.hashtagSuggestIndex = hashtagSuggestIndex;
+        this.tagIds = new TtlCache<>(3_600_000, maxSize);
+    }
+
+
+    //현재 트랜잭션에 속한 Hashtag 를 반환, 캐시에 있는 태그는 쿼리 없이 참조만 만든다
+    @Transactional
+    public Set<Hashtag> resolve(Collection<String> tags) {
+        Set<String> normalized = normalize(tags);
+        Set<Hashtag> hashtags = new HashSet<>();
+
+        List<String> misses = new ArrayList<>();
+        for (String tag : normalized) {
+            Long id = tagIds.getIfPresent(tag);
+            if (id == null) {
+                misses.add(tag);
+            } else {
+                hashtags.add(hashtagRepository.getReferenceById(id));
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            insertIgnoringDuplicates(misses);
+            List<Hashtag> created = hashtagRepository.findAllByTagIn(misses);
+            checkAllFound(misses, created);
+            hashtags.addAll(created);
+            afterCommit(() -> {
+                for (Hashtag hashtag : created) {
+                    tagIds.put(hashtag.getTag(), hashtag.getId());
+                }
+                hashtagSuggestIndex.add(misses);
+            });
+        }
+        return hashtags;
+    }
+
+    //조용히 태그가 빠지지 않도록, 대소문자만 다른 태그는 콜레이션상 같은 행이라 같은 것으로 본다
+    private static void checkAllFound(List<String> tags, List<Hashtag> found) {
+        Set<String> foundTags = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (Hashtag hashtag : found) {
+            foundTags.add(hashtag.getTag());
+        }
+        for (String tag : tags) {
+            if (!foundTags.contains(tag)) {
+                throw new IllegalStateException("저장한 해시태그를 찾지 못함 - " + tag);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    //이미 있는 태그는 유니크 키 충돌로 무시된다
+    private void insertIgnoringDuplicates(List<String> tags) {
+        String values = tags.stream().map(tag -> "(?)").collect(Collectors.joining(", "));
+        jdbcTemplate.update("INSERT INTO hashtag (tag) VALUES " + values + " ON DUPLICATE KEY UPDATE tag = tag", tags.toArray());
+    }
+
+    private static Set<String> normalize(Collection<String> tags) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (tags == null) {
+            return normalized;
+        }
+        for (String tag : tags) {
+            if (tag != null && !tag.trim().isEmpty()) {
+                normalized.add(tag.trim());
+            }
+        }
+        return normalized;
+    }
+
+
+    //유니크 키가 없을 때만 중복 저장된 태그를 가장 작은 id 로 합친 뒤 유니크 키를 건다
+    //ALTER TABLE 은 암묵적으로 커밋되므로 트랜잭션으로 묶지 않는다, 실패해도 기동은 막지 않고 다음 기동 때 다시 시도
+    @EventListener(ApplicationReadyEvent.class)
+    public void mergeDuplicateTags() {
+        try {
+            if (hasUniqueKey()) {
+                return;
+            }
+
+            List<Map<String, Object>> duplicates = jdbcTemplate.queryForList(
+                    "SELECT tag, MIN(id) AS keep_id FROM hashtag GROUP BY tag HAVING COUNT(*) > 1");
+
+            for (Map<String, Object> duplicate : duplicates) {
+                String tag = (String) duplicate.get("tag");
+                long keepId = ((Number) duplicate.get("keep_id")).longValue();
+
+                for (String joinTable : new String[]{"page_hashtags", "book_hashtags"}) {
+                    //이미 keepId 로 연결된 행은 IGNORE 로 남았다가 아래에서 지워진다
+                    jdbcTemplate.update("UPDATE IGNORE " + joinTable + " SET hashtag_id = ? " +
+                            "WHERE hashtag_id IN (SELECT id FROM (SELECT id FROM hashtag WHERE tag = ? AND id <> ?) d)", keepId, tag, keepId);
+                    jdbcTemplate.update("DELETE FROM " + joinTable + " " +
+                            "WHERE hashtag_id IN (SELECT id FROM (SELECT id FROM hashtag WHERE tag = ? AND id <> ?) d)", tag, keepId);
+                }
+                jdbcTemplate.update("DELETE FROM hashtag WHERE tag = ? AND id <> ?", tag, keepId);
+            }
+
+            jdbcTemplate.execute("ALTER TABLE hashtag ADD CONSTRAINT " + UNIQUE_KEY + " UNIQUE (tag)");
+            log.info("해시태그 유니크 키 추가 완료 - 병합한 중복 태그 {}", duplicates.size());
+        } catch (Exception e) {
+            log.error("중복 해시태그 병합 실패", e);
+        }
+    }
+
+    private boolean hasUniqueKey() {
+        Integer uniqueKeys = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = 'hashtag' AND index_name = ?", Integer.class, UNIQUE_KEY);
+        return uniqueKeys != null && uniqueKeys > 0;
+    }
+}
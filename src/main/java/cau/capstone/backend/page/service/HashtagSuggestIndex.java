@@ -0,0 +1,169 @@
+package cau.capstone.backend.page.service;
+
+import cau.capstone.backend.global.redis.RankingService;
+import cau.capstone.backend.global.util.HangulJamo;
+import cau.capstone.backend.page.dto.response.ResponseHashtagDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+//해시태그 접두어 자동완성, 모든 태그를 자모로 풀어 쓴 키로 정렬한 배열에서 이진 탐색
+//키는 "자모\0태그" 형태라 같은 자모열을 가진 태그도 함께 둘 수 있다
+//가중치는 RankingService 의 태그 좋아요/조회 랭킹 크기이며, 주기적인 재구성 때 갱신한다
+//재구성 이후 새로 만들어진 태그는 added 에 가중치 0 으로 두었다가 다음 재구성 때 배열로 합친다
+@Slf4j
+@Component
+public class HashtagSuggestIndex {
+
+    private static final char SEPARATOR = '\0';
+    private static final int MAX_TOP = 20;
+    private static final int WEIGHT_CHUNK_SIZE = 1000;
+
+    private static final Comparator<ResponseHashtagDto> WORST_FIRST =
+            Comparator.comparingLong(ResponseHashtagDto::getScore)
+                    .thenComparing(dto -> dto.getTag().length(), Comparator.reverseOrder())
+                    .thenComparing(ResponseHashtagDto::getTag, Comparator.reverseOrder());
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final RankingService rankingService;
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new long[0]);
+    private final ConcurrentSkipListSet<String> added = new ConcurrentSkipListSet<>();
+
+    public HashtagSuggestIndex(JdbcTemplate jdbcTemplate, RankingService rankingService) {
+        //MySQL 드라이버는 fetchSize 가 Integer.MIN_VALUE 일 때 결과를 한 행씩 스트리밍한다
+        this.streamingJdbcTemplate = new JdbcTemplate(Objects.requireNonNull(jdbcTemplate.getDataSource()));
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.rankingService = rankingService;
+    }
+
+
+    public List<ResponseHashtagDto> suggest(String prefix, int top) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String key = HangulJamo.decompose(prefix.trim());
+        int k = Math.max(1, Math.min(top, MAX_TOP));
+        PriorityQueue<ResponseHashtagDto> heap = new PriorityQueue<>(k + 1, WORST_FIRST);
+
+        Snapshot current = snapshot;
+        int from = current.lowerBound(key);
+        for (int i = from; i < current.entries.length && current.entries[i].startsWith(key); i++) {
+            offer(heap, k, new ResponseHashtagDto(tagOf(current.entries[i]), current.weights[i]));
+        }
+        for (String entry : added.subSet(key, true, key + Character.MAX_VALUE, true)) {
+            offer(heap, k, new ResponseHashtagDto(tagOf(entry), 0));
+        }
+
+        List<ResponseHashtagDto> result = new ArrayList<>(heap);
+        result.sort(WORST_FIRST.reversed());
+        return result;
+    }
+
+    //HashtagDictionary 가 새로 저장한 태그, 이미 있는 태그는 무시
+    public void add(Collection<String> tags) {
+        Snapshot current = snapshot;
+        for (String tag : tags) {
+            String entry = entryOf(tag);
+            if (!current.contains(entry)) {
+                added.add(entry);
+            }
+        }
+    }
+
+    //DB 를 읽지 못해도 기동은 막지 않는다, 그동안은 새로 만들어진 태그만 제안하고 다음 주기 재구성 때 채운다
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("해시태그 자동완성 색인 재구성 실패", e);
+        }
+    }
+
+    //hashtag 테이블을 스트리밍으로 읽어 정렬 배열을 새로 만들고 가중치를 채운 뒤 교체
+    @Scheduled(fixedDelayString = "${hashtag.suggest.rebuild-ms:600000}", initialDelayString = "${hashtag.suggest.rebuild-ms:600000}")
+    public void rebuild() {
+        LocalDateTime start = LocalDateTime.now();
+        List<String> entries = new ArrayList<>();
+        streamingJdbcTemplate.query("SELECT tag FROM hashtag", rs -> {
+            entries.add(entryOf(rs.getString(1)));
+        });
+        entries.sort(null);
+
+        String[] sorted = entries.toArray(new String[0]);
+        Snapshot rebuilt = new Snapshot(sorted, weightsOf(sorted));
+        snapshot = rebuilt;
+        added.removeIf(rebuilt::contains);
+        log.info("해시태그 자동완성 색인 재구성 완료 - {}, {}ms", sorted.length, Duration.between(start, LocalDateTime.now()).toMillis());
+    }
+
+    //Redis 를 쓸 수 없으면 가중치 없이 가나다순으로만 제안
+    private long[] weightsOf(String[] entries) {
+        long[] weights = new long[entries.length];
+        try {
+            for (int from = 0; from < entries.length; from += WEIGHT_CHUNK_SIZE) {
+                int to = Math.min(from + WEIGHT_CHUNK_SIZE, entries.length);
+                List<String> tags = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    tags.add(tagOf(entries[i]));
+                }
+                List<Long> usage = rankingService.getTagUsage(tags);
+                for (int i = from; i < to; i++) {
+                    weights[i] = usage.get(i - from);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("해시태그 가중치 조회 실패, 가중치 없이 구성", e);
+            Arrays.fill(weights, 0L);
+        }
+        return weights;
+    }
+
+    private static void offer(PriorityQueue<ResponseHashtagDto> heap, int k, ResponseHashtagDto candidate) {
+        heap.offer(candidate);
+        if (heap.size() > k) {
+            heap.poll();
+        }
+    }
+
+    private static String entryOf(String tag) {
+        return HangulJamo.decompose(tag) + SEPARATOR + tag;
+    }
+
+    private static String tagOf(String entry) {
+        return entry.substring(entry.indexOf(SEPARATOR) + 1);
+    }
+
+
+    private static class Snapshot {
+
+        private final String[] entries;
+        private final long[] weights;
+
+        Snapshot(String[] entries, long[] weights) {
+            this.entries = entries;
+            this.weights = weights;
+        }
+
+        //key 이상인 첫 위치
+        int lowerBound(String key) {
+            int index = Arrays.binarySearch(entries, key);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        boolean contains(String entry) {
+            return Arrays.binarySearch(entries, entry) >= 0;
+        }
+    }
+}
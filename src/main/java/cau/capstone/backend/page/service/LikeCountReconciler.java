@@ -0,0 +1,85 @@
+package cau.capstone.backend.page.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+//비정규화된 좋아요 카운터(page.like_count, book.total_like_count, user.total_like_count)를 like 테이블 기준으로 재계산
+//id 범위 단위로 나누어 갱신하므로 한 번에 긴 락을 잡지 않는다
+//카운터 컬럼이 추가되기 전 데이터가 새벽 cron 까지 0 으로 보이지 않도록 기동 시 한 번 같은 재계산으로 채운다
+@Slf4j
+@Component
+public class LikeCountReconciler {
+
+    private static final String REBUILD_PAGE_LIKE_COUNT =
+            "UPDATE page p SET p.like_count = " +
+            "(SELECT COUNT(*) FROM `like` l WHERE l.like_type = 'PAGE' AND l.target_id = p.page_id) " +
+            "WHERE p.page_id BETWEEN ? AND ?";
+
+    private static final String REBUILD_BOOK_LIKE_COUNT =
+            "UPDATE book b SET b.total_like_count = " +
+            "(SELECT COUNT(*) FROM `like` l WHERE l.like_type = 'BOOK' AND l.target_id = b.book_id) + " +
+            "(SELECT COALESCE(SUM(p.like_count), 0) FROM page p WHERE p.book_id = b.book_id) " +
+            "WHERE b.book_id BETWEEN ? AND ?";
+
+    private static final String REBUILD_USER_LIKE_COUNT =
+            "UPDATE `user` u SET u.total_like_count = " +
+            "(SELECT COALESCE(SUM(b.total_like_count), 0) FROM book b WHERE b.user_id = u.user_id) " +
+            "WHERE u.user_id BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+    private final boolean backfillOnStartup;
+
+    public LikeCountReconciler(JdbcTemplate jdbcTemplate,
+                               @Value("${like.reconcile.chunk-size:1000}") int chunkSize,
+                               @Value("${like.reconcile.on-startup:true}") boolean backfillOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            //기동은 막지 않고 다음 cron 에서 다시 맞춘다
+            log.warn("좋아요 카운터 기동 시 재계산 실패", e);
+        }
+    }
+
+    @Scheduled(cron = "${like.reconcile.cron:0 0 4 * * *}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+
+        //페이지 -> 북 -> 유저 순서로 하위 합계가 먼저 맞춰져야 한다
+        int pages = rebuild("page", "page_id", REBUILD_PAGE_LIKE_COUNT);
+        int books = rebuild("book", "book_id", REBUILD_BOOK_LIKE_COUNT);
+        int users = rebuild("`user`", "user_id", REBUILD_USER_LIKE_COUNT);
+
+        log.info("좋아요 카운터 재계산 완료 - page: {}, book: {}, user: {}, {}ms",
+                pages, books, users, System.currentTimeMillis() - start);
+    }
+
+    private int rebuild(String table, String idColumn, String sql) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(" + idColumn + ") FROM " + table, Long.class);
+        if (maxId == null) {
+            return 0;
+        }
+
+        int updated = 0;
+        for (long from = 1; from <= maxId; from += chunkSize) {
+            updated += jdbcTemplate.update(sql, from, from + chunkSize - 1);
+        }
+        return updated;
+    }
+}
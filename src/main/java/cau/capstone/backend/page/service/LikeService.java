@@ -1,19 +1,25 @@
 package cau.capstone.backend.page.service;
 
+import cau.capstone.backend.User.model.User;
+import cau.capstone.backend.User.model.repository.UserRepository;
+import cau.capstone.backend.global.redis.UserLikeRankingService;
 import cau.capstone.backend.global.util.api.ResponseCode;
 import cau.capstone.backend.global.util.exception.BookException;
+import cau.capstone.backend.global.util.exception.UserException;
 import cau.capstone.backend.page.model.Book;
 import cau.capstone.backend.page.model.Like;
 import cau.capstone.backend.page.model.LikeType;
 import cau.capstone.backend.page.model.Page;
 import cau.capstone.backend.page.model.repository.BookRepository;
 import cau.capstone.backend.page.model.repository.LikeRepository;
+import cau.capstone.backend.page.model.repository.PageRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.*;
 
 
 @Slf4j
@@ -23,6 +29,10 @@ public class LikeService {
 
     private final LikeRepository likeRepository;
     private final BookRepository bookRepository;
+    private final PageRepository pageRepository;
+    private final UserRepository userRepository;
+    private final UserLikeRankingService userLikeRankingService;
+    private final ApplicationEventPublisher eventPublisher;
 
 //    public List<Like> findLikesForPage(Long pageId) {
 //        return likeRepository.findByLikeTypeAndTargetId(LikeType.PAGE, pageId);
@@ -33,43 +43,92 @@ public class LikeService {
         return likeRepository.countByLikeTypeAndTargetId(LikeType.PAGE, pageId);
     }
 
+    // 페이지 목록의 좋아요 수를 한 번에 조회, 좋아요가 없는 페이지는 0
+    public Map<Long, Integer> countLikesForPages(Collection<Long> pageIds) {
+        return countLikes(LikeType.PAGE, pageIds);
+    }
+
+    private Map<Long, Integer> countLikes(LikeType likeType, Collection<Long> targetIds) {
+        if (targetIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Long, Integer> likeCounts = new HashMap<>();
+        for (LikeRepository.TargetLikeCount count : likeRepository.countByLikeTypeAndTargetIdIn(likeType, targetIds)) {
+            likeCounts.put(count.getTargetId(), count.getLikeCount().intValue());
+        }
+        return likeCounts;
+    }
+
     public int countLikesForBook(Long bookId) {
         return likeRepository.countByLikeTypeAndTargetId(LikeType.BOOK, bookId);
     }
 
 
+    // 북과 소속 페이지들의 좋아요 합, 비정규화된 카운터를 읽는다
     public int countTotalLikesForBook(Long bookId) {
-        int total = 0;
+        return bookRepository.findById(bookId)
+                .orElseThrow(() -> new BookException(ResponseCode.BOOK_NOT_FOUND))
+                .getTotalLikeCount();
+    }
+
+    public int countTotalLikesForUser(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND))
+                .getTotalLikeCount();
+    }
+
 
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new BookException(ResponseCode.BOOK_NOT_FOUND));
+    //페이지 좋아요 증감을 페이지, 소속 북, 북 주인의 카운터에 원자적으로 반영
+    @Transactional
+    public void addPageLikeCount(Page page, int delta) {
+        pageRepository.addLikeCount(page.getId(), delta);
+        page.setLikeCount(page.getLikeCount() + delta);
+        eventPublisher.publishEvent(PageCountEvent.liked(page.getId(), delta));
 
-        List<Page> pages = book.getPages();
-        for (Page page : pages) {
-            total += countLikesForPage(page.getId());
+        if (page.getBook() != null) {
+            addBookLikeCount(page.getBook(), delta);
         }
+    }
 
-        total += countLikesForBook(bookId);
+    //북 좋아요 증감을 북과 북 주인의 카운터, 유저 리더보드에 반영
+    @Transactional
+    public void addBookLikeCount(Book book, int delta) {
+        bookRepository.addTotalLikeCount(book.getId(), delta);
+        book.setTotalLikeCount(book.getTotalLikeCount() + delta);
 
-        return total;
+        User owner = book.getUser();
+        userRepository.addTotalLikeCount(owner.getId(), delta);
+        owner.setTotalLikeCount(owner.getTotalLikeCount() + delta);
+        userLikeRankingService.incrementUserLike(owner.getId(), delta);
     }
 
-    public int countTotalLikesForUser(Long userId) {
-        List<Book> books = bookRepository.findAllByUserId(userId);
-        int total = 0;
-
-        for (Book book : books) {
-            total += countTotalLikesForBook(book.getId());
+    //페이지가 다른 북으로 옮겨질 때 페이지의 좋아요 수를 북 합계 사이에서 이동
+    @Transactional
+    public void movePageLikeCount(Page page, Book from, Book to) {
+        if (page.getLikeCount() == 0) {
+            return;
+        }
+        if (from != null) {
+            addBookLikeCount(from, -page.getLikeCount());
+        }
+        if (to != null) {
+            addBookLikeCount(to, page.getLikeCount());
         }
-
-        return total;
     }
 
     public void deleteBookLike(Book book) {
+        int bookLikes = countLikesForBook(book.getId());
         likeRepository.deleteAllByLikeTypeAndTargetId(LikeType.BOOK, book.getId());
+        if (bookLikes > 0) {
+            addBookLikeCount(book, -bookLikes);
+        }
     }
 
     public void deletePageLike(Page page) {
         likeRepository.deleteAllByLikeTypeAndTargetId(LikeType.PAGE, page.getId());
+        if (page.getLikeCount() > 0) {
+            addPageLikeCount(page, -page.getLikeCount());
+        }
     }
 }
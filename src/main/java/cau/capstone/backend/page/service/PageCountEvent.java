@@ -0,0 +1,23 @@
+package cau.capstone.backend.page.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//페이지 좋아요/조회 카운터가 DB 에 반영될 때 발행, 커밋 이후 RecentPageWindow 가 메모리의 카운트에 더한다
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PageCountEvent {
+
+    private final Long pageId;
+    private final int likeDelta;
+    private final int viewDelta;
+
+    public static PageCountEvent liked(Long pageId, int delta) {
+        return new PageCountEvent(pageId, delta, 0);
+    }
+
+    public static PageCountEvent viewed(Long pageId, int delta) {
+        return new PageCountEvent(pageId, 0, delta);
+    }
+}
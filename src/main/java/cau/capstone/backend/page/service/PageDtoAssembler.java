@@ -0,0 +1,42 @@
+package cau.capstone.backend.page.service;
+
+import cau.capstone.backend.page.dto.response.ResponsePageDto;
+import cau.capstone.backend.page.model.Page;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+//페이지 목록을 ResponsePageDto 로 변환, 좋아요 수는 목록 전체에 대해 한 번만 조회
+@RequiredArgsConstructor
+@Component
+public class PageDtoAssembler {
+
+    private final LikeService likeService;
+
+
+    public List<ResponsePageDto> toDtoList(Iterable<Page> pages) {
+        List<Page> pageList = new ArrayList<>();
+        pages.forEach(pageList::add);
+
+        Map<Long, Integer> likeCounts = likeService.countLikesForPages(
+                pageList.stream().map(Page::getId).collect(Collectors.toList()));
+
+        List<ResponsePageDto> responsePageDtoList = new ArrayList<>(pageList.size());
+        for (Page page : pageList) {
+            ResponsePageDto responsePageDto = ResponsePageDto.from(page);
+            responsePageDto.setLikeCount(likeCounts.getOrDefault(page.getId(), 0));
+            responsePageDtoList.add(responsePageDto);
+        }
+        return responsePageDtoList;
+    }
+
+    public org.springframework.data.domain.Page<ResponsePageDto> toDtoPage(org.springframework.data.domain.Page<Page> pages, Pageable pageable) {
+        return new PageImpl<>(toDtoList(pages.getContent()), pageable, pages.getTotalElements());
+    }
+}
@@ -0,0 +1,29 @@
+package cau.capstone.backend.page.service;
+
+import cau.capstone.backend.page.model.repository.PageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+//발췌문(page_excerpt) 컬럼이 생기기 전에 작성된 페이지를 기동 시 한 번 채운다
+//이후 작성/수정되는 페이지는 Page 에서 직접 발췌문을 저장하므로 대상이 없으면 바로 끝난다
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class PageExcerptBackfill {
+
+    private final PageRepository pageRepository;
+
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void fillMissingExcerpts() {
+        int updated = pageRepository.fillMissingExcerpts();
+        if (updated > 0) {
+            log.info("페이지 발췌문 채우기 완료 - {}", updated);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package cau.capstone.backend.page.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+//페이지 생성/삭제 시 해당 페이지의 해시태그와 함께 발행, 커밋 이후 HashtagCooccurrence 가 동시 출현 수에 반영
+//페이지 수정은 해시태그를 바꾸지 않으므로 발행하지 않는다
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PageHashtagEvent {
+
+    private final Long pageId;
+    private final Collection<String> tags;
+    private final int delta;
+
+    public static PageHashtagEvent created(Long pageId, Collection<String> tags) {
+        return new PageHashtagEvent(pageId, new ArrayList<>(tags), 1);
+    }
+
+    public static PageHashtagEvent deleted(Long pageId, Collection<String> tags) {
+        return new PageHashtagEvent(pageId, new ArrayList<>(tags), -1);
+    }
+}
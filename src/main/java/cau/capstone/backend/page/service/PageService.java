@@ -5,9 +5,18 @@ import cau.capstone.backend.page.dto.response.ResponseBookDto;
 import cau.capstone.backend.page.model.Category;
 import cau.capstone.backend.User.service.ScoreService;
 import cau.capstone.backend.global.redis.RankingService;
-import cau.capstone.backend.global.security.Entity.JwtTokenProvider;
+import cau.capstone.backend.global.redis.RankingUpdate;
+import cau.capstone.backend.global.search.SearchDocumentType;
+import cau.capstone.backend.global.search.SearchEngine;
+import cau.capstone.backend.global.search.SearchHits;
+import cau.capstone.backend.global.search.SearchIndexEvent;
+import cau.capstone.backend.global.security.CurrentUser;
+import cau.capstone.backend.global.util.FeedCursor;
+import cau.capstone.backend.global.util.TtlCache;
+import cau.capstone.backend.global.util.api.CursorSlice;
 import cau.capstone.backend.page.dto.request.*;
 import cau.capstone.backend.page.dto.response.ResponsePageDto;
+import cau.capstone.backend.page.dto.response.ResponsePageSummaryDto;
 import cau.capstone.backend.page.model.*;
 import cau.capstone.backend.page.model.repository.*;
 import cau.capstone.backend.User.model.User;
@@ -26,6 +35,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.util.annotation.Nullable;
@@ -46,95 +56,78 @@ public class PageService {
     private final LikeRepository likeRepository;
     private final BookRepository bookRepository;
 
-    private final JwtTokenProvider jwtTokenProvider;
+    private final CurrentUser currentUser;
 
     private final ScoreService scoreService;
     private final LikeService likeService;
     private final RankingService rankingService;
+    private final ViewCountService viewCountService;
+    private final PageDtoAssembler pageDtoAssembler;
+    private final PageSummaryAssembler pageSummaryAssembler;
     private final HashtagRepository hashtagRepository;
+    private final HashtagDictionary hashtagDictionary;
+    private final Optional<SearchEngine> searchEngine;
+    private final Optional<RecentPageWindow> recentPageWindow;
+    private final ApplicationEventPublisher eventPublisher;
 
+    //랭킹 순서(id 목록)별 하이드레이션 결과, 순위가 바뀌면 키가 달라지므로 자연히 무효화된다
+    private final TtlCache<List<Long>, Set<ResponsePageSummaryDto>> rankedPageCache = new TtlCache<>(10_000, 256);
 
-    @Transactional
-    public ResponsePageDto getPage(String accessToken, Long pageId) {
 
-        String userEmail = jwtTokenProvider.getUserEmail(accessToken);
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND));
-        Long userId = user.getId();
+    @Transactional(readOnly = true)
+    public ResponsePageDto getPage(String accessToken, Long pageId) {
 
-        Page page = getPageById(pageId);
-        Book book = getBookById(page.getBook().getId());
-        page.setViewCount(page.getViewCount() + 1);
-        book.setBookViewCount(book.getBookViewCount() + 1);
-        pageRepository.save(page);
-        bookRepository.save(book);
+        Long userId = currentUser.getId(accessToken);
 
-        for(String tag : page.getHashtagsTag()){
-            rankingService.incrementViewCountPageTag(page.getId(), tag);
-        }
+        Page page = pageRepository.findWithBookById(pageId)
+                .orElseThrow(() -> new PageException(ResponseCode.PAGE_NOT_FOUND));
 
-        rankingService.incrementViewCountPage(page.getId(), page.getEmotion().getType());
-        rankingService.incrementViewCountBook(page.getBook().getId(), page.getBook().getCategory());
-        scoreService.plusViewScore(userId, page);
+        //조회수, 랭킹, 유저 점수는 버퍼에 적재 후 일괄 반영
+        viewCountService.recordView(userId, page);
 
         ResponsePageDto responsePageDto = ResponsePageDto.from(page);
-        responsePageDto.setLikeCount(likeService.countLikesForPage(page.getId()));
+        responsePageDto.setLikeCount(page.getLikeCount());
 
 
         return responsePageDto;
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public ResponsePageDto getPage(Long pageId) {
-        var userEmail = jwtTokenProvider.getUserEmail();
-
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND));
-        Long userId = user.getId();
-
-        Page page = getPageById(pageId);
-        Book book = getBookById(page.getBook().getId());
-        page.setViewCount(page.getViewCount() + 1);
-        book.setBookViewCount(book.getBookViewCount() + 1);
-        pageRepository.save(page);
-        bookRepository.save(book);
+        Long userId = currentUser.getId();
 
-        for(String tag : page.getHashtagsTag()){
-            rankingService.incrementViewCountPageTag(page.getId(), tag);
-        }
+        Page page = pageRepository.findWithBookById(pageId)
+                .orElseThrow(() -> new PageException(ResponseCode.PAGE_NOT_FOUND));
 
-        rankingService.incrementViewCountPage(page.getId(), page.getEmotion().getType());
-        rankingService.incrementViewCountBook(page.getBook().getId(), page.getBook().getCategory());
-        scoreService.plusViewScore(userId, page);
+        //조회수, 랭킹, 유저 점수는 버퍼에 적재 후 일괄 반영
+        viewCountService.recordView(userId, page);
 
         ResponsePageDto responsePageDto = ResponsePageDto.from(page);
-        responsePageDto.setLikeCount(likeService.countLikesForPage(page.getId()));
+        responsePageDto.setLikeCount(page.getLikeCount());
 
         return responsePageDto;
     }
 
-    public org.springframework.data.domain.Page<ResponsePageDto> searchPagesWithKeywordAndPaging(String keyword, Pageable pageable) {
+    public org.springframework.data.domain.Page<ResponsePageSummaryDto> searchPagesWithKeywordAndPaging(String keyword, Pageable pageable) {
+        //검색 엔진이 있으면 관련도 순 id 만 받아 한 번에 조회
+        if (searchEngine.isPresent()) {
+            SearchHits hits = searchEngine.get().search(SearchDocumentType.PAGE, keyword, (int) pageable.getOffset(), pageable.getPageSize());
+            return new PageImpl<>(pageSummaryAssembler.toSummaryList(hits.getIds()), pageable, hits.getTotalHits());
+        }
+
         Pageable sortedByCreationDateDesc = PageRequest.of(
                 pageable.getPageNumber(),
                 pageable.getPageSize(),
                 Sort.by(Sort.Direction.DESC, "createdAt")
         );
 
-        org.springframework.data.domain.Page<Page> pages = pageRepository.findByKeywordWithPaging(keyword, sortedByCreationDateDesc);
-
-        List<ResponsePageDto> responsePageDtoList = new ArrayList<>();
+        org.springframework.data.domain.Page<Long> pageIds = pageRepository.findIdsByKeyword(keyword, sortedByCreationDateDesc);
 
-        for (Page page : pages) {
-            ResponsePageDto responsePageDto = ResponsePageDto.from(page);
-            responsePageDto.setLikeCount(likeService.countLikesForPage(page.getId()));
-            responsePageDtoList.add(responsePageDto);
-        }
-
-        return new PageImpl<>(responsePageDtoList, sortedByCreationDateDesc, pages.getTotalElements());
+        return pageSummaryAssembler.toSummaryPage(pageIds, sortedByCreationDateDesc);
     }
 
 
-    public org.springframework.data.domain.Page<ResponsePageDto> findAllPages(Pageable pageable) {
+    public org.springframework.data.domain.Page<ResponsePageSummaryDto> findAllPages(Pageable pageable) {
 
         Pageable sortedByCreationDateDesc = PageRequest.of(
                 pageable.getPageNumber(),
@@ -142,51 +135,50 @@ public class PageService {
                 Sort.by(Sort.Direction.DESC, "createdAt")
         );
 
-        org.springframework.data.domain.Page<Page> pages = pageRepository.findAll(sortedByCreationDateDesc);
+        org.springframework.data.domain.Page<Long> pageIds = pageRepository.findAllIds(sortedByCreationDateDesc);
 
-        List<ResponsePageDto> responsePageDtoList = new ArrayList<>();
+        return pageSummaryAssembler.toSummaryPage(pageIds, sortedByCreationDateDesc);
+    }
 
-        for (Page page : pages) {
-            ResponsePageDto responsePageDto = ResponsePageDto.from(page);
-            responsePageDto.setLikeCount(likeService.countLikesForPage(page.getId()));
-            responsePageDtoList.add(responsePageDto);
-        }
+    //커서 기반 전체 피드, 오프셋과 COUNT 쿼리 없이 커서 뒤의 size 개만 조회
+    public CursorSlice<ResponsePageSummaryDto> findPagesByCursor(String cursor, int size) {
+        FeedCursor feedCursor = FeedCursor.decode(cursor);
+        int limit = FeedCursor.limit(size);
 
+        List<FeedCursor.Key> keys = pageRepository.findKeysBefore(feedCursor.getCreatedAt(), feedCursor.getId(), PageRequest.of(0, limit + 1));
+        return CursorSlice.of(keys, limit, pageSummaryAssembler::toSummaryList);
+    }
+
+    public CursorSlice<ResponsePageSummaryDto> findPagesByEmotionTypeAndCursor(EmotionType emotionType, String cursor, int size) {
+        FeedCursor feedCursor = FeedCursor.decode(cursor);
+        int limit = FeedCursor.limit(size);
 
-        return new PageImpl<>(responsePageDtoList, sortedByCreationDateDesc, pages.getTotalElements());
+        List<FeedCursor.Key> keys = pageRepository.findKeysByEmotionTypeBefore(emotionType, feedCursor.getCreatedAt(), feedCursor.getId(), PageRequest.of(0, limit + 1));
+        return CursorSlice.of(keys, limit, pageSummaryAssembler::toSummaryList);
     }
 
-    public org.springframework.data.domain.Page<ResponsePageDto> findPagesByEmotionType(EmotionType emotionType, Pageable pageable) {
+    public org.springframework.data.domain.Page<ResponsePageSummaryDto> findPagesByEmotionType(EmotionType emotionType, Pageable pageable) {
         Pageable sortedByCreationDateDesc = PageRequest.of(
                 pageable.getPageNumber(),
                 pageable.getPageSize(),
                 Sort.by(Sort.Direction.DESC, "createdAt")
         );
 
-        org.springframework.data.domain.Page<Page> pages = pageRepository.findByEmotionType(emotionType, sortedByCreationDateDesc);
-
-        List<ResponsePageDto> responsePageDtoList = new ArrayList<>();
+        org.springframework.data.domain.Page<Long> pageIds = pageRepository.findIdsByEmotionType(emotionType, sortedByCreationDateDesc);
 
-        for (Page page : pages) {
-            ResponsePageDto responsePageDto = ResponsePageDto.from(page);
-            responsePageDto.setLikeCount(likeService.countLikesForPage(page.getId()));
-            responsePageDtoList.add(responsePageDto);
-        }
-
-        return new PageImpl<>(responsePageDtoList, sortedByCreationDateDesc, pages.getTotalElements());
+        return pageSummaryAssembler.toSummaryPage(pageIds, sortedByCreationDateDesc);
     }
 
     @Transactional
     public ResponsePageDto createPage(CreatePageDto createPageDto, String accessToken) {
-        String userEmail = jwtTokenProvider.getUserEmail(accessToken);
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND));
+        Long userId = currentUser.getId(accessToken);
 
         Book book = getBookById(createPageDto.getBookId());
 
-        if(book.getUser().getId() != user.getId()){
+        if(!book.getUser().getId().equals(userId)){
             throw new PageException(ResponseCode.BOOK_NOT_OWNED);
         }
+        User user = currentUser.getReference(userId);
 
         Page page = Page.createPage(user, book, createPageDto.getTitle(), createPageDto.getContent());
 
@@ -197,6 +189,8 @@ public class PageService {
         setPageEmotion(page, createPageDto.getEmotionType(), createPageDto.getEmotionIntensity());
 
         pageRepository.save(page);
+        eventPublisher.publishEvent(SearchIndexEvent.upsert(SearchDocumentType.PAGE, page.getId()));
+        eventPublisher.publishEvent(PageHashtagEvent.created(page.getId(), page.getHashtagsTag()));
 
         ResponsePageDto responsePageDto = ResponsePageDto.from(page);
 
@@ -236,15 +230,7 @@ public class PageService {
         validateUser(userId);
         List<Page> pageList = pageRepository.findAllByUserId(userId);
 
-        List<ResponsePageDto> responsePageDtoList = new ArrayList<>();
-
-        for (Page page : pageList) {
-            ResponsePageDto responsePageDto = ResponsePageDto.from(page);
-            responsePageDto.setLikeCount(likeService.countLikesForPage(page.getId()));
-            responsePageDtoList.add(responsePageDto);
-        }
-
-        return responsePageDtoList;
+        return pageDtoAssembler.toDtoList(pageList);
     }
 
     //페이지 정보 수정
@@ -252,9 +238,10 @@ public class PageService {
     public ResponsePageDto updatePage(UpdatePageDto updatePageDto) {
         Page page = getPageById(updatePageDto.getPageId());
         page.updatePage(updatePageDto.getTitle(), updatePageDto.getContent());
+        eventPublisher.publishEvent(SearchIndexEvent.upsert(SearchDocumentType.PAGE, page.getId()));
 
         ResponsePageDto responsePageDto = ResponsePageDto.from(page);
-        responsePageDto.setLikeCount(likeService.countLikesForPage(page.getId()));
+        responsePageDto.setLikeCount(page.getLikeCount());
 
         return responsePageDto;
     }
@@ -265,6 +252,7 @@ public class PageService {
         validatePage(pageId, userId);
         Page page = getPageById(pageId);
         ResponsePageDto responsePageDto = ResponsePageDto.from(page);
+        Set<String> hashtags = page.getHashtagsTag();
         //페이지 제거시 삭제해야 하는 것 - 페이지가 포함된 북의 정보 수정, 페이지에 달린 좋아요 삭제, 페이지 삭제, 페이지의 해시태그 삭제
         //북 정보 수정
         Book book = getBookById(page.getBook().getId());
@@ -278,6 +266,8 @@ public class PageService {
         //페이지 삭제
         pageRepository.deleteById(pageId);
         bookRepository.save(book);
+        eventPublisher.publishEvent(SearchIndexEvent.delete(SearchDocumentType.PAGE, pageId));
+        eventPublisher.publishEvent(PageHashtagEvent.deleted(pageId, hashtags));
 
         return responsePageDto;
     }
@@ -343,7 +333,7 @@ public class PageService {
         }
 
         ResponsePageDto responsePageDto = ResponsePageDto.from(linkedPage);
-        responsePageDto.setLikeCount(likeService.countLikesForPage(linkedPage.getId()));
+        responsePageDto.setLikeCount(linkedPage.getLikeCount());
 
         return responsePageDto;
     }
@@ -382,28 +372,24 @@ public class PageService {
     @Transactional
     public ResponsePageDto likePage(LikePageDto likePageDto, String accessToken) {
 
-        String userEmail = jwtTokenProvider.getUserEmail(accessToken);
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND));
-        Long userId = user.getId();
+        Long userId = currentUser.getId(accessToken);
+        User user = currentUser.getReference(userId);
 
         Page page = getPageById(likePageDto.getPageId());
         Book book = getBookById(page.getBook().getId());
         Like like = Like.createLike(user, LikeType.PAGE, page.getId());
 
         scoreService.plusLikeScore(userId, page);
-        rankingService.likeBook(book.getId(), book.getCategory());
-        rankingService.likePage(page.getId(), page.getEmotion().getType());
-
-        for (String tag: page.getHashtagsTag()){
-            rankingService.likePageTag(page.getId(), tag);
-        }
+        rankingService.apply(new RankingUpdate()
+                .likeBook(book.getId(), book.getCategory(), 1)
+                .likePage(page.getId(), page.getEmotion().getType(), 1)
+                .likePageTags(page.getId(), page.getHashtagsTag(), 1));
 
         likeRepository.save(like);
-        pageRepository.save(page);
+        likeService.addPageLikeCount(page, 1);
 
         ResponsePageDto dto = ResponsePageDto.from(page);
-        dto.setLikeCount(likeService.countLikesForPage(page.getId()));
+        dto.setLikeCount(page.getLikeCount());
 
         return dto;
     }
@@ -412,10 +398,7 @@ public class PageService {
     @Transactional
     public ResponsePageDto dislikePage(LikePageDto likePageDto, String accessToken) {
 
-        String userEmail = jwtTokenProvider.getUserEmail(accessToken);
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UserException(ResponseCode.USER_NOT_FOUND));
-        Long userId = user.getId();
+        Long userId = currentUser.getId(accessToken);
 
         Page page = getPageById(likePageDto.getPageId());
 
@@ -426,18 +409,16 @@ public class PageService {
             throw new LikeException(ResponseCode.LIKE_NOT_FOUND);
         } else {
 
-            rankingService.unlikePage(page.getId(), page.getEmotion().getType());
-            rankingService.unlikeBook(page.getBook().getId(), page.getBook().getCategory());
-
-            for (String tag: page.getHashtagsTag()){
-                rankingService.unlikePageTag(page.getId(), tag);
-            }
+            rankingService.apply(new RankingUpdate()
+                    .likePage(page.getId(), page.getEmotion().getType(), -1)
+                    .likeBook(page.getBook().getId(), page.getBook().getCategory(), -1)
+                    .likePageTags(page.getId(), page.getHashtagsTag(), -1));
 
             likeRepository.delete(like);
-            pageRepository.save(page);
+            likeService.addPageLikeCount(page, -1);
 
             ResponsePageDto dto = ResponsePageDto.from(page);
-            dto.setLikeCount(likeService.countLikesForPage(page.getId()));
+            dto.setLikeCount(page.getLikeCount());
 
             return dto;
         }
@@ -449,31 +430,15 @@ public class PageService {
         return hashtagRepository.findPagesByHashtag(hashtag);
     }
 
-    public org.springframework.data.domain.Page<ResponsePageDto> getPagesByHashtag(String hashtag, Pageable pageable) {
-        org.springframework.data.domain.Page<Page> pages = hashtagRepository.findPagesByHashtag(hashtag, pageable);
-
-        List<ResponsePageDto> responsePageDtoList = new ArrayList<>();
-
-        for (Page page : pages) {
-            ResponsePageDto responsePageDto = ResponsePageDto.from(page);
-            responsePageDto.setLikeCount(likeService.countLikesForPage(page.getId()));
-            responsePageDtoList.add(responsePageDto);
-        }
+    public org.springframework.data.domain.Page<ResponsePageSummaryDto> getPagesByHashtag(String hashtag, Pageable pageable) {
+        org.springframework.data.domain.Page<Long> pageIds = pageRepository.findIdsByHashtag(hashtag, pageable);
 
-        return new PageImpl<>(responsePageDtoList, pageable, pages.getTotalElements());
+        return pageSummaryAssembler.toSummaryPage(pageIds, pageable);
     }
 
     @Transactional
     public Page createPageWithHashtags(Page page, Set<String> hashtags) {
-        Set<Hashtag> hashtagEntities = new HashSet<>();
-
-        for (String tag : hashtags) {
-            Hashtag hashtag = hashtagRepository.findByTag(tag)
-                    .orElseGet(() -> hashtagRepository.save(new Hashtag(tag)));
-            hashtagEntities.add(hashtag);
-        }
-
-        page.setHashtags(hashtagEntities);
+        page.setHashtags(hashtagDictionary.resolve(hashtags));
 
         return pageRepository.save(page);
     }
@@ -481,12 +446,7 @@ public class PageService {
     @Transactional
     public void setHashtagsToPage(Page page, Set<String> hashtags) {
         Set<Hashtag> existingHashtags = page.getHashtags();
-
-        for (String tag : hashtags) {
-            Hashtag existingHashtag = hashtagRepository.findByTag(tag)
-                    .orElseGet(() -> hashtagRepository.save(new Hashtag(tag)));
-            existingHashtags.add(existingHashtag);
-        }
+        existingHashtags.addAll(hashtagDictionary.resolve(hashtags));
 
         page.setHashtags(existingHashtags);
 
@@ -494,15 +454,16 @@ public class PageService {
 
 
     @Transactional
-    public Set<ResponsePageDto> parseTopRankedPages(Set<String> pageIds) {
-        Set<ResponsePageDto> pageDetails = new LinkedHashSet<>();
-        for (String pageId : pageIds) {
-            Page page = getPageById(Long.parseLong(pageId));
-            ResponsePageDto responsePageDto = ResponsePageDto.from(page);
-            responsePageDto.setLikeCount(likeService.countLikesForPage(page.getId()));
-            pageDetails.add(responsePageDto);
-        }
-        return pageDetails;
+    public Set<ResponsePageSummaryDto> parseTopRankedPages(Set<String> pageIds) {
+        List<Long> rankedIds = pageIds.stream()
+                .map(Long::valueOf)
+                .collect(Collectors.toList());
+        return rankedPageCache.get(rankedIds, this::hydrateRankedPages);
+    }
+
+    //랭킹 id 전체를 요약 쿼리로 조회하고 랭킹 순서대로 정렬, 삭제된 페이지는 건너뛴다
+    private Set<ResponsePageSummaryDto> hydrateRankedPages(List<Long> rankedIds) {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(pageSummaryAssembler.toSummaryList(rankedIds)));
     }
 
 //    public org.springframework.data.domain.Page<ResponsePageDto> getPagesCreatedWithinLast24Hours(Pageable pageable) {
@@ -522,7 +483,7 @@ public class PageService {
 //        return new PageImpl<>(responsePageDtoList, sortedByCreationDateDesc, pages.getTotalElements());
 //    }
 
-    public org.springframework.data.domain.Page<ResponsePageDto> getPagesCreatedWithinLast24HoursByEmotionAndHashtag(String emotionType, String hashTag, Pageable pageable) {
+    public org.springframework.data.domain.Page<ResponsePageSummaryDto> getPagesCreatedWithinLast24HoursByEmotionAndHashtag(String emotionType, String hashTag, Pageable pageable) {
         Pageable sortedByCreationDateDesc = PageRequest.of(
                 pageable.getPageNumber(),
                 pageable.getPageSize(),
@@ -533,57 +494,40 @@ public class PageService {
             System.out.println("왜 안됨?");
         }
 
+        //워밍업된 최근 페이지 창이 있으면 DB 를 거치지 않고 메모리에서 조회, 해시태그는 정확히 일치
+        if (recentPageWindow.isPresent() && recentPageWindow.get().isReady()) {
+            EmotionType emotion = (emotionType == null || emotionType.isEmpty()) ? null : EmotionType.getByCode(emotionType);
+            String tag = (hashTag == null || hashTag.isEmpty()) ? null : hashTag;
+            return recentPageWindow.get().find(emotion, tag, sortedByCreationDateDesc);
+        }
+
         LocalDateTime twentyFourHoursAgo = LocalDateTime.now().minusHours(24);
 
         //그냥 최근 것만 - 모든 정보가 비어 있다.
         if ((emotionType == null || emotionType.isEmpty()) && (hashTag == null || hashTag.isEmpty())) {
             System.out.println("emotionType, hashTag 둘 다 입력 안됨");
-            org.springframework.data.domain.Page<Page> pages = pageRepository.findAllCreatedWithinLast24Hours(twentyFourHoursAgo, sortedByCreationDateDesc);
-            List<ResponsePageDto> responsePageDtoList = new ArrayList<>();
-            for (Page page : pages) {
-                ResponsePageDto responsePageDto = ResponsePageDto.from(page);
-                responsePageDto.setLikeCount(likeService.countLikesForPage(page.getId()));
-                responsePageDtoList.add(responsePageDto);
-            }
-            return new PageImpl<>(responsePageDtoList, sortedByCreationDateDesc, pages.getTotalElements());
+            org.springframework.data.domain.Page<Long> pageIds = pageRepository.findIdsCreatedWithinLast24Hours(twentyFourHoursAgo, sortedByCreationDateDesc);
+            return pageSummaryAssembler.toSummaryPage(pageIds, sortedByCreationDateDesc);
         }
         //값이 emotionType만 입력
         else if ((hashTag == null || hashTag.isEmpty()) && (emotionType != null || !emotionType.isEmpty())) {
             System.out.println("emotionType만 입력됨");
             EmotionType emotion = EmotionType.getByCode(emotionType);
-            org.springframework.data.domain.Page<Page> pages = pageRepository.findAllByEmotionTypeCreatedWithinLast24Hours(twentyFourHoursAgo, emotion, sortedByCreationDateDesc);
-            List<ResponsePageDto> responsePageDtoList = new ArrayList<>();
-            for (Page page : pages) {
-                ResponsePageDto responsePageDto = ResponsePageDto.from(page);
-                responsePageDto.setLikeCount(likeService.countLikesForPage(page.getId()));
-                responsePageDtoList.add(responsePageDto);
-            }
-            return new PageImpl<>(responsePageDtoList, sortedByCreationDateDesc, pages.getTotalElements());
+            org.springframework.data.domain.Page<Long> pageIds = pageRepository.findIdsByEmotionTypeCreatedWithinLast24Hours(twentyFourHoursAgo, emotion, sortedByCreationDateDesc);
+            return pageSummaryAssembler.toSummaryPage(pageIds, sortedByCreationDateDesc);
         }
         //값이 해시태그만 입력
         else if ((emotionType == null || emotionType.isEmpty()) && (hashTag != null || !hashTag.isEmpty())) {
             System.out.println("hashTag만 입력됨");
-            org.springframework.data.domain.Page<Page> pages = pageRepository.findAllByHashTagCreatedWithinLast24Hours(twentyFourHoursAgo, hashTag, sortedByCreationDateDesc);
-            List<ResponsePageDto> responsePageDtoList = new ArrayList<>();
-            for (Page page : pages) {
-                ResponsePageDto responsePageDto = ResponsePageDto.from(page);
-                responsePageDto.setLikeCount(likeService.countLikesForPage(page.getId()));
-                responsePageDtoList.add(responsePageDto);
-            }
-            return new PageImpl<>(responsePageDtoList, sortedByCreationDateDesc, pages.getTotalElements());
+            org.springframework.data.domain.Page<Long> pageIds = pageRepository.findIdsByHashTagCreatedWithinLast24Hours(twentyFourHoursAgo, hashTag, sortedByCreationDateDesc);
+            return pageSummaryAssembler.toSummaryPage(pageIds, sortedByCreationDateDesc);
         }
         //둘 다 입력
         else {
             System.out.println("둘 다 입력됨");
             EmotionType emotion = EmotionType.getByCode(emotionType);
-            org.springframework.data.domain.Page<Page> pages = pageRepository.findAllByEmotionTypeAndHashTagCreatedWithinLast24Hours(twentyFourHoursAgo, emotion, hashTag, sortedByCreationDateDesc);
-            List<ResponsePageDto> responsePageDtoList = new ArrayList<>();
-            for (Page page : pages) {
-                ResponsePageDto responsePageDto = ResponsePageDto.from(page);
-                responsePageDto.setLikeCount(likeService.countLikesForPage(page.getId()));
-                responsePageDtoList.add(responsePageDto);
-            }
-            return new PageImpl<>(responsePageDtoList, sortedByCreationDateDesc, pages.getTotalElements());
+            org.springframework.data.domain.Page<Long> pageIds = pageRepository.findIdsByEmotionTypeAndHashTagCreatedWithinLast24Hours(twentyFourHoursAgo, emotion, hashTag, sortedByCreationDateDesc);
+            return pageSummaryAssembler.toSummaryPage(pageIds, sortedByCreationDateDesc);
         }
     }
 
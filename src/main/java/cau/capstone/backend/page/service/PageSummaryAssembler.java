@@ -0,0 +1,54 @@
+package cau.capstone.backend.page.service;
+
+import cau.capstone.backend.page.dto.response.ResponsePageSummaryDto;
+import cau.capstone.backend.page.model.repository.PageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//페이지 id 목록을 피드 카드용 요약으로 변환
+//요약 한 번, 해시태그 한 번의 쿼리로 조회하고 @Lob 본문은 읽지 않는다
+@RequiredArgsConstructor
+@Component
+public class PageSummaryAssembler {
+
+    private final PageRepository pageRepository;
+
+
+    //id 목록 순서를 유지, 없는 id 는 건너뛴다
+    public List<ResponsePageSummaryDto> toSummaryList(List<Long> pageIds) {
+        if (pageIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, ResponsePageSummaryDto> summariesById = pageRepository.findSummariesByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(ResponsePageSummaryDto::getPageId, Function.identity()));
+        if (summariesById.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Set<String>> hashtagsByPage = new HashMap<>();
+        for (Object[] row : pageRepository.findHashtagsByPageIdIn(summariesById.keySet())) {
+            hashtagsByPage.computeIfAbsent((Long) row[0], k -> new HashSet<>()).add((String) row[1]);
+        }
+
+        List<ResponsePageSummaryDto> summaries = new ArrayList<>(pageIds.size());
+        for (Long pageId : pageIds) {
+            ResponsePageSummaryDto summary = summariesById.get(pageId);
+            if (summary != null) {
+                summary.setHashtags(hashtagsByPage.getOrDefault(pageId, Collections.emptySet()));
+                summaries.add(summary);
+            }
+        }
+        return summaries;
+    }
+
+    public org.springframework.data.domain.Page<ResponsePageSummaryDto> toSummaryPage(org.springframework.data.domain.Page<Long> pageIds, Pageable pageable) {
+        return new PageImpl<>(toSummaryList(pageIds.getContent()), pageable, pageIds.getTotalElements());
+    }
+}
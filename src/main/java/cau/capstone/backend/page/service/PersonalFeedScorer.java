@@ -0,0 +1,98 @@
+package cau.capstone.backend.page.service;
+
+//개인화 피드 점수 계산, 후보마다 인기 점수 x 유저의 카테고리 선호 가중치로 상위 n 개를 고른다
+//후보 수만큼의 객체를 만들지 않도록 기본형 배열과 크기 n 의 최소 힙만 사용
+public final class PersonalFeedScorer {
+
+    //가장 선호하는 카테고리만 있는 유저라면 해당 카테고리 후보의 점수가 최대 (1 + PREFERENCE) 배
+    private static final double PREFERENCE = 3.0;
+
+    private PersonalFeedScorer() {
+    }
+
+
+    //카테고리별 가중치, 점수가 없는 유저는 모두 1 이라 인기순과 같다
+    public static double[] weights(int[] userScores) {
+        double[] weights = new double[userScores.length];
+        long total = 0;
+        for (int score : userScores) {
+            total += Math.max(0, score);
+        }
+        for (int c = 0; c < userScores.length; c++) {
+            weights[c] = total == 0 ? 1.0 : 1.0 + PREFERENCE * Math.max(0, userScores[c]) / total;
+        }
+        return weights;
+    }
+
+    //점수 내림차순의 후보 위치, 같은 점수면 앞쪽 후보가 먼저
+    public static int[] topN(double[] popularity, int[] categories, double[] weights, int n) {
+        int limit = Math.min(n, popularity.length);
+        int[] heap = new int[limit];
+        double[] heapScores = new double[limit];
+        int size = 0;
+
+        for (int i = 0; i < popularity.length; i++) {
+            double score = popularity[i] * weights[categories[i]];
+            if (size < limit) {
+                heap[size] = i;
+                heapScores[size] = score;
+                siftUp(heap, heapScores, size++);
+            } else if (limit > 0 && score > heapScores[0]) {
+                heap[0] = i;
+                heapScores[0] = score;
+                siftDown(heap, heapScores, size);
+            }
+        }
+
+        //힙에서 가장 낮은 점수부터 꺼내 뒤에서부터 채운다
+        int[] result = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            result[i] = heap[0];
+            heap[0] = heap[i];
+            heapScores[0] = heapScores[i];
+            siftDown(heap, heapScores, i);
+        }
+        return result;
+    }
+
+    //점수가 낮거나, 같으면 뒤쪽 후보일수록 루트에 가깝다
+    private static boolean lower(int[] heap, double[] scores, int a, int b) {
+        return scores[a] < scores[b] || (scores[a] == scores[b] && heap[a] > heap[b]);
+    }
+
+    private static void siftUp(int[] heap, double[] scores, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!lower(heap, scores, index, parent)) {
+                return;
+            }
+            swap(heap, scores, index, parent);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, double[] scores, int size) {
+        int index = 0;
+        while (true) {
+            int left = index * 2 + 1;
+            if (left >= size) {
+                return;
+            }
+            int child = left + 1 < size && lower(heap, scores, left + 1, left) ? left + 1 : left;
+            if (!lower(heap, scores, child, index)) {
+                return;
+            }
+            swap(heap, scores, index, child);
+            index = child;
+        }
+    }
+
+    private static void swap(int[] heap, double[] scores, int a, int b) {
+        int index = heap[a];
+        heap[a] = heap[b];
+        heap[b] = index;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
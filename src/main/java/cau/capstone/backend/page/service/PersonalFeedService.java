@@ -0,0 +1,139 @@
+package cau.capstone.backend.page.service;
+
+import cau.capstone.backend.User.service.ScoreService;
+import cau.capstone.backend.global.redis.RankingService;
+import cau.capstone.backend.global.security.CurrentUser;
+import cau.capstone.backend.global.util.TtlCache;
+import cau.capstone.backend.page.dto.response.ResponsePageSummaryDto;
+import cau.capstone.backend.page.model.Category;
+import cau.capstone.backend.page.model.repository.PageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+//유저의 카테고리 점수로 인기 페이지 후보를 다시 정렬한 개인화 피드
+//후보는 RankingService 의 감정별 좋아요/조회 랭킹에서 모든 유저가 공유하도록 만들고, 결과는 유저별로 잠깐 캐시
+@Slf4j
+@Service
+public class PersonalFeedService {
+
+    private static final String POOL_KEY = "pool";
+    private static final int MAX_SIZE = 100;
+    private static final int CATEGORY_QUERY_CHUNK_SIZE = 1000;
+    private static final double VIEW_WEIGHT = 0.1;
+
+    private final RankingService rankingService;
+    private final PageRepository pageRepository;
+    private final PageSummaryAssembler pageSummaryAssembler;
+    private final ScoreService scoreService;
+    private final CurrentUser currentUser;
+    private final int candidatesPerSet;
+    private final int maxCandidates;
+
+    private final TtlCache<String, CandidatePool> candidatePool;
+    private final TtlCache<Long, List<ResponsePageSummaryDto>> feeds;
+
+    public PersonalFeedService(RankingService rankingService,
+                               PageRepository pageRepository,
+                               PageSummaryAssembler pageSummaryAssembler,
+                               ScoreService scoreService,
+                               CurrentUser currentUser,
+                               @Value("${feed.personal.candidates-per-set:2000}") int candidatesPerSet,
+                               @Value("${feed.personal.max-candidates:10000}") int maxCandidates,
+                               @Value("${feed.personal.pool-ttl-ms:60000}") long poolTtlMillis,
+                               @Value("${feed.personal.cache-ttl-ms:60000}") long cacheTtlMillis,
+                               @Value("${feed.personal.cache-max-size:10000}") int cacheMaxSize) {
+        this.rankingService = rankingService;
+        this.pageRepository = pageRepository;
+        this.pageSummaryAssembler = pageSummaryAssembler;
+        this.scoreService = scoreService;
+        this.currentUser = currentUser;
+        this.candidatesPerSet = candidatesPerSet;
+        this.maxCandidates = maxCandidates;
+        this.candidatePool = new TtlCache<>(poolTtlMillis, 1);
+        this.feeds = new TtlCache<>(cacheTtlMillis, cacheMaxSize);
+    }
+
+
+    @Transactional(readOnly = true)
+    public List<ResponsePageSummaryDto> getPersonalFeed(String accessToken, int size) {
+        List<ResponsePageSummaryDto> feed = feeds.get(currentUser.getId(accessToken), this::rank);
+        return feed.subList(0, Math.min(Math.max(size, 1), feed.size()));
+    }
+
+    //캐시는 MAX_SIZE 개를 계산해 두고 요청한 개수만큼 잘라서 반환
+    private List<ResponsePageSummaryDto> rank(Long userId) {
+        CandidatePool pool = candidatePool.get(POOL_KEY, key -> loadCandidatePool());
+        if (pool.pageIds.length == 0) {
+            return Collections.emptyList();
+        }
+
+        int[] userScores = scoreService.getScores(userId);
+        double[] weights = PersonalFeedScorer.weights(userScores == null ? new int[Category.values().length] : userScores);
+        int[] top = PersonalFeedScorer.topN(pool.popularity, pool.categories, weights, MAX_SIZE);
+
+        List<Long> pageIds = new ArrayList<>(top.length);
+        for (int index : top) {
+            pageIds.add(pool.pageIds[index]);
+        }
+        return pageSummaryAssembler.toSummaryList(pageIds);
+    }
+
+    //인기 점수 상위 maxCandidates 개만 남기고, 카테고리를 알 수 없는(삭제된) 페이지는 뺀다
+    private CandidatePool loadCandidatePool() {
+        Map<Long, Double> candidates = rankingService.getPageCandidates(candidatesPerSet, VIEW_WEIGHT);
+
+        List<Map.Entry<Long, Double>> entries = new ArrayList<>(candidates.entrySet());
+        if (entries.size() > maxCandidates) {
+            entries.sort(Map.Entry.<Long, Double>comparingByValue().reversed());
+            entries = entries.subList(0, maxCandidates);
+        }
+
+        List<Long> ids = new ArrayList<>(entries.size());
+        for (Map.Entry<Long, Double> entry : entries) {
+            ids.add(entry.getKey());
+        }
+        Map<Long, Category> categories = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += CATEGORY_QUERY_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CATEGORY_QUERY_CHUNK_SIZE, ids.size()));
+            for (Object[] row : pageRepository.findCategoriesByPageIdIn(chunk)) {
+                if (row[1] != null) {
+                    categories.put((Long) row[0], (Category) row[1]);
+                }
+            }
+        }
+
+        CandidatePool pool = new CandidatePool(categories.size());
+        int i = 0;
+        for (Map.Entry<Long, Double> entry : entries) {
+            Category category = categories.get(entry.getKey());
+            if (category == null) {
+                continue;
+            }
+            pool.pageIds[i] = entry.getKey();
+            //좋아요가 많은 소수 페이지가 선호도를 압도하지 않도록 로그 스케일
+            pool.popularity[i] = Math.log1p(entry.getValue());
+            pool.categories[i] = category.ordinal();
+            i++;
+        }
+        log.debug("개인화 피드 후보 - {}", i);
+        return pool;
+    }
+
+
+    //후보 i 의 페이지 id, 인기 점수, 카테고리(ordinal)
+    private static final class CandidatePool {
+        private final long[] pageIds;
+        private final double[] popularity;
+        private final int[] categories;
+
+        private CandidatePool(int size) {
+            this.pageIds = new long[size];
+            this.popularity = new double[size];
+            this.categories = new int[size];
+        }
+    }
+}
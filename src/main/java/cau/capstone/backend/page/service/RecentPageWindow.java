@@ -0,0 +1,411 @@
+package cau.capstone.backend.page.service;
+
+import cau.capstone.backend.global.search.SearchDocumentType;
+import cau.capstone.backend.global.search.SearchIndexEvent;
+import cau.capstone.backend.global.util.FeedCursor;
+import cau.capstone.backend.page.dto.response.ResponsePageSummaryDto;
+import cau.capstone.backend.page.model.EmotionType;
+import cau.capstone.backend.page.model.repository.PageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+//최근 windowHours 시간 동안 작성된 페이지 요약을 메모리에 두고 감정, 해시태그(정확히 일치)별로 색인
+//페이지 생성/수정/삭제 이벤트로 갱신하고, 분 단위 타임휠로 창을 벗어난 페이지를 제거한다
+//다른 인스턴스에서 작성/수정/삭제된 페이지는 tick 마다 창 안의 페이지 id 와 수정분을 DB 에서 다시 읽어 맞춘다
+//좋아요/조회 수는 메모리에 따로 두고 이 인스턴스의 반영(PageCountEvent)은 바로, 다른 인스턴스의 반영은 tick 마다 카운터 컬럼에서 맞춘다
+//조회 요청은 DB 를 읽지 않는다
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "page.recent.window.enabled", havingValue = "true", matchIfMissing = true)
+public class RecentPageWindow {
+
+    private static final Comparator<ResponsePageSummaryDto> NEWEST_FIRST =
+            Comparator.comparing(ResponsePageSummaryDto::getCreatedAt)
+                    .thenComparing(ResponsePageSummaryDto::getPageId)
+                    .reversed();
+
+    private final PageRepository pageRepository;
+    private final PageSummaryAssembler pageSummaryAssembler;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int windowMinutes;
+    private final int maxSize;
+    private final int loadChunkSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, ResponsePageSummaryDto> pages = new HashMap<>();
+    private final NavigableSet<ResponsePageSummaryDto> all = new TreeSet<>(NEWEST_FIRST);
+    private final Map<String, NavigableSet<ResponsePageSummaryDto>> byEmotion = new HashMap<>();
+    private final Map<String, NavigableSet<ResponsePageSummaryDto>> byHashtag = new HashMap<>();
+    //pageId -> {좋아요 수, 조회 수}, 창에 있는 페이지만 두며 값은 통째로 바꾼다
+    private final ConcurrentHashMap<Long, int[]> counts = new ConcurrentHashMap<>();
+
+    //타임휠, 슬롯 하나가 1분이며 작성 시각(분)을 슬롯 수로 나눈 나머지 위치에 페이지 id 를 둔다
+    private final List<Set<Long>> wheel;
+    private long expiredUntilMinute;
+
+    private volatile boolean ready = false;
+    private volatile LocalDateTime lastSyncedAt;
+
+    public RecentPageWindow(PageRepository pageRepository,
+                            PageSummaryAssembler pageSummaryAssembler,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${page.recent.window-hours:24}") int windowHours,
+                            @Value("${page.recent.max-size:100000}") int maxSize,
+                            @Value("${page.recent.load-chunk-size:500}") int loadChunkSize) {
+        this.pageRepository = pageRepository;
+        this.pageSummaryAssembler = pageSummaryAssembler;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        //커밋 직후 리스너에서도 새 트랜잭션으로 읽도록
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.windowMinutes = windowHours * 60;
+        this.maxSize = maxSize;
+        this.loadChunkSize = loadChunkSize;
+
+        this.wheel = new ArrayList<>(windowMinutes + 1);
+        for (int i = 0; i <= windowMinutes; i++) {
+            wheel.add(new HashSet<>());
+        }
+        this.expiredUntilMinute = toMinute(LocalDateTime.now()) - windowMinutes;
+    }
+
+
+    //워밍업이 끝나기 전에는 PageService 가 DB 조회를 사용한다
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime start = LocalDateTime.now();
+        int loaded = load(start.minusMinutes(windowMinutes));
+        lastSyncedAt = start;
+        ready = true;
+        log.info("최근 페이지 창 워밍업 완료 - {}, {}ms", loaded, Duration.between(start, LocalDateTime.now()).toMillis());
+    }
+
+    //매분 창을 벗어난 슬롯을 비우고, 다른 인스턴스에서 작성/수정/삭제된 페이지를 반영한다
+    @Scheduled(fixedDelayString = "${page.recent.tick-ms:60000}")
+    public void tick() {
+        if (!ready) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        expire(now);
+        //커밋이 작성/수정 시각보다 늦게 끝난 페이지를 놓치지 않도록 1분 겹쳐서 읽는다
+        LocalDateTime since = lastSyncedAt.minusMinutes(1);
+        load(since);
+        sync(now.minusMinutes(windowMinutes), since);
+        lastSyncedAt = now;
+    }
+
+
+    //페이지 생성/수정/삭제 커밋 후 반영
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPageChanged(SearchIndexEvent event) {
+        if (event.getType() != SearchDocumentType.PAGE) {
+            return;
+        }
+
+        try {
+            if (event.isDeleted()) {
+                remove(event.getId());
+                return;
+            }
+
+            List<ResponsePageSummaryDto> summaries = readOnlyTransaction.execute(
+                    status -> pageSummaryAssembler.toSummaryList(Collections.singletonList(event.getId())));
+            if (summaries == null || summaries.isEmpty()) {
+                remove(event.getId());
+            } else {
+                add(summaries.get(0));
+            }
+        } catch (RuntimeException e) {
+            log.error("최근 페이지 창 반영 실패 - {}", event.getId(), e);
+        }
+    }
+
+
+    //좋아요/조회 카운터 커밋 후 반영, 창에 없는 페이지는 무시
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPageCountChanged(PageCountEvent event) {
+        counts.computeIfPresent(event.getPageId(),
+                (pageId, current) -> new int[]{current[0] + event.getLikeDelta(), current[1] + event.getViewDelta()});
+    }
+
+    //emotion, hashtag 는 null 이면 조건 없음, 최신순
+    public org.springframework.data.domain.Page<ResponsePageSummaryDto> find(EmotionType emotion, String hashtag, Pageable pageable) {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(windowMinutes);
+        List<ResponsePageSummaryDto> content = new ArrayList<>(pageable.getPageSize());
+        long total = 0;
+
+        lock.readLock().lock();
+        try {
+            NavigableSet<ResponsePageSummaryDto> emotionPages = emotion == null ? null : byEmotion.getOrDefault(emotion.getDescription(), Collections.emptyNavigableSet());
+            NavigableSet<ResponsePageSummaryDto> hashtagPages = hashtag == null ? null : byHashtag.getOrDefault(normalize(hashtag), Collections.emptyNavigableSet());
+
+            //두 조건이 모두 있으면 작은 쪽을 순회하며 다른 조건을 확인
+            NavigableSet<ResponsePageSummaryDto> candidates = all;
+            if (emotionPages != null && hashtagPages != null) {
+                candidates = emotionPages.size() <= hashtagPages.size() ? emotionPages : hashtagPages;
+            } else if (emotionPages != null) {
+                candidates = emotionPages;
+            } else if (hashtagPages != null) {
+                candidates = hashtagPages;
+            }
+
+            for (ResponsePageSummaryDto page : candidates) {
+                //최신순이므로 창을 벗어난 페이지가 나오면 이후는 모두 만료 대상
+                if (page.getCreatedAt().isBefore(cutoff)) {
+                    break;
+                }
+                if (emotionPages != null && candidates != emotionPages && !emotionPages.contains(page)) {
+                    continue;
+                }
+                if (hashtagPages != null && candidates != hashtagPages && !hashtagPages.contains(page)) {
+                    continue;
+                }
+                if (total >= pageable.getOffset() && content.size() < pageable.getPageSize()) {
+                    content.add(page);
+                }
+                total++;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new PageImpl<>(withCurrentCounts(content), pageable, total);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return pages.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    public void add(ResponsePageSummaryDto page) {
+        if (page.getCreatedAt() == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(page.getPageId());
+            if (toMinute(page.getCreatedAt()) <= expiredUntilMinute) {
+                return;
+            }
+
+            pages.put(page.getPageId(), page);
+            counts.put(page.getPageId(), new int[]{page.getLikeCount(), page.getViewCount()});
+            all.add(page);
+            if (page.getEmotionType() != null) {
+                byEmotion.computeIfAbsent(page.getEmotionType(), k -> new TreeSet<>(NEWEST_FIRST)).add(page);
+            }
+            for (String tag : page.getHashtags()) {
+                byHashtag.computeIfAbsent(normalize(tag), k -> new TreeSet<>(NEWEST_FIRST)).add(page);
+            }
+            wheel.get(slot(toMinute(page.getCreatedAt()))).add(page.getPageId());
+
+            //메모리 상한을 넘으면 가장 오래된 페이지부터 버린다
+            while (pages.size() > maxSize) {
+                removeLocked(all.last().getPageId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long pageId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(pageId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //now 기준으로 창을 벗어난 분의 슬롯을 비운다, 슬롯 하나에는 같은 분에 작성된 페이지만 남아 있으므로 비우는 비용은 해당 분의 작성 수
+    public void expire(LocalDateTime now) {
+        long cutoffMinute = toMinute(now) - windowMinutes;
+
+        lock.writeLock().lock();
+        try {
+            long from = Math.max(expiredUntilMinute + 1, cutoffMinute - windowMinutes);
+            for (long minute = from; minute <= cutoffMinute; minute++) {
+                Set<Long> slot = wheel.get(slot(minute));
+                for (Long pageId : new ArrayList<>(slot)) {
+                    ResponsePageSummaryDto page = pages.get(pageId);
+                    if (page == null || toMinute(page.getCreatedAt()) <= cutoffMinute) {
+                        removeLocked(pageId);
+                    }
+                }
+            }
+            expiredUntilMinute = Math.max(expiredUntilMinute, cutoffMinute);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long pageId) {
+        ResponsePageSummaryDto page = pages.remove(pageId);
+        counts.remove(pageId);
+        if (page == null) {
+            return;
+        }
+
+        all.remove(page);
+        if (page.getEmotionType() != null) {
+            removeFromIndex(byEmotion, page.getEmotionType(), page);
+        }
+        for (String tag : page.getHashtags()) {
+            removeFromIndex(byHashtag, normalize(tag), page);
+        }
+        wheel.get(slot(toMinute(page.getCreatedAt()))).remove(pageId);
+    }
+
+    private static void removeFromIndex(Map<String, NavigableSet<ResponsePageSummaryDto>> index, String key, ResponsePageSummaryDto page) {
+        NavigableSet<ResponsePageSummaryDto> indexed = index.get(key);
+        if (indexed != null) {
+            indexed.remove(page);
+            if (indexed.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+
+    //DB 에서 사라진 페이지는 빼고, since 이후 수정된 페이지는 다시 읽는다
+    //id 목록을 먼저 떠 두므로 조회 도중 이 인스턴스에 추가된 페이지를 지우지 않는다
+    private void sync(LocalDateTime cutoff, LocalDateTime since) {
+        List<Long> cached;
+        lock.readLock().lock();
+        try {
+            cached = new ArrayList<>(pages.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> existing = readOnlyTransaction.execute(status -> pageRepository.findIdsCreatedSince(cutoff));
+        if (existing != null) {
+            Set<Long> alive = new HashSet<>(existing);
+            int removed = 0;
+            for (Long pageId : cached) {
+                if (!alive.contains(pageId)) {
+                    remove(pageId);
+                    removed++;
+                }
+            }
+            if (removed > 0) {
+                log.debug("최근 페이지 창 - 삭제된 페이지 {} 개 제거", removed);
+            }
+        }
+
+        List<Long> updated = readOnlyTransaction.execute(status -> pageRepository.findIdsCreatedSinceAndUpdatedAfter(cutoff, since));
+        if (updated != null) {
+            for (int from = 0; from < updated.size(); from += loadChunkSize) {
+                List<Long> chunk = updated.subList(from, Math.min(from + loadChunkSize, updated.size()));
+                List<ResponsePageSummaryDto> summaries = readOnlyTransaction.execute(status -> pageSummaryAssembler.toSummaryList(chunk));
+                if (summaries != null) {
+                    summaries.forEach(this::add);
+                }
+            }
+        }
+
+        refreshCounts(cached);
+    }
+
+    //다른 인스턴스에서 반영된 좋아요/조회 수를 카운터 컬럼에서 chunk 씩 읽어 맞춘다, 잠금 밖에서 읽는다
+    private void refreshCounts(List<Long> pageIds) {
+        for (int from = 0; from < pageIds.size(); from += loadChunkSize) {
+            List<Long> chunk = pageIds.subList(from, Math.min(from + loadChunkSize, pageIds.size()));
+            List<Object[]> rows = readOnlyTransaction.execute(status -> pageRepository.findCountsByIdIn(chunk));
+            if (rows == null) {
+                continue;
+            }
+            for (Object[] row : rows) {
+                int[] current = {((Number) row[1]).intValue(), ((Number) row[2]).intValue()};
+                counts.computeIfPresent((Long) row[0], (pageId, cachedCounts) -> current);
+            }
+        }
+    }
+
+    //응답할 페이지의 복사본에 메모리의 좋아요/조회 수를 싣는다, 캐시에 둔 요약은 그대로 둔다
+    private List<ResponsePageSummaryDto> withCurrentCounts(List<ResponsePageSummaryDto> content) {
+        List<ResponsePageSummaryDto> result = new ArrayList<>(content.size());
+        for (ResponsePageSummaryDto page : content) {
+            int[] current = counts.get(page.getPageId());
+            result.add(current == null ? page : page.withCounts(current[0], current[1]));
+        }
+        return result;
+    }
+
+    //since 이후 작성된 페이지를 커서 순서(최신순)로 chunk 씩 읽어 채운다
+    private int load(LocalDateTime since) {
+        int loaded = 0;
+        FeedCursor cursor = FeedCursor.first();
+
+        while (true) {
+            FeedCursor current = cursor;
+            List<FeedCursor.Key> keys = readOnlyTransaction.execute(status ->
+                    pageRepository.findKeysBefore(current.getCreatedAt(), current.getId(), PageRequest.of(0, loadChunkSize)));
+            if (keys == null || keys.isEmpty()) {
+                break;
+            }
+
+            List<Long> pageIds = keys.stream()
+                    .filter(key -> !key.getCreatedAt().isBefore(since))
+                    .map(FeedCursor.Key::getId)
+                    .collect(Collectors.toList());
+            if (!pageIds.isEmpty()) {
+                List<ResponsePageSummaryDto> summaries = readOnlyTransaction.execute(status -> pageSummaryAssembler.toSummaryList(pageIds));
+                if (summaries != null) {
+                    summaries.forEach(this::add);
+                    loaded += summaries.size();
+                }
+            }
+
+            if (keys.size() < loadChunkSize || pageIds.size() < keys.size()) {
+                break;
+            }
+            cursor = FeedCursor.of(keys.get(keys.size() - 1));
+        }
+        return loaded;
+    }
+
+    private int slot(long minute) {
+        return (int) Math.floorMod(minute, (long) wheel.size());
+    }
+
+    private static long toMinute(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond() / 60;
+    }
+
+    private static String normalize(String tag) {
+        return tag.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,247 @@
+package cau.capstone.backend.page.service;
+
+import cau.capstone.backend.User.model.Score;
+import cau.capstone.backend.User.service.ScoreService;
+import cau.capstone.backend.global.redis.RankingService;
+import cau.capstone.backend.global.redis.RankingUpdate;
+import cau.capstone.backend.page.model.Category;
+import cau.capstone.backend.page.model.EmotionType;
+import cau.capstone.backend.page.model.Page;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+//페이지 조회 시 발생하는 조회수/랭킹/점수 갱신을 버퍼에 모았다가 주기적으로 한 번에 반영
+//DB 반영에 실패한 이벤트는 재시도 큐에 되돌려 다음 flush 때 다시 반영하고, 재시도 큐까지 가득 찬 경우만 버린다
+@Slf4j
+@Service
+public class ViewCountService {
+
+    private static final String UPDATE_PAGE_VIEW_COUNT = "UPDATE page SET view_count = view_count + ? WHERE page_id = ?";
+    private static final String UPDATE_BOOK_VIEW_COUNT = "UPDATE book SET book_view_count = book_view_count + ? WHERE book_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RankingService rankingService;
+    private final ScoreService scoreService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final List<ArrayBlockingQueue<ViewEvent>> stripes;
+    private final ArrayBlockingQueue<ViewEvent> retry;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    //back-pressure 지표
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong flushedCount = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final AtomicLong failedFlushCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    public ViewCountService(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            RankingService rankingService,
+                            ScoreService scoreService,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${page.view.buffer.stripes:8}") int stripeCount,
+                            @Value("${page.view.buffer.capacity:8192}") int capacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        //조회 요청의 읽기 전용 트랜잭션 안에서 flush 되더라도 별도 트랜잭션으로 반영
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rankingService = rankingService;
+        this.scoreService = scoreService;
+        this.eventPublisher = eventPublisher;
+
+        int perStripe = Math.max(1, capacity / stripeCount);
+        this.stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.add(new ArrayBlockingQueue<>(perStripe));
+        }
+        this.retry = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    }
+
+
+    //조회 이벤트 적재, 버퍼가 가득 차면 호출한 스레드가 직접 flush 하여 속도를 늦춘다
+    public void recordView(Long userId, Page page) {
+        ViewEvent event = ViewEvent.of(userId, page);
+        ArrayBlockingQueue<ViewEvent> stripe = stripes.get((int) (Thread.currentThread().getId() % stripes.size()));
+
+        while (!stripe.offer(event)) {
+            overflowCount.incrementAndGet();
+            flush();
+        }
+        enqueuedCount.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${page.view.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void drain() {
+        log.info("종료 전 조회수 버퍼 비우기, 남은 이벤트 수: {}", getPendingCount());
+        flush();
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            //이전에 실패한 이벤트부터
+            List<ViewEvent> events = new ArrayList<>();
+            retry.drainTo(events);
+            for (ArrayBlockingQueue<ViewEvent> stripe : stripes) {
+                stripe.drainTo(events);
+            }
+            if (events.isEmpty()) {
+                return;
+            }
+
+            RankingUpdate rankingUpdate;
+            try {
+                rankingUpdate = apply(events);
+                flushedCount.addAndGet(events.size());
+            } catch (RuntimeException e) {
+                failedFlushCount.incrementAndGet();
+                int dropped = restore(events);
+                log.error("조회수 반영 실패, 재시도할 이벤트 수: {}, 버린 이벤트 수: {}", events.size() - dropped, dropped, e);
+                return;
+            }
+
+            //DB 는 이미 커밋됐으므로 랭킹 반영 실패는 재시도하지 않는다 (재시도하면 조회수가 두 번 더해짐)
+            try {
+                rankingService.apply(rankingUpdate);
+            } catch (RuntimeException e) {
+                log.error("랭킹 반영 실패, 명령 수: {}", rankingUpdate.size(), e);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    //재시도 큐가 가득 차면 나머지는 버리고 그 수를 돌려준다
+    private int restore(List<ViewEvent> events) {
+        int dropped = 0;
+        for (ViewEvent event : events) {
+            if (!retry.offer(event)) {
+                dropped++;
+            }
+        }
+        droppedCount.addAndGet(dropped);
+        return dropped;
+    }
+
+    //조회수/점수를 한 트랜잭션으로 반영하고, 커밋 후 반영할 랭킹 갱신을 돌려준다
+    private RankingUpdate apply(List<ViewEvent> events) {
+        Map<Long, Integer> pageDeltas = new HashMap<>();
+        Map<Long, Integer> bookDeltas = new HashMap<>();
+        Map<Long, int[]> userDeltas = new HashMap<>();
+        RankingUpdate rankingUpdate = new RankingUpdate();
+
+        for (ViewEvent event : events) {
+            pageDeltas.merge(event.pageId, 1, Integer::sum);
+            bookDeltas.merge(event.bookId, 1, Integer::sum);
+            userDeltas.computeIfAbsent(event.userId, k -> new int[Score.CATEGORY_COLUMNS.length])[event.category.ordinal()]++;
+
+            rankingUpdate.viewPage(event.pageId, event.emotion, 1)
+                    .viewPageTags(event.pageId, Arrays.asList(event.tags), 1)
+                    .viewBook(event.bookId, event.category, 1);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            batchIncrement(UPDATE_PAGE_VIEW_COUNT, pageDeltas);
+            batchIncrement(UPDATE_BOOK_VIEW_COUNT, bookDeltas);
+            userDeltas.forEach(scoreService::addScores);
+        });
+        pageDeltas.forEach((pageId, delta) -> eventPublisher.publishEvent(PageCountEvent.viewed(pageId, delta)));
+        return rankingUpdate;
+    }
+
+    private void batchIncrement(String sql, Map<Long, Integer> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> args.add(new Object[]{delta, id}));
+        jdbcTemplate.batchUpdate(sql, args);
+    }
+
+
+    public int getPendingCount() {
+        int pending = retry.size();
+        for (ArrayBlockingQueue<ViewEvent> stripe : stripes) {
+            pending += stripe.size();
+        }
+        return pending;
+    }
+
+    public long getEnqueuedCount() {
+        return enqueuedCount.get();
+    }
+
+    public long getFlushedCount() {
+        return flushedCount.get();
+    }
+
+    public long getOverflowCount() {
+        return overflowCount.get();
+    }
+
+    public long getFailedFlushCount() {
+        return failedFlushCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("pending", (long) getPendingCount());
+        metrics.put("enqueued", getEnqueuedCount());
+        metrics.put("flushed", getFlushedCount());
+        metrics.put("overflow", getOverflowCount());
+        metrics.put("failedFlush", getFailedFlushCount());
+        metrics.put("dropped", getDroppedCount());
+        return metrics;
+    }
+
+
+    static final class ViewEvent {
+        private final long pageId;
+        private final long bookId;
+        private final long userId;
+        private final EmotionType emotion;
+        private final Category category;
+        private final String[] tags;
+
+        private ViewEvent(long pageId, long bookId, long userId, EmotionType emotion, Category category, String[] tags) {
+            this.pageId = pageId;
+            this.bookId = bookId;
+            this.userId = userId;
+            this.emotion = emotion;
+            this.category = category;
+            this.tags = tags;
+        }
+
+        static ViewEvent of(Long userId, Page page) {
+            return new ViewEvent(
+                    page.getId(),
+                    page.getBook().getId(),
+                    userId,
+                    page.getEmotion().getType(),
+                    page.getBook().getCategory(),
+                    page.getHashtagsTag().toArray(new String[0])
+            );
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package cau.capstone.backend.voice.aiserver;
+
+import cau.capstone.backend.global.util.api.ResponseCode;
+import cau.capstone.backend.global.util.exception.VoiceServerException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+//AI 서버 동시 요청 수 제한, 한도를 넘은 요청은 스레드를 잡지 않고 대기열에서 자리가 나기를 기다린다
+//대기열까지 가득 차면 VOICE_SERVER_BUSY 로 바로 실패
+@Slf4j
+@Component
+public class AiServerBulkhead {
+
+    private final int maxConcurrent;
+    private final int maxQueue;
+
+    //아래 필드는 모두 this 로 동기화
+    private final ArrayDeque<Permit> waiters = new ArrayDeque<>();
+    private int inFlight;
+    private long rejected;
+
+    public AiServerBulkhead(@Value("${aiserver.bulkhead.max-concurrent:8}") int maxConcurrent,
+                            @Value("${aiserver.bulkhead.max-queue:64}") int maxQueue) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+    }
+
+
+    //자리를 얻은 뒤에 call 을 구독하고, 완료/실패/취소 어느 경우든 자리를 반납
+    public <T> Mono<T> execute(Supplier<? extends Mono<T>> call) {
+        return Mono.usingWhen(acquire(),
+                permit -> Mono.defer(call),
+                permit -> Mono.fromRunnable(permit::release),
+                (permit, error) -> Mono.fromRunnable(permit::release),
+                permit -> Mono.fromRunnable(permit::release));
+    }
+
+    //지금 바로 얻을 수 있는 자리 수, 기다리는 요청이 있으면 0
+    public synchronized int getAvailable() {
+        return waiters.isEmpty() ? Math.max(0, maxConcurrent - inFlight) : 0;
+    }
+
+    public synchronized Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("inFlight", (long) inFlight);
+        metrics.put("queued", (long) waiters.size());
+        metrics.put("rejected", rejected);
+        return metrics;
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Permit permit = new Permit(sink);
+            //자리를 받기 전에 취소되면 대기열에서 빼고, 받은 뒤라면 반납
+            sink.onCancel(() -> cancel(permit));
+
+            boolean granted = false;
+            boolean queued = false;
+            synchronized (this) {
+                if (inFlight < maxConcurrent) {
+                    inFlight++;
+                    permit.granted = true;
+                    granted = true;
+                } else if (waiters.size() < maxQueue) {
+                    waiters.add(permit);
+                    queued = true;
+                } else {
+                    rejected++;
+                }
+            }
+
+            if (granted) {
+                sink.success(permit);
+            } else if (!queued) {
+                log.warn("AI 서버 요청 거절 - 동시 요청 {}, 대기 {} 초과", maxConcurrent, maxQueue);
+                sink.error(new VoiceServerException(ResponseCode.VOICE_SERVER_BUSY));
+            }
+        });
+    }
+
+    private void cancel(Permit permit) {
+        synchronized (this) {
+            if (waiters.remove(permit)) {
+                return;
+            }
+        }
+        permit.release();
+    }
+
+
+    //요청 하나가 차지한 자리, 반납은 한 번만 반영
+    private final class Permit {
+        private final MonoSink<Permit> sink;
+        private boolean granted;
+        private boolean released;
+
+        private Permit(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        //대기 중인 요청이 있으면 자리를 그대로 넘긴다
+        private void release() {
+            Permit next;
+            synchronized (AiServerBulkhead.this) {
+                if (!granted || released) {
+                    return;
+                }
+                released = true;
+                next = waiters.poll();
+                if (next != null) {
+                    next.granted = true;
+                } else {
+                    inFlight--;
+                }
+            }
+            if (next != null) {
+                next.sink.success(next);
+            }
+        }
+    }
+}
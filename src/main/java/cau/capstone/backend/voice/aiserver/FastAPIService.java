@@ -1,13 +1,16 @@
 package cau.capstone.backend.voice.aiserver;
 
-import cau.capstone.backend.User.model.repository.UserRepository;
+import cau.capstone.backend.global.security.CurrentUser;
 import cau.capstone.backend.global.security.Entity.JwtTokenProvider;
 import cau.capstone.backend.page.model.Page;
 import cau.capstone.backend.page.model.repository.PageRepository;
 import cau.capstone.backend.voice.repository.VoiceRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.stereotype.Service;
@@ -15,8 +18,18 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import javax.annotation.PostConstruct;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 
@@ -24,23 +37,46 @@ public class FastAPIService {
 
 
     private final PageRepository pageRepository;
-    private final UserRepository userRepository;
+    private final CurrentUser currentUser;
     private final VoiceRepository voiceRepository;
 
     private final WebClient webClient;
+    private final AiServerBulkhead bulkhead;
     private final JwtTokenProvider jwtTokenProvider;
 
+    //공유 호출이 먼저 끝나 버리면 기다리던 요청(음성 캐시 채우기, MVC 비동기 응답)이 모두 실패하므로 둘보다 짧게 두지 않는다
+    @Value("${aiserver.single-flight.timeout-ms:120000}")
+    private long singleFlightTimeoutMillis;
+    @Value("${voice.speech-cache.fill-timeout-ms:120000}")
+    private long fillTimeoutMillis;
+    @Value("${web.async.timeout-ms:120000}")
+    private long asyncTimeoutMillis;
+
+    //같은 본문(앞뒤 공백 제외)의 동시 요청은 AI 서버에 한 번만 보낸다
+    private SingleFlight<String, EmotionDto> emotionFlights;
+
+    @PostConstruct
+    protected void init() {
+        long timeoutMillis = Math.max(singleFlightTimeoutMillis, Math.max(fillTimeoutMillis, asyncTimeoutMillis));
+        if (timeoutMillis != singleFlightTimeoutMillis) {
+            log.warn("aiserver.single-flight.timeout-ms({}) 가 음성 캐시/비동기 요청 timeout 보다 짧아 {}ms 로 늘림",
+                    singleFlightTimeoutMillis, timeoutMillis);
+        }
+        emotionFlights = new SingleFlight<>(Duration.ofMillis(timeoutMillis));
+    }
 
 
+    //AI 서버 호출은 모두 bulkhead 를 거쳐 동시 요청 수를 제한
     public Mono<EmotionDto> getEmotionData(String content) {
+        String text = normalize(content);
 
-        return this.webClient.get()
+        return emotionFlights.execute(text, () -> bulkhead.execute(() -> this.webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/v1/emotion")
-                        .queryParam("text", content)
+                        .queryParam("text", text)
                         .build())
                 .retrieve()
-                .bodyToMono(EmotionDto.class);
+                .bodyToMono(EmotionDto.class)));
     }
 
 
@@ -60,14 +96,11 @@ public class FastAPIService {
 //    }
 
     public Mono<String> cloneVoice(MultipartFile file) {
-        var email = jwtTokenProvider.getUserEmail();
-        Long userId = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("해당 유저가 존재하지 않습니다."))
-                .getId();
+        Long userId = currentUser.getId();
         MultipartBodyBuilder bodyBuilder = new MultipartBodyBuilder();
         bodyBuilder.part("audio_file", file.getResource());
 
-        return this.webClient.post()
+        return bulkhead.execute(() -> this.webClient.post()
                 .uri("/v1/voice/{user_id}", userId)
                 .contentType(MediaType.MULTIPART_FORM_DATA)
                 .body(BodyInserters.fromMultipartData(bodyBuilder.build()))
@@ -80,12 +113,23 @@ public class FastAPIService {
                 .doOnError(WebClientResponseException.class, ex -> {
                     // 예외 로깅
                     System.err.println("Error response: " + ex.getResponseBodyAsString());
-                });
+                }));
     }
 
 
-    public Mono<byte[]> processStringAndGetWav(String content, String emotion, int emotionStrength, Long voiceId) {
-        //check voice permission
+    //합성된 음성을 메모리에 모으지 않고 AI 서버가 보내는 조각 그대로 넘긴다, 헤더(Content-Length 등)도 함께
+    //bulkhead 자리는 응답 헤더를 받을 때까지 (합성이 끝나는 시점) 차지
+    public Mono<ResponseEntity<Flux<DataBuffer>>> streamWav(String content, String emotion, int emotionStrength, Long voiceId) {
+        var voiceUserEmail = checkVoicePermission(voiceId);
+
+        return bulkhead.execute(() -> this.webClient.get()
+                .uri(speechUri(content, emotion, emotionStrength, voiceUserEmail))
+                .retrieve()
+                .toEntityFlux(DataBuffer.class));
+    }
+
+    //check voice permission, 음성 주인의 이메일 반환
+    public String checkVoicePermission(Long voiceId) {
         var voice = voiceRepository.findById(voiceId)
                 .orElseThrow(() -> new RuntimeException("해당 음성이 존재하지 않습니다."));
 
@@ -93,17 +137,26 @@ public class FastAPIService {
             throw new RuntimeException("음성 사용 권한이 없습니다.");
         }
 
-        var voiceUserEmail = voice.getUser().getEmail();
+        return voice.getUser().getEmail();
+    }
 
-        return this.webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/v1/voice/{user_id}/speech")
-                        .queryParam("text", content)
-                        .queryParam("emotion", emotion)
-                        .queryParam("strength", emotionStrength)
-                        .build(voiceUserEmail))
-                .retrieve()
-                .bodyToMono(byte[].class);
+    public Map<String, Map<String, Long>> getSingleFlightMetrics() {
+        Map<String, Map<String, Long>> metrics = new LinkedHashMap<>();
+        metrics.put("emotion", emotionFlights.getMetrics());
+        return metrics;
+    }
+
+    private static String normalize(String content) {
+        return content == null ? "" : content.strip();
+    }
+
+    private static Function<UriBuilder, URI> speechUri(String content, String emotion, int emotionStrength, String voiceUserEmail) {
+        return uriBuilder -> uriBuilder
+                .path("/v1/voice/{user_id}/speech")
+                .queryParam("text", content)
+                .queryParam("emotion", emotion)
+                .queryParam("strength", emotionStrength)
+                .build(voiceUserEmail);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package cau.capstone.backend.voice.aiserver;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+//같은 키의 호출이 진행 중이면 새로 보내지 않고 그 결과를 함께 받는다
+//진행 중인 호출은 구독자가 모두 떠나도 timeout 까지는 끝까지 진행하고, 끝나면 (성공/실패/timeout) 키를 비운다
+public class SingleFlight<K, V> {
+
+    private final Duration timeout;
+    private final ConcurrentHashMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+
+    public SingleFlight(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+
+    public Mono<V> execute(K key, Supplier<? extends Mono<V>> call) {
+        return Mono.defer(() -> {
+            boolean[] started = new boolean[1];
+            Mono<V> shared = inFlight.computeIfAbsent(key, k -> {
+                started[0] = true;
+                return start(k, call);
+            });
+            (started[0] ? calls : deduplicated).incrementAndGet();
+            return shared;
+        });
+    }
+
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("calls", calls.get());
+        metrics.put("deduplicated", deduplicated.get());
+        metrics.put("timeouts", timeouts.get());
+        metrics.put("inFlight", (long) inFlight.size());
+        return metrics;
+    }
+
+    private Mono<V> start(K key, Supplier<? extends Mono<V>> call) {
+        AtomicReference<Mono<V>> self = new AtomicReference<>();
+        Mono<V> shared = Mono.<V>defer(call)
+                .timeout(timeout)
+                .doOnError(TimeoutException.class, e -> timeouts.incrementAndGet())
+                //결과를 받은 구독자가 바로 다시 호출하면 새로 보내도록 결과를 넘기기 전에 비운다
+                .doOnTerminate(() -> inFlight.remove(key, self.get()))
+                .share();
+        self.set(shared);
+        return shared;
+    }
+}
@@ -5,12 +5,14 @@ import cau.capstone.backend.global.util.api.ResponseCode;
 import cau.capstone.backend.global.util.exception.VoiceServerException;
 import cau.capstone.backend.voice.aiserver.EmotionDto;
 import cau.capstone.backend.voice.aiserver.FastAPIService;
-import cau.capstone.backend.global.security.Entity.JwtTokenProvider;
+import cau.capstone.backend.global.security.CurrentUser;
 import cau.capstone.backend.page.service.PageService;
 import cau.capstone.backend.voice.dto.request.SpeechRequestDto;
 import cau.capstone.backend.voice.dto.request.SpeechTestRequestDto;
 import cau.capstone.backend.voice.dto.response.EmotionResponseDto;
 import cau.capstone.backend.voice.dto.response.VoiceResponseDto;
+import cau.capstone.backend.voice.service.SpeechService;
+import cau.capstone.backend.voice.service.SpeechStream;
 import cau.capstone.backend.voice.service.VoiceService;
 import io.swagger.annotations.Api;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +24,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -33,82 +36,83 @@ import java.util.List;
 @Api(tags = "음성 API")
 public class VoiceController {
 
-    private final JwtTokenProvider jwtTokenProvider;
+    private final CurrentUser currentUser;
     private final FastAPIService fastAPIService;
     private final PageService pageService;
     private final VoiceService voiceService;
+    private final SpeechService speechService;
 
+    //AI 서버를 부르는 API 는 Mono 를 그대로 반환해 응답을 기다리는 동안 요청 스레드를 점유하지 않는다
     @PostMapping("user/clone")
-    public ApiResponse<String> cloneVoice(@RequestPart MultipartFile file) {
-        Mono<String> test = fastAPIService.cloneVoice(file);
-        return ApiResponse.success(test.block(), ResponseCode.VOICE_CLONE_SUCCESS.getMessage());
+    public Mono<ApiResponse<String>> cloneVoice(@RequestPart MultipartFile file) {
+        return fastAPIService.cloneVoice(file)
+                .map(result -> ApiResponse.success(result, ResponseCode.VOICE_CLONE_SUCCESS.getMessage()));
     }
 
     @GetMapping("/emotion")
-    public ApiResponse<EmotionResponseDto> getEmotionFromPage(@RequestParam("content") String content) {
-        Mono<EmotionDto> dto = fastAPIService.getEmotionData(content);
-        var res = dto.block();
-        String emotion = res.getEmotion();
-        int value = res.getValue();
-
-        return ApiResponse.success(EmotionResponseDto.of(emotion, value), ResponseCode.VOICE_EMOTION_SUCCESS.getMessage());
+    public Mono<ApiResponse<EmotionResponseDto>> getEmotionFromPage(@RequestParam("content") String content) {
+        return fastAPIService.getEmotionData(content)
+                .map(this::toEmotionResponse);
     }
 
     @GetMapping("/page/{pageId}")
-    public ApiResponse<EmotionResponseDto> getEmotionFromPage(@PathVariable Long pageId) {
+    public Mono<ApiResponse<EmotionResponseDto>> getEmotionFromPage(@PathVariable Long pageId) {
 
         var page = pageService.getPage(pageId);
-        Mono<EmotionDto> dto = fastAPIService.getEmotionData(page.getContent());
-        var res = dto.block();
-        String emotion = res.getEmotion();
-        int value = res.getValue();
-
-        return ApiResponse.success(EmotionResponseDto.of(emotion, value), ResponseCode.VOICE_EMOTION_SUCCESS.getMessage());
+        return fastAPIService.getEmotionData(page.getContent())
+                .map(this::toEmotionResponse);
     }
 
+    //페이지의 기본 음성은 페이지 defaultVoiceUserMail 유저의 가장 최근 음성(가장 큰 voice id)이다
+    //그 음성 id 와 페이지에 저장된 감정/강도로 요청하면 미리 합성된 음성(SpeechPresynthesizer)을 바로 받는다
     @GetMapping("/{voiceId}/page/{pageId}/speech")
-    public ResponseEntity<byte[]> getSpeechFromPage(@PathVariable Long pageId, @RequestParam("emotion") String emotion, @RequestParam("intensity") int intensity, @PathVariable Long voiceId) {
+    public Mono<ResponseEntity<StreamingResponseBody>> getSpeechFromPage(@PathVariable Long pageId, @RequestParam("emotion") String emotion, @RequestParam("intensity") int intensity, @PathVariable Long voiceId) {
         var page = pageService.getPage(pageId);
-        return fastAPIService.processStringAndGetWav(page.getContent(), emotion, intensity, voiceId)
-                .map(wavFile -> ResponseEntity.ok()
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"output.wav\"")
-                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                        .body(wavFile))
-                .defaultIfEmpty(ResponseEntity.status(500).build())
-                .doOnError(throwable -> {throw new VoiceServerException(ResponseCode.VOICE_SERVER_ERROR);})
-                .block();
+        return toWavResponse(speechService.getPageSpeech(pageId, page.getContent(), emotion, intensity, voiceId));
     }
 
     @GetMapping("/{voiceId}/speech")
-    public ResponseEntity<byte[]> getSpeechTest(@RequestParam("emotion") String emotion, @RequestParam("intensity") int intensity,@RequestParam("content") String content, @PathVariable Long voiceId) {
-        return fastAPIService.processStringAndGetWav(content,  emotion, intensity, voiceId)
-                .map(wavFile -> ResponseEntity.ok()
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"output.wav\"")
-                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                        .body(wavFile))
+    public Mono<ResponseEntity<StreamingResponseBody>> getSpeechTest(@RequestParam("emotion") String emotion, @RequestParam("intensity") int intensity,@RequestParam("content") String content, @PathVariable Long voiceId) {
+        return toWavResponse(speechService.getSpeech(content,  emotion, intensity, voiceId));
+    }
+
+    private ApiResponse<EmotionResponseDto> toEmotionResponse(EmotionDto dto) {
+        return ApiResponse.success(EmotionResponseDto.of(dto.getEmotion(), dto.getValue()), ResponseCode.VOICE_EMOTION_SUCCESS.getMessage());
+    }
+
+    //음성을 그대로 흘려보낸다, 길이를 알면 Content-Length 를 전달하고 모르면 chunked 전송
+    //bulkhead 거절(VOICE_SERVER_BUSY)은 그대로, 나머지 실패는 VOICE_SERVER_ERROR 로
+    private Mono<ResponseEntity<StreamingResponseBody>> toWavResponse(Mono<SpeechStream> wav) {
+        return wav
+                .map(speech -> {
+                    ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"output.wav\"")
+                            .contentType(MediaType.APPLICATION_OCTET_STREAM);
+                    if (speech.getContentLength() >= 0) {
+                        builder.contentLength(speech.getContentLength());
+                    }
+                    return builder.body(speech.getBody());
+                })
                 .defaultIfEmpty(ResponseEntity.status(500).build())
-                .doOnError(throwable -> {throw new VoiceServerException(ResponseCode.VOICE_SERVER_ERROR);})
-                .block();
+                .onErrorMap(throwable -> !(throwable instanceof VoiceServerException),
+                        throwable -> new VoiceServerException(ResponseCode.VOICE_SERVER_ERROR));
     }
 
     @PatchMapping("/{voiceId}/scrap")
     public ApiResponse<String> scrapVoice(@PathVariable Long voiceId) {
-        var email = jwtTokenProvider.getUserEmail();
-        voiceService.scrapVoiceByUser(email, voiceId);
+        voiceService.scrapVoiceByUser(currentUser.getId(), voiceId);
         return ApiResponse.success("Success", ResponseCode.VOICE_SCRAP_SUCCESS.getMessage());
     }
 
     @DeleteMapping("/{voiceId}/scrap")
     public ApiResponse<String> deleteScrapVoice(@PathVariable Long voiceId) {
-        var email = jwtTokenProvider.getUserEmail();
-        voiceService.deleteScrapVoiceByUser(email, voiceId);
+        voiceService.deleteScrapVoiceByUser(currentUser.getId(), voiceId);
         return ApiResponse.success("Success", ResponseCode.VOICE_DELETE_SCRAP_SUCCESS.getMessage());
     }
 
     @GetMapping("/user/scrap/all")
     public ApiResponse<List<VoiceResponseDto>> getAllScrappedVoice() {
-        var email = jwtTokenProvider.getUserEmail();
-        return ApiResponse.success(voiceService.getScrappedVoiceList(email), ResponseCode.VOICE_LIST_SUCCESS.getMessage());
+        return ApiResponse.success(voiceService.getScrappedVoiceList(currentUser.getId()), ResponseCode.VOICE_LIST_SUCCESS.getMessage());
     }
 
     @GetMapping("/all")
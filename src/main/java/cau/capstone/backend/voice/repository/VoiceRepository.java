@@ -4,6 +4,8 @@ import cau.capstone.backend.voice.model.VoiceEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +14,6 @@ import java.util.Optional;
 @Repository
 public interface VoiceRepository extends JpaRepository<VoiceEntity, Long> {
     Page<VoiceEntity> findAll(Pageable pageable);
+    @Query("SELECT v.id FROM VoiceEntity v WHERE v.user.email = :email ORDER BY v.id DESC")
+    List<Long> findIdsByUserEmail(@Param("email") String email); //최근 등록한 음성부터
 }
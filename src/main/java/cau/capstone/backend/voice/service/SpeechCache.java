@@ -0,0 +1,373 @@
+package cau.capstone.backend.voice.service;
+
+import cau.capstone.backend.global.search.SearchDocumentType;
+import cau.capstone.backend.global.search.SearchIndexEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+//합성된 페이지 음성 캐시, 작은 클립은 메모리 LRU 에도 두고 모든 클립은 로컬 디스크에 보관
+//두 계층 모두 바이트 한도를 넘으면 가장 오래 쓰지 않은 클립부터 지운다
+//디스크는 {dir}/{pageId}/{key}.wav 구조라 재시작 후에도 그대로 쓰고, 페이지 수정/삭제 시 해당 페이지 클립을 지운다
+@Slf4j
+@Component
+public class SpeechCache {
+
+    private static final String SUFFIX = ".wav";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long memoryMaxBytes;
+    private final long memoryMaxClipBytes;
+    private final long diskMaxBytes;
+
+    //아래 필드는 모두 this 로 동기화, 키는 "pageId/key", 접근 순서라 맨 앞이 가장 오래 쓰지 않은 클립
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+    private long diskBytes;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public SpeechCache(@Value("${voice.speech-cache.dir:speech-cache}") String directory,
+                       @Value("${voice.speech-cache.memory-max-bytes:67108864}") long memoryMaxBytes,
+                       @Value("${voice.speech-cache.memory-max-clip-bytes:4194304}") long memoryMaxClipBytes,
+                       @Value("${voice.speech-cache.disk-max-bytes:2147483648}") long diskMaxBytes) {
+        this.directory = Paths.get(directory);
+        this.memoryMaxBytes = memoryMaxBytes;
+        this.memoryMaxClipBytes = memoryMaxClipBytes;
+        this.diskMaxBytes = diskMaxBytes;
+    }
+
+
+    //본문, 음성, 감정, 강도의 SHA-256
+    public static String key(String content, Long voiceId, String emotion, int intensity) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((content == null ? "" : content).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update((voiceId + "\0" + emotion + "\0" + intensity).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest.digest()) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    //없으면 null, 디스크에서 찾은 작은 클립은 메모리로 올린다
+    public Clip get(Long pageId, String key) {
+        return lookup(pageId, key, true);
+    }
+
+    //파일을 열지 않고 색인만 확인, hit/miss 로 세지 않는다
+    public synchronized boolean contains(Long pageId, String key) {
+        return disk.containsKey(entryKey(pageId, key));
+    }
+
+    //get 과 같지만 hit/miss 로 세지 않는다, fill 직후 읽을 때
+    public Clip open(Long pageId, String key) {
+        return lookup(pageId, key, false);
+    }
+
+    private Clip lookup(Long pageId, String key, boolean counted) {
+        String entryKey = entryKey(pageId, key);
+        byte[] bytes;
+        Long size;
+        synchronized (this) {
+            bytes = memory.get(entryKey);
+            size = bytes == null ? disk.get(entryKey) : null;
+        }
+        if (bytes != null) {
+            count(counted, memoryHits);
+            return Clip.of(bytes);
+        }
+        if (size == null) {
+            count(counted, misses);
+            return null;
+        }
+
+        Path path = path(pageId, key);
+        try {
+            //재시작 후에도 접근 순서가 유지되도록
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            Clip clip;
+            if (size <= memoryMaxClipBytes) {
+                bytes = Files.readAllBytes(path);
+                putMemory(entryKey, bytes);
+                clip = Clip.of(bytes);
+            } else {
+                clip = Clip.of(Files.newInputStream(path), size);
+            }
+            count(counted, diskHits);
+            return clip;
+        } catch (IOException e) {
+            //지우는 중이었거나 파일이 사라진 경우
+            log.debug("음성 캐시 파일 읽기 실패 - {}", path, e);
+            synchronized (this) {
+                Long removed = disk.remove(entryKey);
+                if (removed != null) {
+                    diskBytes -= removed;
+                }
+            }
+            count(counted, misses);
+            return null;
+        }
+    }
+
+    //AI 서버 응답을 메모리에 모으지 않고 디스크 임시 파일로 바로 기록, 끝까지 받으면 캐시에 반영하고 true
+    //expectedLength 를 알면 (0 이상) 길이가 맞을 때만 반영, 디스크 기록에 실패하거나 길이가 다르면 false
+    public Mono<Boolean> fill(Long pageId, String key, Flux<DataBuffer> body, long expectedLength) {
+        return Mono.defer(() -> {
+            Path temp;
+            try {
+                Path target = path(pageId, key);
+                Files.createDirectories(target.getParent());
+                temp = Files.createTempFile(target.getParent(), key, TEMP_SUFFIX);
+            } catch (IOException e) {
+                log.warn("음성 캐시 파일 생성 실패 - {}", pageId, e);
+                return body.doOnNext(DataBufferUtils::release).then(Mono.just(false));
+            }
+            return DataBufferUtils.write(body, temp)
+                    .then(Mono.fromCallable(() -> commit(pageId, key, temp, expectedLength))
+                            .subscribeOn(Schedulers.boundedElastic()))
+                    .onErrorResume(IOException.class, e -> {
+                        log.warn("음성 캐시 기록 실패 - {}", pageId, e);
+                        return Mono.just(false);
+                    })
+                    //반영했으면 이미 옮겨져 없다
+                    .doOnTerminate(() -> deleteQuietly(temp))
+                    .doOnCancel(() -> deleteQuietly(temp));
+        });
+    }
+
+    public void invalidatePage(Long pageId) {
+        String prefix = pageId + "/";
+        synchronized (this) {
+            memory.entrySet().removeIf(entry -> {
+                if (!entry.getKey().startsWith(prefix)) {
+                    return false;
+                }
+                memoryBytes -= entry.getValue().length;
+                return true;
+            });
+            disk.entrySet().removeIf(entry -> {
+                if (!entry.getKey().startsWith(prefix)) {
+                    return false;
+                }
+                diskBytes -= entry.getValue();
+                return true;
+            });
+        }
+
+        Path pageDirectory = directory.resolve(String.valueOf(pageId));
+        if (!Files.isDirectory(pageDirectory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(pageDirectory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).forEach(SpeechCache::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("음성 캐시 페이지 삭제 실패 - {}", pageId, e);
+        }
+        deleteQuietly(pageDirectory);
+    }
+
+    //페이지 수정/삭제 커밋 후, 바뀐 본문으로는 어차피 키가 달라지지만 예전 클립이 자리를 차지하지 않도록
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPageChanged(SearchIndexEvent event) {
+        if (event.getType() == SearchDocumentType.PAGE) {
+            invalidatePage(event.getId());
+        }
+    }
+
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("memoryHits", memoryHits.get());
+        metrics.put("diskHits", diskHits.get());
+        metrics.put("misses", misses.get());
+        metrics.put("evictions", evictions.get());
+        synchronized (this) {
+            metrics.put("memoryClips", (long) memory.size());
+            metrics.put("memoryBytes", memoryBytes);
+            metrics.put("diskClips", (long) disk.size());
+            metrics.put("diskBytes", diskBytes);
+        }
+        return metrics;
+    }
+
+    //이전 실행에서 남은 클립을 수정 시각 순서로 불러오고, 임시 파일은 지운다
+    @PostConstruct
+    public void load() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> clips = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(directory, 2)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    deleteQuietly(file);
+                } else if (name.endsWith(SUFFIX)) {
+                    clips.add(file);
+                }
+            });
+        } catch (IOException e) {
+            log.warn("음성 캐시 디렉터리 읽기 실패 - {}", directory, e);
+            return;
+        }
+
+        Map<Path, Long> modified = new HashMap<>(clips.size() * 2);
+        for (Path clip : clips) {
+            try {
+                modified.put(clip, Files.getLastModifiedTime(clip).toMillis());
+            } catch (IOException e) {
+                modified.put(clip, 0L);
+            }
+        }
+        clips.sort(Comparator.comparing(modified::get));
+
+        for (Path clip : clips) {
+            String pageId = clip.getParent().getFileName().toString();
+            String name = clip.getFileName().toString();
+            try {
+                admitDisk(pageId + "/" + name.substring(0, name.length() - SUFFIX.length()), Files.size(clip));
+            } catch (IOException e) {
+                deleteQuietly(clip);
+            }
+        }
+        log.info("음성 캐시 적재 - {} 개, {} bytes", disk.size(), diskBytes);
+    }
+
+    private boolean commit(Long pageId, String key, Path temp, long expectedLength) throws IOException {
+        long size = Files.size(temp);
+        if (expectedLength >= 0 && expectedLength != size) {
+            log.warn("음성 캐시 길이 불일치 - {}, {} / {}", pageId, size, expectedLength);
+            return false;
+        }
+        Path target = path(pageId, key);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        admitDisk(entryKey(pageId, key), size);
+        if (size <= memoryMaxClipBytes) {
+            putMemory(entryKey(pageId, key), Files.readAllBytes(target));
+        }
+        return true;
+    }
+
+    private static void count(boolean counted, AtomicLong counter) {
+        if (counted) {
+            counter.incrementAndGet();
+        }
+    }
+
+    private void putMemory(String entryKey, byte[] bytes) {
+        synchronized (this) {
+            byte[] previous = memory.put(entryKey, bytes);
+            memoryBytes += bytes.length - (previous == null ? 0 : previous.length);
+            Iterator<byte[]> eldest = memory.values().iterator();
+            while (memoryBytes > memoryMaxBytes && eldest.hasNext()) {
+                memoryBytes -= eldest.next().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    //한도를 넘으면 오래된 클립부터 색인에서 빼고, 파일은 잠금 밖에서 지운다
+    private void admitDisk(String entryKey, long size) {
+        List<String> evicted = new ArrayList<>();
+        synchronized (this) {
+            Long previous = disk.put(entryKey, size);
+            diskBytes += size - (previous == null ? 0 : previous);
+            Iterator<Map.Entry<String, Long>> eldest = disk.entrySet().iterator();
+            while (diskBytes > diskMaxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                diskBytes -= entry.getValue();
+                eldest.remove();
+                byte[] bytes = memory.remove(entry.getKey());
+                if (bytes != null) {
+                    memoryBytes -= bytes.length;
+                }
+                evicted.add(entry.getKey());
+            }
+        }
+        for (String key : evicted) {
+            evictions.incrementAndGet();
+            deleteQuietly(directory.resolve(key + SUFFIX));
+        }
+    }
+
+    private Path path(Long pageId, String key) {
+        return directory.resolve(String.valueOf(pageId)).resolve(key + SUFFIX);
+    }
+
+    private static String entryKey(Long pageId, String key) {
+        return pageId + "/" + key;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("음성 캐시 파일 삭제 실패 - {}", path, e);
+        }
+    }
+
+
+    //캐시된 클립, 메모리 바이트 또는 열어 둔 디스크 파일
+    public static final class Clip {
+        private final byte[] bytes;
+        private final InputStream in;
+        private final long length;
+
+        private Clip(byte[] bytes, InputStream in, long length) {
+            this.bytes = bytes;
+            this.in = in;
+            this.length = length;
+        }
+
+        private static Clip of(byte[] bytes) {
+            return new Clip(bytes, null, bytes.length);
+        }
+
+        private static Clip of(InputStream in, long length) {
+            return new Clip(null, in, length);
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public void writeTo(OutputStream out) throws IOException {
+            if (bytes != null) {
+                out.write(bytes);
+                return;
+            }
+            try (InputStream source = in) {
+                source.transferTo(out);
+            }
+        }
+    }
+}
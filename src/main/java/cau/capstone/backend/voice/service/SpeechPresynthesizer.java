@@ -0,0 +1,234 @@
+package cau.capstone.backend.voice.service;
+
+import cau.capstone.backend.global.redis.RankingService;
+import cau.capstone.backend.global.search.SearchDocumentType;
+import cau.capstone.backend.global.search.SearchIndexEvent;
+import cau.capstone.backend.page.model.Emotion;
+import cau.capstone.backend.page.model.EmotionType;
+import cau.capstone.backend.page.model.Page;
+import cau.capstone.backend.page.model.repository.PageRepository;
+import cau.capstone.backend.voice.aiserver.AiServerBulkhead;
+import cau.capstone.backend.voice.repository.VoiceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+//새로 작성/수정된 페이지와 조회 랭킹 상위 topN 에 새로 들어온 페이지의 음성을 미리 합성해 SpeechCache 에 둔다
+//페이지의 기본 음성(defaultVoiceUserMail 유저의 가장 최근 음성, VoiceController 의 페이지 음성 API 와 같은 기준)과
+//저장된 감정 코드로 합성하고, 기본 음성이 없는 페이지는 건너뛴다
+//대기열은 랭킹 순위 순(작성/수정된 페이지는 랭킹 페이지 뒤)이며 가득 차면 가장 뒤의 페이지를 버린다
+//AI 서버 bulkhead 에 reservedSlots 보다 많은 자리가 비어 있고 기다리는 요청이 없을 때만 시작해 사용자 요청을 밀어내지 않는다
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "voice.presynthesis.enabled", havingValue = "true", matchIfMissing = true)
+public class SpeechPresynthesizer {
+
+    private static final Comparator<Job> ORDER = Comparator.comparingInt((Job job) -> job.priority)
+            .thenComparingLong(job -> job.sequence);
+
+    private final SpeechService speechService;
+    private final AiServerBulkhead bulkhead;
+    private final PageRepository pageRepository;
+    private final VoiceRepository voiceRepository;
+    private final RankingService rankingService;
+    private final int topN;
+    private final int queueSize;
+    private final int concurrency;
+    private final int reservedSlots;
+
+    //아래 세 필드는 this 로 동기화, queue 의 앞쪽이 먼저 합성할 페이지
+    private final TreeSet<Job> queue = new TreeSet<>(ORDER);
+    private final Map<Long, Job> queued = new HashMap<>();
+    private long sequence;
+
+    //직전 조회 랭킹 상위 페이지, 스케줄러에서만 접근
+    private Set<Long> trending = Collections.emptySet();
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong synthesized = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public SpeechPresynthesizer(SpeechService speechService,
+                                AiServerBulkhead bulkhead,
+                                PageRepository pageRepository,
+                                VoiceRepository voiceRepository,
+                                RankingService rankingService,
+                                @Value("${voice.presynthesis.top-n:20}") int topN,
+                                @Value("${voice.presynthesis.queue-size:256}") int queueSize,
+                                @Value("${voice.presynthesis.concurrency:2}") int concurrency,
+                                @Value("${voice.presynthesis.reserved-slots:2}") int reservedSlots) {
+        this.speechService = speechService;
+        this.bulkhead = bulkhead;
+        this.pageRepository = pageRepository;
+        this.voiceRepository = voiceRepository;
+        this.rankingService = rankingService;
+        this.topN = topN;
+        this.queueSize = queueSize;
+        this.concurrency = concurrency;
+        this.reservedSlots = reservedSlots;
+    }
+
+
+    //priority 가 작을수록 먼저, 이미 대기 중이면 더 앞선 priority 로만 바꾼다
+    public synchronized boolean enqueue(Long pageId, int priority) {
+        Job existing = queued.get(pageId);
+        if (existing != null) {
+            if (existing.priority <= priority) {
+                return false;
+            }
+            queue.remove(existing);
+        } else if (queue.size() >= queueSize) {
+            Job last = queue.last();
+            dropped.incrementAndGet();
+            if (last.priority <= priority) {
+                return false;
+            }
+            queue.pollLast();
+            queued.remove(last.pageId);
+        }
+
+        Job job = new Job(pageId, priority, sequence++);
+        queue.add(job);
+        queued.put(pageId, job);
+        if (existing == null) {
+            enqueued.incrementAndGet();
+        }
+        return true;
+    }
+
+    //페이지 작성/수정 커밋 후 대기열에 넣고, 삭제되면 뺀다
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPageChanged(SearchIndexEvent event) {
+        if (event.getType() != SearchDocumentType.PAGE) {
+            return;
+        }
+        if (event.isDeleted()) {
+            remove(event.getId());
+        } else {
+            enqueue(event.getId(), topN);
+        }
+    }
+
+    //감정별 조회 랭킹 상위 topN 중 직전에 없던 페이지를 순위대로 넣는다
+    @Scheduled(fixedDelayString = "${voice.presynthesis.trending-poll-ms:60000}")
+    public void pollTrending() {
+        Map<Long, Integer> ranks = new HashMap<>();
+        try {
+            for (EmotionType emotion : EmotionType.values()) {
+                Set<String> top = rankingService.getTopViewedPages(emotion, topN);
+                if (top == null) {
+                    continue;
+                }
+                int rank = 0;
+                for (String pageId : top) {
+                    ranks.merge(Long.valueOf(pageId), rank++, Math::min);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("음성 미리 합성 - 조회 랭킹 읽기 실패", e);
+            return;
+        }
+
+        for (Map.Entry<Long, Integer> entry : ranks.entrySet()) {
+            if (!trending.contains(entry.getKey())) {
+                enqueue(entry.getKey(), entry.getValue());
+            }
+        }
+        trending = ranks.keySet();
+    }
+
+    //AI 서버에 여유가 있는 동안 concurrency 개까지 합성을 시작, 합성은 논블로킹이라 스레드를 잡지 않는다
+    @Scheduled(fixedDelayString = "${voice.presynthesis.tick-ms:1000}")
+    public void drain() {
+        while (running.get() < concurrency && bulkhead.getAvailable() > reservedSlots) {
+            Long pageId = poll();
+            if (pageId == null) {
+                return;
+            }
+            try {
+                start(pageId);
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                log.warn("음성 미리 합성 시작 실패 - {}", pageId, e);
+            }
+        }
+    }
+
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("enqueued", enqueued.get());
+        metrics.put("dropped", dropped.get());
+        metrics.put("synthesized", synthesized.get());
+        metrics.put("skipped", skipped.get());
+        metrics.put("failed", failed.get());
+        metrics.put("running", (long) running.get());
+        synchronized (this) {
+            metrics.put("queued", (long) queue.size());
+        }
+        return metrics;
+    }
+
+    private void start(Long pageId) {
+        Page page = pageRepository.findById(pageId).orElse(null);
+        Emotion emotion = page == null ? null : page.getEmotion();
+        if (page == null || page.getDefaultVoiceUserMail() == null || page.getContent() == null
+                || emotion == null || emotion.getType() == null || emotion.getIntensity() == null) {
+            skipped.incrementAndGet();
+            return;
+        }
+        List<Long> voiceIds = voiceRepository.findIdsByUserEmail(page.getDefaultVoiceUserMail());
+        if (voiceIds.isEmpty()) {
+            skipped.incrementAndGet();
+            return;
+        }
+
+        running.incrementAndGet();
+        speechService.presynthesize(pageId, page.getContent(), emotion.getType().getCode(),
+                        emotion.getIntensity().getIntensity(), voiceIds.get(0))
+                .doFinally(signal -> running.decrementAndGet())
+                .subscribe(filled -> (filled ? synthesized : skipped).incrementAndGet(),
+                        error -> {
+                            failed.incrementAndGet();
+                            log.debug("음성 미리 합성 실패 - {}", pageId, error);
+                        });
+    }
+
+    private synchronized Long poll() {
+        Job job = queue.pollFirst();
+        if (job == null) {
+            return null;
+        }
+        queued.remove(job.pageId);
+        return job.pageId;
+    }
+
+    private synchronized void remove(Long pageId) {
+        Job job = queued.remove(pageId);
+        if (job != null) {
+            queue.remove(job);
+        }
+    }
+
+
+    private static final class Job {
+        private final Long pageId;
+        private final int priority;
+        private final long sequence;
+
+        private Job(Long pageId, int priority, long sequence) {
+            this.pageId = pageId;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+}
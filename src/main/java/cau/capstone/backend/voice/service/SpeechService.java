@@ -0,0 +1,112 @@
+package cau.capstone.backend.voice.service;
+
+import cau.capstone.backend.global.util.DataBufferStreams;
+import cau.capstone.backend.global.util.api.ResponseCode;
+import cau.capstone.backend.global.util.exception.EmotionException;
+import cau.capstone.backend.global.util.exception.PageException;
+import cau.capstone.backend.page.model.EmotionType;
+import cau.capstone.backend.voice.aiserver.FastAPIService;
+import cau.capstone.backend.voice.aiserver.SingleFlight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+//음성 합성 결과를 응답으로 흘려보낸다, 페이지 음성은 SpeechCache 에 있으면 AI 서버를 부르지 않는다
+@Service
+public class SpeechService {
+
+    //음성 스트리밍 시 한 번에 메모리에 두는 조각 수
+    private static final int WAV_STREAM_PREFETCH = 4;
+
+    private final FastAPIService fastAPIService;
+    private final SpeechCache speechCache;
+    //같은 페이지 음성이 동시에 캐시에서 빠지면 합성과 캐시 기록은 한 번만
+    private final SingleFlight<String, Boolean> fills;
+
+    public SpeechService(FastAPIService fastAPIService,
+                         SpeechCache speechCache,
+                         @Value("${voice.speech-cache.fill-timeout-ms:120000}") long fillTimeoutMillis) {
+        this.fastAPIService = fastAPIService;
+        this.speechCache = speechCache;
+        this.fills = new SingleFlight<>(Duration.ofMillis(fillTimeoutMillis));
+    }
+
+
+    //캐시에 없으면 AI 서버 응답을 캐시 파일로 받은 뒤 캐시에서 보낸다, 동시에 요청한 쪽도 같은 파일을 받는다
+    //감정은 EmotionType 코드로 맞춰 미리 합성된 음성(SpeechPresynthesizer)과 같은 캐시 키가 되도록 한다
+    public Mono<SpeechStream> getPageSpeech(Long pageId, String content, String emotionName, int intensity, Long voiceId) {
+        String emotion = toEmotionCode(emotionName);
+        //캐시된 음성도 권한이 없어졌으면 내려주지 않는다
+        fastAPIService.checkVoicePermission(voiceId);
+
+        String key = SpeechCache.key(content, voiceId, emotion, intensity);
+        SpeechCache.Clip clip = speechCache.get(pageId, key);
+        if (clip != null) {
+            return Mono.just(toStream(clip));
+        }
+
+        return fill(pageId, key, content, emotion, intensity, voiceId)
+                .flatMap(filled -> {
+                    SpeechCache.Clip filledClip = filled ? speechCache.open(pageId, key) : null;
+                    //디스크 기록에 실패했거나 그 사이 지워졌으면 캐시 없이 보낸다
+                    return filledClip != null ? Mono.just(toStream(filledClip)) : getSpeech(content, emotion, intensity, voiceId);
+                });
+    }
+
+    //미리 합성해 캐시에 기록만 한다, 이미 있으면 부르지 않고 false
+    //같은 음성을 요청하는 사용자가 있으면 같은 합성을 함께 기다린다
+    public Mono<Boolean> presynthesize(Long pageId, String content, String emotion, int intensity, Long voiceId) {
+        String key = SpeechCache.key(content, voiceId, emotion, intensity);
+        if (speechCache.contains(pageId, key)) {
+            return Mono.just(false);
+        }
+        return fill(pageId, key, content, emotion, intensity, voiceId);
+    }
+
+    //임의 본문 음성, 캐시하지 않는다
+    public Mono<SpeechStream> getSpeech(String content, String emotion, int intensity, Long voiceId) {
+        return fastAPIService.streamWav(content, emotion, intensity, voiceId)
+                .map(upstream -> {
+                    Flux<DataBuffer> body = body(upstream);
+                    return new SpeechStream(upstream.getHeaders().getContentLength(),
+                            out -> DataBufferStreams.copy(body, out, WAV_STREAM_PREFETCH));
+                });
+    }
+
+    private Mono<Boolean> fill(Long pageId, String key, String content, String emotion, int intensity, Long voiceId) {
+        return fills.execute(pageId + "/" + key, () -> fastAPIService.streamWav(content, emotion, intensity, voiceId)
+                .flatMap(upstream -> speechCache.fill(pageId, key, body(upstream),
+                        upstream.getHeaders().getContentLength())));
+    }
+
+    public Map<String, Long> getFillMetrics() {
+        return fills.getMetrics();
+    }
+
+    //"sadness", "SADNESS", "슬픔" 모두 "SADNESS" 로, 모르는 감정이면 EMOTION_TYPE_NOT_FOUND
+    //EmotionException 은 GlobalExceptionHandler 가 처리하지 않으므로 페이지 오류로 던진다
+    private static String toEmotionCode(String emotion) {
+        String name = emotion == null ? "" : emotion.strip();
+        EmotionType type = EmotionType.getByDescription(name);
+        try {
+            return (type != null ? type : EmotionType.getByCode(name.toUpperCase(Locale.ROOT))).getCode();
+        } catch (EmotionException e) {
+            throw new PageException(ResponseCode.EMOTION_TYPE_NOT_FOUND);
+        }
+    }
+
+    private static SpeechStream toStream(SpeechCache.Clip clip) {
+        return new SpeechStream(clip.getLength(), clip::writeTo);
+    }
+
+    private static Flux<DataBuffer> body(ResponseEntity<Flux<DataBuffer>> upstream) {
+        return upstream.getBody() == null ? Flux.empty() : upstream.getBody();
+    }
+}
@@ -0,0 +1,14 @@
+package cau.capstone.backend.voice.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+//응답으로 흘려보낼 음성, 길이를 모르면 contentLength 는 -1
+@Getter
+@RequiredArgsConstructor
+public class SpeechStream {
+
+    private final long contentLength;
+    private final StreamingResponseBody body;
+}
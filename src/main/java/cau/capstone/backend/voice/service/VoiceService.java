@@ -1,6 +1,6 @@
 package cau.capstone.backend.voice.service;
 
-import cau.capstone.backend.User.model.repository.UserRepository;
+import cau.capstone.backend.global.security.CurrentUser;
 import cau.capstone.backend.global.util.api.ResponseCode;
 import cau.capstone.backend.global.util.exception.UserException;
 import cau.capstone.backend.global.util.exception.VoiceException;
@@ -28,7 +28,7 @@ import java.util.stream.Collectors;
 public class VoiceService {
     private final VoiceRepository voiceRepository;
     private final VoiceScrapRepository voiceScrapRepository;
-    private final UserRepository userRepository;
+    private final CurrentUser currentUser;
 
 
     public Page<VoiceResponseDto> getAllByPage(Pageable pageable) {
@@ -40,10 +40,8 @@ public class VoiceService {
     }
 
     @Transactional
-    public void scrapVoiceByUser(String email, Long voiceId) {
-
-        var user = userRepository.findByEmail(email).orElseThrow();
-        Long userId = user.getId();
+    public void scrapVoiceByUser(Long userId, Long voiceId) {
+        currentUser.checkExists(userId);
 
         var key = new VoiceScrapKey(userId, voiceId);
         voiceScrapRepository.findById(key)
@@ -59,16 +57,14 @@ public class VoiceService {
     }
 
     @Transactional
-    public void deleteScrapVoiceByUser(String email, Long voiceId) {
-        Long userId = userRepository.findByEmail(email).orElseThrow().getId();
+    public void deleteScrapVoiceByUser(Long userId, Long voiceId) {
         var key = new VoiceScrapKey(userId, voiceId);
         voiceScrapRepository.findById(key)
                 .orElseThrow(() -> new HttpClientErrorException(HttpStatus.NOT_FOUND, "Not found"));
         voiceScrapRepository.deleteById(key);
     }
 
-    public List<VoiceResponseDto> getScrappedVoiceList(String email) {
-        Long userId = userRepository.findByEmail(email).orElseThrow().getId();
+    public List<VoiceResponseDto> getScrappedVoiceList(Long userId) {
         var list = voiceScrapRepository.findAllByIdUserId(userId); //todo; remove
         return voiceScrapRepository.findAllByIdUserIdAndUserVoiceUsePermissionFlag(userId, true).stream()
                 .map(VoiceResponseDto::from)
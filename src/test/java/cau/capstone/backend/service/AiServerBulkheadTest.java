@@ -0,0 +1,106 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.global.util.exception.VoiceServerException;
+import cau.capstone.backend.voice.aiserver.AiServerBulkhead;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//느린 AI 서버를 흉내 내는 로컬 stub 으로 bulkhead 의 동시 요청 제한 확인
+public class AiServerBulkheadTest {
+
+    private static final int MAX_CONCURRENT = 4;
+    private static final int REQUESTS = 16;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private WebClient webClient;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    @BeforeEach
+    public void setup() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/emotion", exchange -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+                byte[] body = "{\"emotion\":\"sad\",\"value\":3}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+            }
+        });
+        executor = Executors.newFixedThreadPool(REQUESTS);
+        server.setExecutor(executor);
+        server.start();
+        webClient = WebClient.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 요청은 최대 동시 수만큼만 AI 서버로 나가고, 나머지는 대기 후 모두 성공")
+    public void capsConcurrentCalls() {
+        AiServerBulkhead bulkhead = new AiServerBulkhead(MAX_CONCURRENT, REQUESTS);
+
+        List<String> results = Flux.range(0, REQUESTS)
+                .flatMap(i -> bulkhead.execute(() -> webClient.get().uri("/v1/emotion")
+                        .retrieve()
+                        .bodyToMono(String.class)), REQUESTS)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(REQUESTS, results.size());
+        assertTrue(peak.get() <= MAX_CONCURRENT, "peak " + peak.get());
+        assertEquals(0L, bulkhead.getMetrics().get("inFlight"));
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 바로 거절하고, 취소된 요청의 자리는 다음 요청에 넘어간다")
+    public void rejectsWhenQueueIsFullAndReleasesOnCancel() {
+        AiServerBulkhead bulkhead = new AiServerBulkhead(1, 1);
+
+        Disposable first = bulkhead.execute(Mono::never).subscribe();
+        Mono<String> queued = bulkhead.execute(() -> Mono.just("queued"));
+        Disposable waiting = queued.subscribe();
+
+        assertThrows(VoiceServerException.class, () -> bulkhead.execute(() -> Mono.just("rejected")).block());
+        assertEquals(1L, bulkhead.getMetrics().get("rejected"));
+
+        waiting.dispose();
+        first.dispose();
+
+        assertEquals("next", bulkhead.execute(() -> Mono.just("next")).block(Duration.ofSeconds(1)));
+        assertEquals(0L, bulkhead.getMetrics().get("inFlight"));
+        assertEquals(0L, bulkhead.getMetrics().get("queued"));
+    }
+}
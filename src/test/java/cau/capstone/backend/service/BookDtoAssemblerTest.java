@@ -0,0 +1,68 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.User.model.User;
+import cau.capstone.backend.page.dto.response.ResponseBookDto;
+import cau.capstone.backend.page.model.Book;
+import cau.capstone.backend.page.model.repository.PageRepository;
+import cau.capstone.backend.page.service.BookDtoAssembler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookDtoAssemblerTest {
+
+    @Mock
+    private PageRepository pageRepository;
+
+    private BookDtoAssembler bookDtoAssembler;
+
+    @BeforeEach
+    public void setup() {
+        bookDtoAssembler = new BookDtoAssembler(pageRepository);
+    }
+
+    @Test
+    @DisplayName("북 수와 관계없이 페이지 id 는 한 번의 쿼리로 조회, 페이지 컬렉션은 초기화하지 않음")
+    public void toDtoListUsesSingleAggregateQuery() {
+        User user = User.createUser("test@test.com", "passwd", "name", "nickname");
+        user.setId(1L);
+
+        List<Book> books = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            Book book = Book.createBook(user, "book" + id, "TRIP");
+            book.setId(id);
+            books.add(book);
+        }
+
+        given(pageRepository.findPageIdsByBookIdIn(anyCollection()))
+                .willReturn(List.of(new Object[]{2L, 10L}, new Object[]{2L, 11L}, new Object[]{5L, 12L}));
+
+        List<ResponseBookDto> result = bookDtoAssembler.toDtoList(books);
+
+        assertEquals(20, result.size());
+        assertEquals(List.of(10L, 11L), result.get(1).getPageIds());
+        assertEquals(2, result.get(1).getTotalPageCount());
+        assertEquals(0, result.get(0).getTotalPageCount());
+        verify(pageRepository, times(1)).findPageIdsByBookIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("빈 목록이면 페이지 id 쿼리를 실행하지 않음")
+    public void toDtoListSkipsQueryForEmptyList() {
+        assertTrue(bookDtoAssembler.toDtoList(Collections.emptyList()).isEmpty());
+        verifyNoInteractions(pageRepository);
+    }
+}
@@ -0,0 +1,70 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.User.model.repository.UserRepository;
+import cau.capstone.backend.global.security.CurrentUser;
+import cau.capstone.backend.global.security.Entity.JwtTokenProvider;
+import cau.capstone.backend.global.util.exception.UserException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CurrentUserTest {
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private CurrentUser currentUser;
+
+    @BeforeEach
+    public void setup() {
+        currentUser = new CurrentUser(jwtTokenProvider, userRepository, 60_000, 100);
+    }
+
+    @Test
+    @DisplayName("uid claim 이 있으면 DB 조회 없이 id 반환")
+    public void idFromClaim() {
+        given(jwtTokenProvider.getUserId("token")).willReturn(7L);
+
+        assertEquals(7L, currentUser.getId("token"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("이전 토큰은 이메일로 한 번만 조회하고 캐시, 없는 유저는 USER_NOT_FOUND")
+    public void legacyTokenIsCachedByEmail() {
+        given(jwtTokenProvider.getUserId("legacy")).willReturn(null);
+        given(jwtTokenProvider.getUserEmail("legacy")).willReturn("a@a.com");
+        given(userRepository.findIdByEmail("a@a.com")).willReturn(Optional.of(3L));
+
+        assertEquals(3L, currentUser.getId("legacy"));
+        assertEquals(3L, currentUser.getId("legacy"));
+        verify(userRepository, times(1)).findIdByEmail("a@a.com");
+
+        given(userRepository.findIdByEmail("none@a.com")).willReturn(Optional.empty());
+        assertThrows(UserException.class, () -> currentUser.getIdByEmail("none@a.com"));
+    }
+
+    @Test
+    @DisplayName("삭제된 유저의 id 는 참조를 만들지 않고 USER_NOT_FOUND")
+    public void referenceRequiresExistingUser() {
+        given(userRepository.existsById(9L)).willReturn(false);
+
+        assertThrows(UserException.class, () -> currentUser.getReference(9L));
+        verify(userRepository, never()).getReferenceById(anyLong());
+    }
+}
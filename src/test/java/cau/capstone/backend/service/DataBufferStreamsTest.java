@@ -0,0 +1,102 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.global.util.DataBufferStreams;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//50MB 음성을 보내는 로컬 stub 에서 받아 흘려보내는 동안 힙 사용량이 클립 크기만큼 늘지 않는지 확인
+public class DataBufferStreamsTest {
+
+    private static final long WAV_SIZE = 50L * 1024 * 1024;
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final long MAX_HEAP_GROWTH = 16L * 1024 * 1024;
+
+    private HttpServer server;
+    private WebClient webClient;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/voice/a/speech", exchange -> {
+            byte[] chunk = new byte[CHUNK_SIZE];
+            exchange.getResponseHeaders().add("Content-Type", "audio/wav");
+            exchange.sendResponseHeaders(200, WAV_SIZE);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (long sent = 0; sent < WAV_SIZE; sent += CHUNK_SIZE) {
+                    out.write(chunk, 0, (int) Math.min(CHUNK_SIZE, WAV_SIZE - sent));
+                }
+            }
+        });
+        server.start();
+        webClient = WebClient.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Content-Length 를 그대로 받고, 50MB 를 복사하는 중에도 힙은 거의 늘지 않음")
+    public void streamsWithoutBufferingWholeClip() throws Exception {
+        long before = usedHeap();
+
+        ResponseEntity<Flux<DataBuffer>> entity = webClient.get().uri("/v1/voice/a/speech")
+                .retrieve()
+                .toEntityFlux(DataBuffer.class)
+                .block(Duration.ofSeconds(10));
+        assertNotNull(entity);
+        assertEquals(WAV_SIZE, entity.getHeaders().getContentLength());
+
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream();
+        long written = DataBufferStreams.copy(entity.getBody(), out, 4);
+
+        assertEquals(WAV_SIZE, written);
+        assertEquals(WAV_SIZE, out.count);
+        assertTrue(out.midwayHeap - before < MAX_HEAP_GROWTH,
+                "heap growth " + (out.midwayHeap - before) / 1024 + "KB");
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    //받은 바이트 수를 세고, 절반쯤 받았을 때 힙 사용량을 기록
+    private static final class HeapSamplingOutputStream extends OutputStream {
+        private long count;
+        private long midwayHeap = -1;
+
+        @Override
+        public void write(int b) {
+            count++;
+            sample();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+            sample();
+        }
+
+        private void sample() {
+            if (midwayHeap < 0 && count >= WAV_SIZE / 2) {
+                midwayHeap = usedHeap();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.global.util.FeedCursor;
+import cau.capstone.backend.global.util.api.CursorSlice;
+import cau.capstone.backend.global.util.exception.GlobalExceptionHandler;
+import cau.capstone.backend.global.util.exception.PageException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+public class FeedCursorTest {
+
+    @Test
+    @DisplayName("limit + 1 개를 받으면 limit 개만 반환하고 마지막 행으로 다음 커서를 만듦")
+    public void sliceBuildsNextCursor() {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123_000_000);
+        List<FeedCursor.Key> keys = new ArrayList<>();
+        for (long id = 5; id >= 1; id--) {
+            keys.add(key(id, now.minusMinutes(id)));
+        }
+
+        CursorSlice<Long> slice = CursorSlice.of(keys, 4, ids -> ids);
+
+        assertEquals(List.of(5L, 4L, 3L, 2L), slice.getContent());
+        assertTrue(slice.isHasNext());
+
+        FeedCursor next = FeedCursor.decode(slice.getNextCursor());
+        assertEquals(2L, next.getId());
+        assertEquals(now.minusMinutes(2), next.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("마지막 페이지는 다음 커서가 없고, 빈 커서는 첫 페이지, 잘못된 커서는 예외")
+    public void lastPageAndInvalidCursor() {
+        CursorSlice<Long> slice = CursorSlice.of(List.of(key(1L, LocalDateTime.now())), 10, ids -> ids);
+
+        assertFalse(slice.isHasNext());
+        assertNull(slice.getNextCursor());
+        assertSame(FeedCursor.first(), FeedCursor.decode(null));
+        assertThrows(PageException.class, () -> FeedCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    @DisplayName("잘못된 커서로 피드를 요청하면 500 이 아니라 INVALID_CURSOR(400) 응답")
+    public void invalidCursorIsBadRequest() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new FeedController())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(get("/feed").param("cursor", "%%garbage%%"))
+                .andExpect(jsonPath("$.header.code").value(400))
+                .andExpect(jsonPath("$.msg").value("잘못된 커서입니다."));
+    }
+
+    @RestController
+    static class FeedController {
+        @GetMapping("/feed")
+        public Long feed(@RequestParam String cursor) {
+            return FeedCursor.decode(cursor).getId();
+        }
+    }
+
+    private FeedCursor.Key key(Long id, LocalDateTime createdAt) {
+        return new FeedCursor.Key() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return createdAt;
+            }
+        };
+    }
+}
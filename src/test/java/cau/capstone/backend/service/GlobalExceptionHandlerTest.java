@@ -0,0 +1,28 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.global.util.api.ApiResponse;
+import cau.capstone.backend.global.util.api.ResponseCode;
+import cau.capstone.backend.global.util.exception.GlobalExceptionHandler;
+import cau.capstone.backend.global.util.exception.VoiceServerException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    @DisplayName("음성 서버 혼잡은 503, 음성 서버 오류는 500 으로 응답")
+    public void voiceServerExceptionUsesResponseCodeStatus() {
+        ResponseEntity<ApiResponse<Void>> busy = handler.handleVoiceServerException(new VoiceServerException(ResponseCode.VOICE_SERVER_BUSY));
+        ResponseEntity<ApiResponse<Void>> error = handler.handleVoiceServerException(new VoiceServerException(ResponseCode.VOICE_SERVER_ERROR));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, busy.getStatusCode());
+        assertEquals(ResponseCode.VOICE_SERVER_BUSY.getMessage(), busy.getBody().getMsg());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, error.getStatusCode());
+    }
+}
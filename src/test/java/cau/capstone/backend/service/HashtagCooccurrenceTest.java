@@ -0,0 +1,107 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.global.util.LongIntMap;
+import cau.capstone.backend.page.dto.response.ResponseHashtagDto;
+import cau.capstone.backend.page.service.HashtagCooccurrence;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(MockitoExtension.class)
+public class HashtagCooccurrenceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DataSource dataSource;
+
+    private HashtagCooccurrence hashtagCooccurrence;
+
+    @BeforeEach
+    public void setup() {
+        given(jdbcTemplate.getDataSource()).willReturn(dataSource);
+        hashtagCooccurrence = new HashtagCooccurrence(jdbcTemplate, 30);
+    }
+
+    @Test
+    @DisplayName("함께 쓰인 횟수 순으로 연관 태그를 반환하고, 삭제된 페이지는 빠짐")
+    public void relatedTagsFollowPageEvents() {
+        hashtagCooccurrence.apply(List.of("여행", "바다", "맛집"), 1);
+        hashtagCooccurrence.apply(List.of("여행", "바다"), 1);
+        hashtagCooccurrence.apply(List.of("여행", "산"), 1);
+
+        assertEquals(List.of("바다", "맛집", "산"), tags(hashtagCooccurrence.related("여행", 10)));
+        assertEquals(2, hashtagCooccurrence.related("여행", 1).get(0).getScore());
+
+        hashtagCooccurrence.apply(List.of("여행", "산"), -1);
+        hashtagCooccurrence.compact();
+
+        assertEquals(List.of("바다", "맛집"), tags(hashtagCooccurrence.related("여행", 10)));
+        assertTrue(hashtagCooccurrence.related("산", 10).isEmpty());
+        assertTrue(hashtagCooccurrence.related("없는태그", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("재구성 중에 커밋된 페이지 이벤트는 교체된 행렬에도 남는다")
+    public void eventsDuringRebuildSurviveSwap() throws Exception {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        given(dataSource.getConnection()).willReturn(connection);
+        given(connection.createStatement()).willReturn(statement);
+        given(statement.executeQuery(anyString())).willReturn(resultSet);
+
+        //첫 행을 읽은 뒤 새 페이지가 커밋된다
+        given(resultSet.next()).willReturn(true).willAnswer(invocation -> {
+            hashtagCooccurrence.apply(List.of("여행", "산"), 1);
+            return true;
+        }).willReturn(false);
+        given(resultSet.getLong(1)).willReturn(1L);
+        given(resultSet.getString(2)).willReturn("여행", "바다");
+
+        hashtagCooccurrence.rebuild();
+
+        assertEquals(List.of("바다", "산"), tags(hashtagCooccurrence.related("여행", 10)));
+
+        //재반영이 끝나면 더 쌓지 않는다
+        given(resultSet.next()).willReturn(false);
+        hashtagCooccurrence.rebuild();
+        assertTrue(hashtagCooccurrence.related("여행", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("LongIntMap 은 확장과 compact 이후에도 값을 유지")
+    public void longIntMapGrowsAndCompacts() {
+        LongIntMap map = new LongIntMap();
+        for (long key = 0; key < 1000; key++) {
+            map.addTo(key, (int) (key % 2));
+        }
+
+        map.compact();
+
+        assertEquals(500, map.size());
+        assertEquals(1, map.get(999));
+        assertEquals(0, map.get(998));
+    }
+
+    private List<String> tags(List<ResponseHashtagDto> related) {
+        return related.stream().map(ResponseHashtagDto::getTag).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,133 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.page.model.Hashtag;
+import cau.capstone.backend.page.model.repository.HashtagRepository;
+import cau.capstone.backend.page.service.HashtagDictionary;
+import cau.capstone.backend.page.service.HashtagSuggestIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HashtagDictionaryTest {
+
+    @Mock
+    private HashtagRepository hashtagRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private HashtagSuggestIndex hashtagSuggestIndex;
+
+    private HashtagDictionary hashtagDictionary;
+
+    @BeforeEach
+    public void setup() {
+        hashtagDictionary = new HashtagDictionary(hashtagRepository, jdbcTemplate, hashtagSuggestIndex, 100);
+    }
+
+    @Test
+    @DisplayName("캐시에 없는 태그는 INSERT 한 번과 IN 조회 한 번, 이후에는 쿼리 없이 참조만 생성")
+    public void resolveUsesAtMostTwoQueries() {
+        given(hashtagRepository.findAllByTagIn(anyCollection()))
+                .willReturn(List.of(hashtag(1L, "여행"), hashtag(2L, "바다"), hashtag(3L, "맛집")));
+
+        Set<Hashtag> first = hashtagDictionary.resolve(List.of("여행", " 바다 ", "맛집", "여행", ""));
+
+        assertEquals(3, first.size());
+        verify(jdbcTemplate, times(1)).update(startsWith("INSERT INTO hashtag (tag) VALUES (?), (?), (?) ON DUPLICATE KEY"), eq("여행"), eq("바다"), eq("맛집"));
+        verify(hashtagRepository, times(1)).findAllByTagIn(anyCollection());
+
+        given(hashtagRepository.getReferenceById(anyLong())).willAnswer(invocation -> hashtag(invocation.getArgument(0), null));
+        Set<Hashtag> second = hashtagDictionary.resolve(List.of("여행", "바다", "맛집"));
+
+        assertEquals(3, second.size());
+        verifyNoMoreInteractions(jdbcTemplate);
+        verify(hashtagRepository, times(1)).findAllByTagIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("롤백된 트랜잭션에서 만든 태그 id 는 캐시와 자동완성 색인에 남지 않고, 커밋되면 반영")
+    public void cachesOnlyAfterCommit() {
+        given(hashtagRepository.findAllByTagIn(anyCollection())).willReturn(List.of(hashtag(1L, "여행")));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            hashtagDictionary.resolve(List.of("여행"));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verifyNoInteractions(hashtagSuggestIndex);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            hashtagDictionary.resolve(List.of("여행"));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(hashtagRepository, times(2)).findAllByTagIn(anyCollection());
+        verify(hashtagSuggestIndex).add(List.of("여행"));
+
+        given(hashtagRepository.getReferenceById(1L)).willReturn(hashtag(1L, "여행"));
+        assertEquals(1, hashtagDictionary.resolve(List.of("여행")).size());
+        verify(hashtagRepository, times(2)).findAllByTagIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("저장한 태그가 조회되지 않으면 조용히 빠뜨리지 않고 실패")
+    public void failsWhenInsertedTagIsMissing() {
+        given(hashtagRepository.findAllByTagIn(anyCollection())).willReturn(List.of(hashtag(1L, "Travel")));
+
+        assertEquals(1, hashtagDictionary.resolve(List.of("travel")).size());
+        assertThrows(IllegalStateException.class, () -> hashtagDictionary.resolve(List.of("여행", "바다")));
+    }
+
+    @Test
+    @DisplayName("유니크 키가 이미 있으면 중복 태그를 찾는 전체 스캔과 DDL 을 하지 않는다")
+    public void mergeSkippedWhenUniqueKeyExists() {
+        given(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any())).willReturn(1);
+
+        hashtagDictionary.mergeDuplicateTags();
+
+        verify(jdbcTemplate, never()).queryForList(anyString());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("병합에 실패해도 기동을 막지 않는다")
+    public void mergeFailureDoesNotPropagate() {
+        given(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any())).willReturn(0);
+        given(jdbcTemplate.queryForList(anyString())).willThrow(new DataAccessResourceFailureException("down"));
+
+        hashtagDictionary.mergeDuplicateTags();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    private Hashtag hashtag(Long id, String tag) {
+        Hashtag hashtag = new Hashtag(tag);
+        ReflectionTestUtils.setField(hashtag, "id", id);
+        return hashtag;
+    }
+}
@@ -0,0 +1,78 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.global.redis.RankingService;
+import cau.capstone.backend.global.util.HangulJamo;
+import cau.capstone.backend.page.dto.response.ResponseHashtagDto;
+import cau.capstone.backend.page.service.HashtagSuggestIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class HashtagSuggestIndexTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private RankingService rankingService;
+
+    private HashtagSuggestIndex hashtagSuggestIndex;
+
+    @BeforeEach
+    public void setup() {
+        given(jdbcTemplate.getDataSource()).willReturn(dataSource);
+        hashtagSuggestIndex = new HashtagSuggestIndex(jdbcTemplate, rankingService);
+    }
+
+    @Test
+    @DisplayName("겹받침, 겹모음을 나눠 풀어 씀")
+    public void decomposeHangul() {
+        assertEquals("ㄷㅏㄹㄱ", HangulJamo.decompose("닭"));
+        assertEquals("ㄱㅗㅏㅇ", HangulJamo.decompose("광"));
+        assertEquals("ㄹㄱ", HangulJamo.decompose("ㄺ"));
+        assertEquals("ootd", HangulJamo.decompose("OOTD"));
+    }
+
+    @Test
+    @DisplayName("입력 중인 음절과 자모도 접두어로 일치")
+    public void suggestMatchesPartialSyllables() {
+        hashtagSuggestIndex.add(List.of("닭갈비", "달리기", "다이어트", "여행"));
+
+        assertEquals(List.of("달리기", "닭갈비"), tags(hashtagSuggestIndex.suggest("달", 10)));
+        assertEquals(List.of("닭갈비"), tags(hashtagSuggestIndex.suggest("닭", 10)));
+        assertEquals(3, hashtagSuggestIndex.suggest("ㄷ", 10).size());
+        assertEquals(List.of("여행"), tags(hashtagSuggestIndex.suggest("여", 10)));
+        assertTrue(hashtagSuggestIndex.suggest("바", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("기동 시 태그를 읽지 못해도 예외를 던지지 않고 새 태그는 계속 제안")
+    public void warmUpFailureKeepsAddedTags() throws Exception {
+        given(dataSource.getConnection()).willThrow(new SQLException("down"));
+
+        assertDoesNotThrow(hashtagSuggestIndex::warmUp);
+
+        hashtagSuggestIndex.add(List.of("여행"));
+        assertEquals(List.of("여행"), tags(hashtagSuggestIndex.suggest("여", 10)));
+    }
+
+    private List<String> tags(List<ResponseHashtagDto> suggestions) {
+        return suggestions.stream().map(ResponseHashtagDto::getTag).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,72 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.global.security.Entity.JwtTokenProvider;
+import cau.capstone.backend.global.security.LoginUser;
+import cau.capstone.backend.global.security.dto.TokenDto;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.io.Encoders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtTokenProviderTest {
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    public void setup() {
+        jwtTokenProvider = new JwtTokenProvider();
+        String secret = "telloment-test-secret-key-which-is-long-enough-for-hs512-signing-0123456789";
+        ReflectionTestUtils.setField(jwtTokenProvider, "secretKey",
+                Encoders.BASE64.encode(secret.getBytes(StandardCharsets.UTF_8)));
+        ReflectionTestUtils.invokeMethod(jwtTokenProvider, "init");
+    }
+
+    @Test
+    @DisplayName("검증된 토큰은 같은 결과를 캐시에서 돌려주고, 변조된 토큰은 거부")
+    public void verifiedTokensAreShared() {
+        TokenDto token = jwtTokenProvider.generateTokenDto(new UsernamePasswordAuthenticationToken(
+                "a@a.com", "", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        String accessToken = token.getAccessToken();
+
+        assertTrue(jwtTokenProvider.validateToken(accessToken));
+        Authentication authentication = jwtTokenProvider.getAuthentication(accessToken);
+        assertEquals("a@a.com", authentication.getName());
+        assertEquals(accessToken, authentication.getCredentials());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")), List.copyOf(authentication.getAuthorities()));
+        assertEquals("a@a.com", jwtTokenProvider.getUserEmail(accessToken));
+        assertEquals("a@a.com", jwtTokenProvider.getUserIdFromToken(token.getRefreshToken()));
+
+        String tampered = accessToken.substring(0, accessToken.length() - 2) + "xx";
+        assertFalse(jwtTokenProvider.validateToken(tampered));
+        assertThrows(JwtException.class, () -> jwtTokenProvider.getUserEmail(tampered));
+    }
+
+    @Test
+    @DisplayName("로그인 유저의 id 는 uid claim 으로 들어가 principal 에 실리고, 이전 토큰은 null")
+    public void userIdClaim() {
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        LoginUser loginUser = new LoginUser(42L, "a@a.com", "", authorities);
+        TokenDto token = jwtTokenProvider.generateTokenDto(
+                new UsernamePasswordAuthenticationToken(loginUser, "", authorities));
+
+        assertEquals(42L, jwtTokenProvider.getUserId(token.getAccessToken()));
+        assertEquals(42L, jwtTokenProvider.getUserId(token.getRefreshToken()));
+        LoginUser principal = (LoginUser) jwtTokenProvider.getAuthentication(token.getAccessToken()).getPrincipal();
+        assertEquals(42L, principal.getId());
+        assertEquals("a@a.com", principal.getUsername());
+
+        TokenDto legacy = jwtTokenProvider.generateTokenDto(
+                new UsernamePasswordAuthenticationToken("b@b.com", "", authorities));
+        assertNull(jwtTokenProvider.getUserId(legacy.getAccessToken()));
+    }
+}
@@ -0,0 +1,97 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.User.model.User;
+import cau.capstone.backend.global.search.LuceneSearchEngine;
+import cau.capstone.backend.global.search.SearchDocument;
+import cau.capstone.backend.global.search.SearchDocumentType;
+import cau.capstone.backend.global.search.SearchHits;
+import cau.capstone.backend.page.model.Page;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LuceneSearchEngineTest {
+
+    @TempDir
+    Path indexPath;
+
+    private LuceneSearchEngine searchEngine;
+    private User user;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        searchEngine = new LuceneSearchEngine(indexPath.toString());
+        user = User.createUser("test@test.com", "passwd", "name", "nickname");
+        user.setId(1L);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        searchEngine.close();
+    }
+
+    @Test
+    @DisplayName("한국어 부분 문자열 검색, 제목 일치가 본문 일치보다 먼저")
+    public void searchKoreanSubstring() throws Exception {
+        searchEngine.index(SearchDocument.of(page(1L, "오늘의 일기", "비가 와서 우울한 하루였다")));
+        searchEngine.index(SearchDocument.of(page(2L, "우울한 날", "아무것도 하기 싫다")));
+        searchEngine.index(SearchDocument.of(page(3L, "여행 기록", "제주도 바다")));
+        searchEngine.refresh();
+
+        SearchHits hits = searchEngine.search(SearchDocumentType.PAGE, "우울", 0, 10);
+
+        assertEquals(List.of(2L, 1L), hits.getIds());
+        assertEquals(2, hits.getTotalHits());
+    }
+
+    @Test
+    @DisplayName("수정과 삭제가 색인에 반영되고 다른 타입은 섞이지 않음")
+    public void updateAndDelete() throws Exception {
+        searchEngine.index(SearchDocument.of(page(1L, "Hello World", "content")));
+        searchEngine.index(SearchDocument.of(user));
+        searchEngine.refresh();
+        assertEquals(List.of(1L), searchEngine.search(SearchDocumentType.PAGE, "hello", 0, 10).getIds());
+
+        searchEngine.index(SearchDocument.of(page(1L, "Goodbye", "content")));
+        searchEngine.refresh();
+        assertTrue(searchEngine.search(SearchDocumentType.PAGE, "hello", 0, 10).getIds().isEmpty());
+
+        searchEngine.delete(SearchDocumentType.PAGE, 1L);
+        searchEngine.refresh();
+        assertEquals(0, searchEngine.count(SearchDocumentType.PAGE));
+        assertEquals(List.of(1L), searchEngine.search(SearchDocumentType.USER, "nick", 0, 10).getIds());
+    }
+
+    @Test
+    @DisplayName("재구성 중에는 기존 문서가 검색되고, 끝나면 다시 색인되지 않은 문서만 지워짐")
+    public void rebuildKeepsDocumentsUntilStaleOnesAreDeleted() throws Exception {
+        searchEngine.index(SearchDocument.of(page(1L, "hello one", "content")));
+        searchEngine.index(SearchDocument.of(page(2L, "hello two", "content")));
+        searchEngine.index(SearchDocument.of(user));
+        searchEngine.refresh();
+
+        long generation = searchEngine.startGeneration();
+        searchEngine.index(SearchDocument.of(page(2L, "hello two", "content")));
+        searchEngine.refresh();
+        assertEquals(2, searchEngine.search(SearchDocumentType.PAGE, "hello", 0, 10).getTotalHits());
+
+        searchEngine.deleteOlderThan(SearchDocumentType.PAGE, generation);
+        searchEngine.refresh();
+        assertEquals(List.of(2L), searchEngine.search(SearchDocumentType.PAGE, "hello", 0, 10).getIds());
+        assertEquals(1, searchEngine.count(SearchDocumentType.USER));
+    }
+
+    private Page page(Long id, String title, String content) {
+        Page page = Page.createPage(user, null, title, content);
+        page.setId(id);
+        return page;
+    }
+}
@@ -0,0 +1,107 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.User.model.User;
+import cau.capstone.backend.User.model.repository.UserRepository;
+import cau.capstone.backend.global.redis.UserLikeRankingService;
+import cau.capstone.backend.page.dto.response.ResponsePageDto;
+import cau.capstone.backend.page.model.LikeType;
+import cau.capstone.backend.page.model.Page;
+import cau.capstone.backend.page.model.repository.BookRepository;
+import cau.capstone.backend.page.model.repository.LikeRepository;
+import cau.capstone.backend.page.model.repository.PageRepository;
+import cau.capstone.backend.page.service.LikeService;
+import cau.capstone.backend.page.service.PageDtoAssembler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PageDtoAssemblerTest {
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PageRepository pageRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserLikeRankingService userLikeRankingService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private PageDtoAssembler pageDtoAssembler;
+
+    @BeforeEach
+    public void setup() {
+        pageDtoAssembler = new PageDtoAssembler(new LikeService(likeRepository, bookRepository, pageRepository, userRepository, userLikeRankingService, eventPublisher));
+    }
+
+    @Test
+    @DisplayName("페이지 수와 관계없이 좋아요 수는 한 번의 쿼리로 조회")
+    public void toDtoListUsesSingleLikeQuery() {
+        User user = User.createUser("test@test.com", "passwd", "name", "nickname");
+        user.setId(1L);
+
+        List<Page> pages = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            Page page = Page.createPage(user, null, "title" + id, "content" + id);
+            page.setId(id);
+            page.setEmotion("HAPPINESS", 1);
+            pages.add(page);
+        }
+
+        given(likeRepository.countByLikeTypeAndTargetIdIn(eq(LikeType.PAGE), anyCollection()))
+                .willReturn(List.of(likeCount(3L, 7L)));
+
+        List<ResponsePageDto> result = pageDtoAssembler.toDtoList(pages);
+
+        assertEquals(50, result.size());
+        assertEquals(7, result.get(2).getLikeCount());
+        assertEquals(0, result.get(0).getLikeCount());
+        verify(likeRepository, times(1)).countByLikeTypeAndTargetIdIn(eq(LikeType.PAGE), anyCollection());
+        verify(likeRepository, never()).countByLikeTypeAndTargetId(any(), any());
+    }
+
+    @Test
+    @DisplayName("빈 목록이면 좋아요 쿼리를 실행하지 않음")
+    public void toDtoListSkipsQueryForEmptyList() {
+        List<ResponsePageDto> result = pageDtoAssembler.toDtoList(Collections.emptyList());
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(likeRepository);
+    }
+
+    private LikeRepository.TargetLikeCount likeCount(Long targetId, Long count) {
+        return new LikeRepository.TargetLikeCount() {
+            @Override
+            public Long getTargetId() {
+                return targetId;
+            }
+
+            @Override
+            public Long getLikeCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.page.dto.response.ResponsePageSummaryDto;
+import cau.capstone.backend.page.model.EmotionIntensity;
+import cau.capstone.backend.page.model.EmotionType;
+import cau.capstone.backend.page.model.Page;
+import cau.capstone.backend.page.model.repository.PageRepository;
+import cau.capstone.backend.page.service.PageSummaryAssembler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class PageSummaryAssemblerTest {
+
+    @Mock
+    private PageRepository pageRepository;
+
+    private PageSummaryAssembler pageSummaryAssembler;
+
+    @BeforeEach
+    public void setup() {
+        pageSummaryAssembler = new PageSummaryAssembler(pageRepository);
+    }
+
+    @Test
+    @DisplayName("요청한 id 순서를 유지하고 해시태그를 붙이며, 없는 id 는 건너뜀")
+    public void toSummaryListKeepsOrder() {
+        given(pageRepository.findSummariesByIdIn(anyCollection()))
+                .willReturn(List.of(summary(1L), summary(3L)));
+        given(pageRepository.findHashtagsByPageIdIn(anyCollection()))
+                .willReturn(List.of(new Object[]{3L, "여행"}, new Object[]{3L, "바다"}));
+
+        List<ResponsePageSummaryDto> result = pageSummaryAssembler.toSummaryList(List.of(3L, 2L, 1L));
+
+        assertEquals(List.of(3L, 1L), List.of(result.get(0).getPageId(), result.get(1).getPageId()));
+        assertEquals(Set.of("여행", "바다"), result.get(0).getHashtags());
+        assertTrue(result.get(1).getHashtags().isEmpty());
+    }
+
+    @Test
+    @DisplayName("발췌문은 code point 기준으로 잘림")
+    public void excerptIsTruncated() {
+        String content = "😀".repeat(Page.EXCERPT_LENGTH + 10);
+
+        String excerpt = Page.excerptOf(content);
+
+        assertEquals(Page.EXCERPT_LENGTH, excerpt.codePointCount(0, excerpt.length()));
+        assertEquals("짧은 본문", Page.excerptOf("짧은 본문"));
+    }
+
+    private ResponsePageSummaryDto summary(Long pageId) {
+        return new ResponsePageSummaryDto(pageId, 1L, "title" + pageId, "excerpt", LocalDateTime.now(),
+                0, 0, EmotionType.HAPPINESS, EmotionIntensity.ONE);
+    }
+}
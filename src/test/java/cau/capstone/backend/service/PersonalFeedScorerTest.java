@@ -0,0 +1,78 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.page.model.Category;
+import cau.capstone.backend.page.service.PersonalFeedScorer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//힙 방식과 후보 객체 정렬 방식의 속도 비교는 src/jmh 의 PersonalFeedScorerBenchmark
+public class PersonalFeedScorerTest {
+
+    private static final int CANDIDATES = 10_000;
+    private static final int TOP = 100;
+
+    private double[] popularity;
+    private int[] categories;
+    private double[] weights;
+
+    @BeforeEach
+    public void setup() {
+        Random random = new Random(42);
+        int categoryCount = Category.values().length;
+
+        popularity = new double[CANDIDATES];
+        categories = new int[CANDIDATES];
+        for (int i = 0; i < CANDIDATES; i++) {
+            popularity[i] = Math.log1p(random.nextInt(5_000));
+            categories[i] = random.nextInt(categoryCount);
+        }
+
+        int[] userScores = new int[categoryCount];
+        userScores[Category.COOKING.ordinal()] = 300;
+        userScores[Category.TRIP.ordinal()] = 120;
+        userScores[Category.MUSIC.ordinal()] = 40;
+        weights = PersonalFeedScorer.weights(userScores);
+    }
+
+    @Test
+    @DisplayName("후보 1만 개의 상위 100개는 전체 정렬 결과와 같음")
+    public void topNMatchesFullSort() {
+        assertArrayEquals(sortAll(), PersonalFeedScorer.topN(popularity, categories, weights, TOP));
+    }
+
+    @Test
+    @DisplayName("점수가 없는 유저는 인기순, 후보가 n 보다 적으면 전부 반환")
+    public void fallsBackToPopularity() {
+        double[] neutral = PersonalFeedScorer.weights(new int[Category.values().length]);
+
+        int[] top = PersonalFeedScorer.topN(new double[]{1.0, 3.0, 2.0}, new int[]{0, 1, 2}, neutral, 10);
+
+        assertArrayEquals(new int[]{1, 2, 0}, top);
+        assertEquals(0, PersonalFeedScorer.topN(new double[0], new int[0], neutral, 10).length);
+    }
+
+    //기준 결과: 후보마다 객체를 만들어 전체 정렬
+    private int[] sortAll() {
+        List<double[]> scored = new ArrayList<>(CANDIDATES);
+        for (int i = 0; i < CANDIDATES; i++) {
+            scored.add(new double[]{popularity[i] * weights[categories[i]], i});
+        }
+        scored.sort(Comparator.<double[]>comparingDouble(candidate -> -candidate[0])
+                .thenComparingDouble(candidate -> candidate[1]));
+
+        int[] top = new int[TOP];
+        for (int i = 0; i < TOP; i++) {
+            top[i] = (int) scored.get(i)[1];
+        }
+        return top;
+    }
+}
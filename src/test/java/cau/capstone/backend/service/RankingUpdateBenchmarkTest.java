@@ -0,0 +1,132 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.global.redis.RankingService;
+import cau.capstone.backend.global.redis.RankingUpdate;
+import cau.capstone.backend.page.model.Category;
+import cau.capstone.backend.page.model.EmotionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.*;
+
+//좋아요 이벤트 하나당 Redis 왕복 횟수 비교, 왕복마다 지연이 있는 Redis 대역을 사용
+public class RankingUpdateBenchmarkTest {
+
+    private static final long ROUND_TRIP_MILLIS = 1;
+    private static final int EVENTS = 20;
+
+    private final AtomicInteger roundTrips = new AtomicInteger();
+    private final AtomicInteger commands = new AtomicInteger();
+    private final AtomicBoolean pipelined = new AtomicBoolean();
+
+    private StringRedisTemplate redisTemplate;
+    private RankingService rankingService;
+    private List<String> tags;
+
+    @BeforeEach
+    public void setup() {
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.zSetCommands()).thenReturn(connection);
+        when(connection.isPipelined()).thenAnswer(invocation -> pipelined.get());
+        doAnswer(invocation -> {
+            pipelined.set(true);
+            return null;
+        }).when(connection).openPipeline();
+        //파이프라인은 닫을 때 모아둔 명령을 한 번에 왕복
+        when(connection.closePipeline()).thenAnswer(invocation -> {
+            pipelined.set(false);
+            roundTrip();
+            return Collections.emptyList();
+        });
+        //파이프라인 밖의 명령은 명령마다 한 번씩 왕복
+        when(connection.zIncrBy(any(byte[].class), anyDouble(), any(byte[].class))).thenAnswer(invocation -> {
+            commands.incrementAndGet();
+            if (pipelined.get()) {
+                return null;
+            }
+            roundTrip();
+            return 1.0;
+        });
+
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        rankingService = new RankingService();
+        ReflectionTestUtils.setField(rankingService, "redisTemplate", redisTemplate);
+
+        tags = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tags.add("tag" + i);
+        }
+    }
+
+    @Test
+    @DisplayName("태그 10개 페이지 좋아요: 개별 ZINCRBY 12회 왕복 -> 파이프라인 1회 왕복")
+    public void likeEventRoundTrips() {
+        for (long pageId = 1; pageId <= EVENTS; pageId++) {
+            likeOneByOne(pageId);
+        }
+        int oneByOneRoundTrips = roundTrips.getAndSet(0);
+        int oneByOneCommands = commands.getAndSet(0);
+
+        for (long pageId = 1; pageId <= EVENTS; pageId++) {
+            rankingService.apply(new RankingUpdate()
+                    .likeBook(1L, Category.TRIP, 1)
+                    .likePage(pageId, EmotionType.HAPPINESS, 1)
+                    .likePageTags(pageId, tags, 1));
+        }
+        int batchedRoundTrips = roundTrips.get();
+        int batchedCommands = commands.get();
+
+        assertEquals(12 * EVENTS, oneByOneRoundTrips);
+        assertEquals(EVENTS, batchedRoundTrips);
+        //배치 경로는 누적 랭킹과 트렌딩 시간 버킷에 함께 기록
+        assertEquals(2 * oneByOneCommands, batchedCommands);
+    }
+
+    @Test
+    @DisplayName("같은 키와 멤버에 대한 증감은 하나의 명령으로 합쳐짐")
+    public void incrementsAreCoalesced() {
+        RankingUpdate update = new RankingUpdate()
+                .viewPage(1L, EmotionType.HAPPINESS, 1)
+                .viewPage(1L, EmotionType.HAPPINESS, 1)
+                .viewPage(2L, EmotionType.HAPPINESS, 1);
+
+        rankingService.apply(update);
+
+        assertEquals(2, update.size());
+        assertEquals(2 * 2, commands.get());
+        assertEquals(1, roundTrips.get());
+    }
+
+    //배치 이전 방식, 누적 랭킹 키마다 ZINCRBY 를 따로 보낸다
+    private void likeOneByOne(Long pageId) {
+        ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
+        zSetOps.incrementScore("book:like:trip", "1", 1);
+        zSetOps.incrementScore("page:like:happiness", pageId.toString(), 1);
+        for (String tag : tags) {
+            zSetOps.incrementScore("page:like:" + tag, pageId.toString(), 1);
+        }
+    }
+
+    private void roundTrip() throws InterruptedException {
+        roundTrips.incrementAndGet();
+        Thread.sleep(ROUND_TRIP_MILLIS);
+    }
+}
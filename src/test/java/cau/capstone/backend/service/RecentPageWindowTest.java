@@ -0,0 +1,113 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.page.dto.response.ResponsePageSummaryDto;
+import cau.capstone.backend.page.model.EmotionIntensity;
+import cau.capstone.backend.page.model.EmotionType;
+import cau.capstone.backend.page.model.repository.PageRepository;
+import cau.capstone.backend.page.service.PageCountEvent;
+import cau.capstone.backend.page.service.PageSummaryAssembler;
+import cau.capstone.backend.page.service.RecentPageWindow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+public class RecentPageWindowTest {
+
+    private PageRepository pageRepository;
+    private RecentPageWindow recentPageWindow;
+    private LocalDateTime now;
+
+    @BeforeEach
+    public void setup() {
+        pageRepository = mock(PageRepository.class);
+        recentPageWindow = new RecentPageWindow(pageRepository, new PageSummaryAssembler(pageRepository),
+                mock(PlatformTransactionManager.class), 24, 1000, 500);
+        now = LocalDateTime.now();
+
+        recentPageWindow.add(page(1L, now.minusHours(23), EmotionType.HAPPINESS, "여행"));
+        recentPageWindow.add(page(2L, now.minusHours(2), EmotionType.SADNESS, "여행", "비"));
+        recentPageWindow.add(page(3L, now.minusHours(1), EmotionType.HAPPINESS, "바다"));
+        recentPageWindow.add(page(4L, now.minusMinutes(10), EmotionType.HAPPINESS, "여행"));
+        //창 밖의 페이지는 넣지 않음
+        recentPageWindow.add(page(5L, now.minusHours(25), EmotionType.HAPPINESS, "여행"));
+    }
+
+    @Test
+    @DisplayName("감정 x 해시태그 조합을 최신순으로 조회")
+    public void findByEmotionAndHashtag() {
+        assertEquals(List.of(4L, 3L, 2L, 1L), ids(null, null));
+        assertEquals(List.of(4L, 3L, 1L), ids(EmotionType.HAPPINESS, null));
+        assertEquals(List.of(4L, 2L, 1L), ids(null, "여행"));
+        assertEquals(List.of(4L, 1L), ids(EmotionType.HAPPINESS, "여행"));
+        assertEquals(List.of(), ids(EmotionType.ANGER, "여행"));
+
+        org.springframework.data.domain.Page<ResponsePageSummaryDto> page = recentPageWindow.find(null, "여행", PageRequest.of(1, 2));
+        assertEquals(List.of(1L), page.getContent().stream().map(ResponsePageSummaryDto::getPageId).collect(Collectors.toList()));
+        assertEquals(3, page.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("시간이 지나면 타임휠이 창을 벗어난 페이지를 제거하고, 삭제된 페이지는 바로 빠짐")
+    public void expireAndRemove() {
+        recentPageWindow.expire(now.plusHours(2));
+        assertEquals(List.of(4L, 3L, 2L), ids(null, null));
+        assertEquals(List.of(4L, 2L), ids(null, "여행"));
+
+        recentPageWindow.remove(4L);
+        assertEquals(List.of(3L), ids(EmotionType.HAPPINESS, null));
+        assertEquals(2, recentPageWindow.size());
+    }
+
+    @Test
+    @DisplayName("tick 마다 다른 인스턴스에서 삭제/수정된 페이지와 카운터를 반영하고, 조회는 DB 를 읽지 않는다")
+    public void syncRemoteChangesAndServeCurrentCounts() {
+        recentPageWindow.warmUp();
+        given(pageRepository.findIdsCreatedSince(any())).willReturn(List.of(1L, 3L, 4L));
+        given(pageRepository.findIdsCreatedSinceAndUpdatedAfter(any(), any())).willReturn(List.of(4L));
+        given(pageRepository.findSummariesByIdIn(List.of(4L)))
+                .willReturn(List.of(page(4L, now.minusMinutes(10), EmotionType.SADNESS)));
+        given(pageRepository.findHashtagsByPageIdIn(Set.of(4L)))
+                .willReturn(List.<Object[]>of(new Object[]{4L, "비"}));
+        given(pageRepository.findCountsByIdIn(any()))
+                .willReturn(List.of(new Object[]{4L, 7, 30}, new Object[]{3L, 2, 11}));
+
+        recentPageWindow.tick();
+
+        assertEquals(List.of(4L, 3L, 1L), ids(null, null));
+        assertEquals(List.of(4L), ids(EmotionType.SADNESS, "비"));
+        assertEquals(List.of(1L), ids(null, "여행"));
+
+        //이 인스턴스의 좋아요/조회 반영은 바로 더해진다
+        recentPageWindow.onPageCountChanged(PageCountEvent.liked(3L, 1));
+        recentPageWindow.onPageCountChanged(PageCountEvent.viewed(1L, 5));
+        List<ResponsePageSummaryDto> content = recentPageWindow.find(null, null, PageRequest.of(0, 10)).getContent();
+        assertEquals(List.of(7, 3, 0), content.stream().map(ResponsePageSummaryDto::getLikeCount).collect(Collectors.toList()));
+        assertEquals(List.of(30, 11, 5), content.stream().map(ResponsePageSummaryDto::getViewCount).collect(Collectors.toList()));
+        verify(pageRepository, times(1)).findCountsByIdIn(any());
+    }
+
+    private List<Long> ids(EmotionType emotion, String hashtag) {
+        return recentPageWindow.find(emotion, hashtag, PageRequest.of(0, 10)).getContent().stream()
+                .map(ResponsePageSummaryDto::getPageId)
+                .collect(Collectors.toList());
+    }
+
+    private ResponsePageSummaryDto page(Long pageId, LocalDateTime createdAt, EmotionType emotion, String... tags) {
+        ResponsePageSummaryDto summary = new ResponsePageSummaryDto(pageId, 1L, "title", "excerpt", createdAt,
+                0, 0, emotion, EmotionIntensity.ONE);
+        summary.setHashtags(Set.of(tags));
+        return summary;
+    }
+}
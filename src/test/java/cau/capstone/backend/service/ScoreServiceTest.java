@@ -0,0 +1,199 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.User.dto.response.ResponseScoreDto;
+import cau.capstone.backend.User.model.Score;
+import cau.capstone.backend.User.service.ScoreBuffer;
+import cau.capstone.backend.User.service.ScoreService;
+import cau.capstone.backend.global.security.CurrentUser;
+import cau.capstone.backend.page.model.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ScoreServiceTest {
+
+    @Mock
+    private CurrentUser currentUser;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> batchArgs;
+
+    @TempDir
+    Path tempDir;
+
+    private ScoreBuffer scoreBuffer;
+    private ScoreService scoreService;
+
+    @BeforeEach
+    public void setup() {
+        scoreBuffer = new ScoreBuffer(4, tempDir.resolve("score.spill").toString());
+        scoreService = new ScoreService(currentUser, jdbcTemplate, scoreBuffer, transactionManager);
+    }
+
+    @Test
+    @DisplayName("같은 유저의 증가분은 합쳐져 flush 때 유저당 한 행의 batch UPDATE 로 반영")
+    public void flushCoalescesPerUser() {
+        scoreService.plusViewScore(1L, Category.COOKING, 3);
+        scoreService.plusViewScore(1L, Category.COOKING, 2);
+        scoreService.plusViewScore(1L, Category.TRIP, 1);
+        verifyNoInteractions(jdbcTemplate);
+
+        scoreService.flush();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batchArgs.capture());
+        Object[] row = batchArgs.getValue().get(0);
+        assertEquals(1, batchArgs.getValue().size());
+        assertEquals(1 + Score.CATEGORY_COLUMNS.length * 2, row.length);
+        assertEquals(1L, row[0]);
+        assertEquals(5, row[2 + Category.COOKING.ordinal() * 2]);
+        assertEquals(1, row[2 + Category.TRIP.ordinal() * 2]);
+        assertEquals(0, scoreBuffer.size());
+        assertEquals(0, scoreBuffer.pending(1L)[Category.COOKING.ordinal()]);
+    }
+
+    @Test
+    @DisplayName("반영에 실패한 증가분은 버퍼에 남고, 종료 시 파일로 저장했다가 다시 적재")
+    public void failedFlushIsKeptAndSpilled() {
+        given(jdbcTemplate.batchUpdate(anyString(), anyList())).willThrow(new DataAccessResourceFailureException("down"));
+        scoreService.plusViewScore(7L, Category.MUSIC, 4);
+
+        scoreService.drainBuffer();
+
+        assertEquals(0, scoreBuffer.size());
+        assertTrue(Files.exists(tempDir.resolve("score.spill")));
+
+        ScoreBuffer restarted = new ScoreBuffer(4, tempDir.resolve("score.spill").toString());
+        restarted.loadSpill();
+
+        assertEquals(4, restarted.pending(7L)[Category.MUSIC.ordinal()]);
+        assertFalse(Files.exists(tempDir.resolve("score.spill")));
+    }
+
+    @Test
+    @DisplayName("batch 중간 행이 실패하면 앞서 성공한 행까지 롤백하고, 다음 flush 에 모든 증가분을 한 번씩만 다시 반영")
+    public void partiallyFailedBatchIsRolledBackAndRetriedOnce() {
+        TransactionStatus status = mock(TransactionStatus.class);
+        given(transactionManager.getTransaction(any())).willReturn(status);
+        //드라이버가 실패한 행 뒤로도 계속 실행한 경우 (continueBatchOnError)
+        BatchUpdateException partial = new BatchUpdateException(new int[]{1, Statement.EXECUTE_FAILED, 1});
+        given(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .willThrow(new DataAccessResourceFailureException("row 2", partial))
+                .willReturn(new int[]{1, 1, 1});
+        scoreService.plusViewScore(1L, Category.MUSIC, 1);
+        scoreService.plusViewScore(2L, Category.MUSIC, 2);
+        scoreService.plusViewScore(3L, Category.MUSIC, 3);
+
+        scoreService.flush();
+
+        verify(transactionManager).rollback(status);
+        verify(transactionManager, never()).commit(status);
+        assertEquals(3, scoreBuffer.size());
+        assertEquals(2, scoreBuffer.pending(2L)[Category.MUSIC.ordinal()]);
+
+        scoreService.flush();
+
+        verify(transactionManager).commit(status);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batchArgs.capture());
+        assertEquals(3, batchArgs.getValue().size());
+        int retried = 0;
+        for (Object[] row : batchArgs.getValue()) {
+            retried += (Integer) row[2 + Category.MUSIC.ordinal() * 2];
+        }
+        assertEquals(6, retried);
+        assertEquals(0, scoreBuffer.size());
+    }
+
+    @Test
+    @DisplayName("커밋되는 동안의 조회는 커밋이 끝난 뒤 DB 값만 보도록 기다려 증가분을 두 번 더하지 않음")
+    public void committedDeltasAreNotCountedTwice() throws Exception {
+        TransactionStatus status = mock(TransactionStatus.class);
+        given(transactionManager.getTransaction(any())).willReturn(status);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        List<Future<int[]>> readDuringCommit = new ArrayList<>();
+        willAnswer(invocation -> {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(sync -> sync.beforeCommit(false));
+            //커밋이 DB 에 보이기 시작한 시점의 조회
+            Future<int[]> pending = reader.submit(() -> scoreBuffer.pending(1L));
+            readDuringCommit.add(pending);
+            assertThrows(TimeoutException.class, () -> pending.get(100, TimeUnit.MILLISECONDS));
+            synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            return null;
+        }).given(transactionManager).commit(status);
+        scoreService.plusViewScore(1L, Category.MUSIC, 5);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            scoreService.flush();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            reader.shutdown();
+        }
+
+        verify(transactionManager).commit(status);
+        assertEquals(0, readDuringCommit.get(0).get(1, TimeUnit.SECONDS)[Category.MUSIC.ordinal()]);
+        assertEquals(0, scoreBuffer.pending(1L)[Category.MUSIC.ordinal()]);
+    }
+
+    @Test
+    @DisplayName("점수 조회는 반영 대기 중인 증가분을 합산해 내림차순, 같은 점수는 카테고리 순서대로 정렬")
+    public void sortedScoresIncludePending() {
+        given(currentUser.getId("token")).willReturn(1L);
+
+        int[] scores = new int[Score.CATEGORY_COLUMNS.length];
+        scores[Category.MUSIC.ordinal()] = 30;
+        scores[Category.ART.ordinal()] = 10;
+        scores[Category.HUMOR.ordinal()] = 10;
+        given(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<int[]>>any(), eq(1L))).willReturn(List.of(scores));
+        scoreService.plusViewScore(1L, Category.TRIP, 20);
+
+        List<ResponseScoreDto> result = scoreService.getSortedScoresByUserId("token");
+
+        assertEquals(Score.CATEGORY_COLUMNS.length, result.size());
+        assertEquals("MUSIC", result.get(0).getCategory());
+        assertEquals(30, result.get(0).getScore());
+        assertEquals("TRIP", result.get(1).getCategory());
+        assertEquals(20, result.get(1).getScore());
+        assertEquals("HUMOR", result.get(2).getCategory());
+        assertEquals("ART", result.get(3).getCategory());
+    }
+}
@@ -0,0 +1,68 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.voice.aiserver.SingleFlight;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    @Test
+    @DisplayName("진행 중인 같은 키의 호출은 한 번만 보내 결과를 나누고, 끝난 뒤의 호출은 새로 보냄")
+    public void concurrentCallsShareOneResult() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(10));
+        Sinks.One<String> response = Sinks.one();
+        AtomicInteger sent = new AtomicInteger();
+
+        List<String> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            singleFlight.execute("같은 본문", () -> {
+                sent.incrementAndGet();
+                return response.asMono();
+            }).subscribe(results::add);
+        }
+        singleFlight.execute("다른 본문", () -> {
+            sent.incrementAndGet();
+            return Mono.just("다른 결과");
+        }).subscribe(results::add);
+        assertEquals(2, sent.get());
+        assertEquals(List.of("다른 결과"), results);
+
+        response.tryEmitValue("결과");
+        assertEquals(11, results.size());
+        assertEquals(10, results.stream().filter("결과"::equals).count());
+        assertEquals(9L, singleFlight.getMetrics().get("deduplicated"));
+        assertEquals(0L, singleFlight.getMetrics().get("inFlight"));
+
+        assertEquals("또", singleFlight.execute("같은 본문", () -> {
+            sent.incrementAndGet();
+            return Mono.just("또");
+        }).block());
+        assertEquals(3, sent.get());
+        assertEquals(3L, singleFlight.getMetrics().get("calls"));
+    }
+
+    @Test
+    @DisplayName("키마다 timeout 이 지나면 기다리던 모두 실패하고 키를 비움")
+    public void timesOutPerKey() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofMillis(50));
+        Mono<String> first = singleFlight.execute("본문", Mono::never).onErrorReturn(TimeoutException.class, "timeout");
+        Mono<String> second = singleFlight.execute("본문", Mono::never).onErrorReturn(TimeoutException.class, "timeout");
+
+        assertEquals(List.of("timeout", "timeout"),
+                Mono.zip(first, second, List::of).block(Duration.ofSeconds(5)));
+        assertEquals(1L, singleFlight.getMetrics().get("deduplicated"));
+        assertEquals(1L, singleFlight.getMetrics().get("timeouts"));
+        assertEquals(0L, singleFlight.getMetrics().get("inFlight"));
+        assertEquals("다시", singleFlight.execute("본문", () -> Mono.just("다시")).block());
+    }
+}
@@ -0,0 +1,122 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.global.search.SearchDocumentType;
+import cau.capstone.backend.global.search.SearchIndexEvent;
+import cau.capstone.backend.voice.service.SpeechCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpeechCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("기록한 클립은 다시 합성하지 않고 메모리, 디스크 순으로 찾고, 재시작 후에도 디스크에서 찾음")
+    public void recordedClipsAreServedFromMemoryThenDisk() throws IOException {
+        //메모리에는 100 bytes 클립 하나만 들어간다
+        SpeechCache cache = new SpeechCache(tempDir.toString(), 150, 100, 10_000);
+        String first = SpeechCache.key("본문", 1L, "SAD", 2);
+        String second = SpeechCache.key("본문", 1L, "SAD", 3);
+        assertNotEquals(first, second);
+        assertNull(cache.get(10L, first));
+
+        fill(cache, 10L, first, clip(100, 1));
+        fill(cache, 10L, second, clip(100, 2));
+
+        //나중에 기록한 클립이 메모리에 남고, 먼저 기록한 클립은 디스크에서 읽어 메모리로 올린다
+        assertArrayEquals(clip(100, 2), read(cache.get(10L, second)));
+        assertArrayEquals(clip(100, 1), read(cache.get(10L, first)));
+        assertEquals(1L, cache.getMetrics().get("diskHits"));
+        assertEquals(1L, cache.getMetrics().get("memoryHits"));
+
+        SpeechCache restarted = new SpeechCache(tempDir.toString(), 150, 100, 10_000);
+        restarted.load();
+        assertEquals(2L, restarted.getMetrics().get("diskClips"));
+        assertArrayEquals(clip(100, 2), read(restarted.get(10L, second)));
+    }
+
+    @Test
+    @DisplayName("디스크 한도를 넘으면 오래 쓰지 않은 클립부터 지우고, 길이가 맞지 않거나 응답이 끊기면 버림")
+    public void evictsLeastRecentlyUsedAndDropsIncompleteClips() throws IOException {
+        SpeechCache cache = new SpeechCache(tempDir.toString(), 0, 0, 250);
+        String a = SpeechCache.key("a", 1L, "SAD", 1);
+        String b = SpeechCache.key("b", 1L, "SAD", 1);
+        String c = SpeechCache.key("c", 1L, "SAD", 1);
+
+        fill(cache, 1L, a, clip(100, 1));
+        fill(cache, 1L, b, clip(100, 2));
+        assertNotNull(read(cache.get(1L, a)));
+        fill(cache, 1L, c, clip(100, 3));
+
+        assertNotNull(cache.get(1L, a));
+        assertNull(cache.get(1L, b));
+        assertEquals(1L, cache.getMetrics().get("evictions"));
+        assertEquals(200L, cache.getMetrics().get("diskBytes"));
+
+        String partial = SpeechCache.key("partial", 1L, "SAD", 1);
+        assertFalse(cache.fill(1L, partial, body(clip(50, 4)), 100).block());
+        Flux<DataBuffer> broken = body(clip(50, 4)).concatWith(Flux.error(new IllegalStateException("끊김")));
+        assertThrows(IllegalStateException.class, () -> cache.fill(1L, partial, broken, -1).block());
+        assertNull(cache.get(1L, partial));
+        try (var files = Files.list(tempDir.resolve("1"))) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("페이지 수정/삭제 이벤트는 해당 페이지 클립만 지움")
+    public void pageChangeInvalidatesOnlyThatPage() throws IOException {
+        SpeechCache cache = new SpeechCache(tempDir.toString(), 1_000, 100, 10_000);
+        String key = SpeechCache.key("본문", 1L, "HAPPY", 1);
+        fill(cache, 1L, key, clip(10, 1));
+        fill(cache, 2L, key, clip(10, 2));
+
+        cache.onPageChanged(SearchIndexEvent.upsert(SearchDocumentType.PAGE, 1L));
+        cache.onPageChanged(SearchIndexEvent.delete(SearchDocumentType.BOOK, 2L));
+
+        assertNull(cache.get(1L, key));
+        assertArrayEquals(clip(10, 2), read(cache.get(2L, key)));
+        assertFalse(Files.exists(tempDir.resolve("1")));
+        assertEquals(1L, cache.getMetrics().get("diskClips"));
+    }
+
+    private static void fill(SpeechCache cache, Long pageId, String key, byte[] wav) {
+        assertTrue(cache.fill(pageId, key, body(wav), wav.length).block());
+    }
+
+    //AI 서버 응답처럼 여러 조각으로
+    private static Flux<DataBuffer> body(byte[] wav) {
+        int half = wav.length / 2;
+        return Flux.just(Arrays.copyOfRange(wav, 0, half), Arrays.copyOfRange(wav, half, wav.length))
+                .map(DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+
+    private static byte[] read(SpeechCache.Clip clip) throws IOException {
+        if (clip == null) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        clip.writeTo(out);
+        assertEquals(clip.getLength(), out.size());
+        return out.toByteArray();
+    }
+
+    private static byte[] clip(int size, int value) {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+}
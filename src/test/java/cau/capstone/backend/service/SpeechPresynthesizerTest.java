@@ -0,0 +1,113 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.global.redis.RankingService;
+import cau.capstone.backend.global.search.SearchDocumentType;
+import cau.capstone.backend.global.search.SearchIndexEvent;
+import cau.capstone.backend.page.model.EmotionType;
+import cau.capstone.backend.page.model.Page;
+import cau.capstone.backend.page.model.repository.PageRepository;
+import cau.capstone.backend.voice.aiserver.AiServerBulkhead;
+import cau.capstone.backend.voice.repository.VoiceRepository;
+import cau.capstone.backend.voice.service.SpeechPresynthesizer;
+import cau.capstone.backend.voice.service.SpeechService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SpeechPresynthesizerTest {
+
+    @Mock
+    private SpeechService speechService;
+
+    @Mock
+    private PageRepository pageRepository;
+
+    @Mock
+    private VoiceRepository voiceRepository;
+
+    @Mock
+    private RankingService rankingService;
+
+    @Test
+    @DisplayName("랭킹에 새로 들어온 페이지를 순위대로, 작성된 페이지는 그 뒤에 합성하고 대기열이 차면 뒤쪽을 버림")
+    public void synthesizesTrendingPagesFirst() {
+        SpeechPresynthesizer presynthesizer = presynthesizer(new AiServerBulkhead(8, 0), 2, 0);
+        given(rankingService.getTopViewedPages(any(), eq(20))).willAnswer(invocation -> invocation.getArgument(0) == EmotionType.SADNESS
+                ? new LinkedHashSet<>(List.of("7", "8")) : Set.of());
+        given(pageRepository.findById(anyLong())).willAnswer(invocation -> Optional.of(page("본문 " + invocation.getArgument(0))));
+        given(voiceRepository.findIdsByUserEmail("voice@a.com")).willReturn(List.of(99L, 3L));
+        Sinks.One<Boolean> first = Sinks.one();
+        given(speechService.presynthesize(eq(7L), anyString(), anyString(), anyInt(), anyLong())).willReturn(first.asMono());
+        given(speechService.presynthesize(eq(8L), anyString(), anyString(), anyInt(), anyLong())).willReturn(Mono.just(true));
+
+        presynthesizer.onPageChanged(SearchIndexEvent.upsert(SearchDocumentType.PAGE, 1L));
+        presynthesizer.pollTrending();
+        assertEquals(1L, presynthesizer.getMetrics().get("dropped"));
+
+        //한 번에 하나씩
+        presynthesizer.drain();
+        verify(speechService).presynthesize(7L, "본문 7", "SADNESS", 2, 99L);
+        verify(speechService, never()).presynthesize(eq(8L), anyString(), anyString(), anyInt(), anyLong());
+
+        first.tryEmitValue(true);
+        presynthesizer.drain();
+        verify(speechService).presynthesize(8L, "본문 8", "SADNESS", 2, 99L);
+        verify(speechService, never()).presynthesize(eq(1L), anyString(), anyString(), anyInt(), anyLong());
+        assertEquals(2L, presynthesizer.getMetrics().get("synthesized"));
+
+        //이미 랭킹에 있던 페이지는 다시 넣지 않는다
+        presynthesizer.pollTrending();
+        assertEquals(0L, presynthesizer.getMetrics().get("queued"));
+    }
+
+    @Test
+    @DisplayName("AI 서버 자리가 reservedSlots 이하로 남으면 시작하지 않고, 삭제된 페이지는 대기열에서 뺌")
+    public void waitsWhileAiServerIsBusy() {
+        AiServerBulkhead bulkhead = new AiServerBulkhead(2, 0);
+        SpeechPresynthesizer presynthesizer = presynthesizer(bulkhead, 16, 1);
+        presynthesizer.onPageChanged(SearchIndexEvent.upsert(SearchDocumentType.PAGE, 1L));
+        presynthesizer.onPageChanged(SearchIndexEvent.upsert(SearchDocumentType.PAGE, 2L));
+        presynthesizer.onPageChanged(SearchIndexEvent.delete(SearchDocumentType.PAGE, 2L));
+
+        //사용자 요청이 한 자리를 쓰는 중
+        bulkhead.execute(Mono::never).subscribe();
+        presynthesizer.drain();
+        verifyNoInteractions(pageRepository, speechService);
+        assertEquals(1L, presynthesizer.getMetrics().get("queued"));
+
+        //기본 음성이 없는 페이지는 건너뛴다
+        SpeechPresynthesizer idle = presynthesizer(new AiServerBulkhead(2, 0), 16, 1);
+        idle.onPageChanged(SearchIndexEvent.upsert(SearchDocumentType.PAGE, 1L));
+        given(pageRepository.findById(1L)).willReturn(Optional.of(Page.createPage(null, null, "제목", "본문")));
+        idle.drain();
+        assertEquals(1L, idle.getMetrics().get("skipped"));
+        verifyNoInteractions(speechService);
+    }
+
+    private SpeechPresynthesizer presynthesizer(AiServerBulkhead bulkhead, int queueSize, int reservedSlots) {
+        return new SpeechPresynthesizer(speechService, bulkhead, pageRepository, voiceRepository, rankingService,
+                20, queueSize, 1, reservedSlots);
+    }
+
+    private static Page page(String content) {
+        Page page = Page.createPage(null, null, "제목", content);
+        page.setEmotion("SADNESS", 2);
+        page.setDefaultVoiceUserMail("voice@a.com");
+        return page;
+    }
+}
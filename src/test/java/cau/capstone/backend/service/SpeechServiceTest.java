@@ -0,0 +1,54 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.global.util.exception.PageException;
+import cau.capstone.backend.voice.aiserver.FastAPIService;
+import cau.capstone.backend.voice.service.SpeechCache;
+import cau.capstone.backend.voice.service.SpeechService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SpeechServiceTest {
+
+    @Mock
+    private FastAPIService fastAPIService;
+
+    @Mock
+    private SpeechCache speechCache;
+
+    private SpeechService speechService;
+
+    @BeforeEach
+    public void setup() {
+        speechService = new SpeechService(fastAPIService, speechCache, 10_000);
+    }
+
+    @Test
+    @DisplayName("요청한 감정 표기와 관계없이 미리 합성할 때와 같은 감정 코드로 캐시를 찾고 합성")
+    public void pageSpeechUsesEmotionCode() {
+        String key = SpeechCache.key("본문", 5L, "SADNESS", 2);
+        given(fastAPIService.streamWav("본문", "SADNESS", 2, 5L)).willReturn(Mono.empty());
+
+        speechService.getPageSpeech(1L, "본문", "sadness", 2, 5L).block();
+        speechService.getPageSpeech(1L, "본문", "슬픔", 2, 5L).block();
+
+        verify(speechCache, times(2)).get(1L, key);
+        verify(fastAPIService, times(2)).streamWav("본문", "SADNESS", 2, 5L);
+    }
+
+    @Test
+    @DisplayName("모르는 감정은 캐시를 찾기 전에 거절")
+    public void unknownEmotionIsRejected() {
+        assertThrows(PageException.class, () -> speechService.getPageSpeech(1L, "본문", "joy", 2, 5L));
+        verifyNoInteractions(speechCache);
+    }
+}
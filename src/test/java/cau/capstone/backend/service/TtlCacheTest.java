@@ -0,0 +1,34 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.global.util.TtlCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TtlCacheTest {
+
+    @Test
+    @DisplayName("가득 차면 만료된 항목부터 정리하고, 그래도 가득 차 있으면 가장 오래 쓰이지 않은 항목만 뺀다")
+    public void evictsExpiredThenLeastRecentlyUsed() throws Exception {
+        TtlCache<String, String> cache = new TtlCache<>(60_000, 3);
+        cache.put("a", "1");
+        cache.put("b", "2", 1);
+        cache.put("c", "3");
+        Thread.sleep(5);
+
+        //만료된 b 만 빠진다
+        cache.put("d", "4");
+        assertEquals(3, cache.size());
+        assertNull(cache.getIfPresent("b"));
+
+        //a 를 읽었으므로 가장 오래 쓰이지 않은 c 가 빠진다
+        assertEquals("1", cache.getIfPresent("a"));
+        cache.put("e", "5");
+        assertEquals(3, cache.size());
+        assertNull(cache.getIfPresent("c"));
+        assertEquals("1", cache.getIfPresent("a"));
+        assertEquals("4", cache.getIfPresent("d"));
+        assertEquals("5", cache.getIfPresent("e"));
+    }
+}
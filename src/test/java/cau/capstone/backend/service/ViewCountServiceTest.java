@@ -0,0 +1,75 @@
+package cau.capstone.backend.service;
+
+import cau.capstone.backend.User.service.ScoreService;
+import cau.capstone.backend.global.redis.RankingService;
+import cau.capstone.backend.page.model.Category;
+import cau.capstone.backend.page.model.EmotionType;
+import cau.capstone.backend.page.model.Page;
+import cau.capstone.backend.page.service.ViewCountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+public class ViewCountServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private RankingService rankingService;
+    private ViewCountService viewCountService;
+
+    @BeforeEach
+    public void setup() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        rankingService = mock(RankingService.class);
+        viewCountService = new ViewCountService(jdbcTemplate, mock(PlatformTransactionManager.class),
+                rankingService, mock(ScoreService.class), mock(ApplicationEventPublisher.class), 2, 4);
+    }
+
+    @Test
+    @DisplayName("DB 반영에 실패한 조회 이벤트는 버리지 않고 다음 flush 때 다시 반영")
+    public void failedFlushIsRetried() {
+        given(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .willThrow(new DataAccessResourceFailureException("down"))
+                .willReturn(new int[]{1});
+
+        viewCountService.recordView(1L, page(10L));
+        viewCountService.recordView(2L, page(10L));
+        viewCountService.flush();
+
+        assertEquals(2, viewCountService.getPendingCount());
+        assertEquals(1, viewCountService.getFailedFlushCount());
+        assertEquals(0, viewCountService.getDroppedCount());
+        verify(rankingService, never()).apply(any());
+
+        viewCountService.flush();
+
+        assertEquals(0, viewCountService.getPendingCount());
+        assertEquals(2, viewCountService.getFlushedCount());
+        //두 번 모두 같은 이벤트 두 개를 합산해 보냈고, 두 번째만 커밋됐다
+        verify(jdbcTemplate, times(2)).batchUpdate(eq("UPDATE page SET view_count = view_count + ? WHERE page_id = ?"),
+                argThat((List<Object[]> args) -> args.size() == 1 && Arrays.equals(args.get(0), new Object[]{2, 10L})));
+        verify(rankingService).apply(any());
+    }
+
+    private Page page(Long pageId) {
+        Page page = mock(Page.class, RETURNS_DEEP_STUBS);
+        given(page.getId()).willReturn(pageId);
+        given(page.getBook().getId()).willReturn(100L);
+        given(page.getBook().getCategory()).willReturn(Category.values()[0]);
+        given(page.getEmotion().getType()).willReturn(EmotionType.HAPPINESS);
+        given(page.getHashtagsTag()).willReturn(Set.of("여행"));
+        return page;
+    }
+}